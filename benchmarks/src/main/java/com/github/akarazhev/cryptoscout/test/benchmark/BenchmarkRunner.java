@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test.benchmark;
+
+import com.github.akarazhev.cryptoscout.test.MockData;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Runner.DEV_VERSION;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Runner.INCLUDE;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Runner.RESULT_DIR;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Runner.RESULT_EXTENSION;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Runner.RESULT_PREFIX;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Runner.RESULT_PROPERTY;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Runner.RESULT_TIMESTAMP_PATTERN;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Runner.VERSION_SEPARATOR;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Accepts the regular JMH command line and, unless overridden there,
+ * runs every benchmark of this package with the GC profiler and writes JSON results to
+ * {@code target/jmh-<version>-<timestamp>.json} (or {@code -Dbenchmark.result=<file>}), so runs of different
+ * releases can be compared.
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final var cli = new CommandLineOptions(args);
+        final var builder = new OptionsBuilder().parent(cli);
+        if (cli.getIncludes().isEmpty()) {
+            builder.include(INCLUDE);
+        }
+
+        if (cli.getProfilers().isEmpty()) {
+            builder.addProfiler(GCProfiler.class);
+        }
+
+        if (!cli.getResult().hasValue()) {
+            final var result = Path.of(System.getProperty(RESULT_PROPERTY, defaultResult()));
+            if (result.getParent() != null) {
+                Files.createDirectories(result.getParent());
+            }
+
+            builder.resultFormat(ResultFormatType.JSON).result(result.toString());
+        }
+
+        new Runner(builder.build()).run();
+    }
+
+    private static String defaultResult() {
+        final var version = MockData.class.getPackage().getImplementationVersion();
+        return Path.of(RESULT_DIR, RESULT_PREFIX + (version != null ? version : DEV_VERSION) + VERSION_SEPARATOR +
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern(RESULT_TIMESTAMP_PATTERN)) +
+                RESULT_EXTENSION).toString();
+    }
+}
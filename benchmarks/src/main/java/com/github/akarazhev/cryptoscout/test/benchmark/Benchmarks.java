@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test.benchmark;
+
+import com.rabbitmq.stream.Environment;
+import com.rabbitmq.stream.EnvironmentBuilder;
+import io.activej.eventloop.Eventloop;
+import io.activej.promise.Promise;
+
+import java.util.concurrent.ExecutionException;
+
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Mq.MQ_HOST;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Mq.MQ_PASSWORD;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Mq.MQ_PORT;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Mq.MQ_USER;
+
+/**
+ * Plumbing shared by the main-class benchmarks that drive the stream clients.
+ */
+final class Benchmarks {
+    private Benchmarks() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns a stream environment builder pointed at the broker of the compose stack.
+     */
+    static EnvironmentBuilder environment() {
+        return Environment.builder()
+                .host(MQ_HOST)
+                .port(MQ_PORT)
+                .username(MQ_USER)
+                .password(MQ_PASSWORD);
+    }
+
+    /**
+     * Runs the current-thread reactor until the promise completes and returns its result.
+     *
+     * @param reactor the reactor of the calling thread
+     * @param promise the promise to wait for
+     * @return the result of the promise
+     * @throws Exception the exception the promise completed with
+     */
+    static <T> T await(final Eventloop reactor, final Promise<T> promise) throws Exception {
+        final var future = promise.toCompletableFuture();
+        reactor.run();
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test.benchmark;
+
+import com.github.akarazhev.cryptoscout.test.BulkLoader;
+import com.github.akarazhev.cryptoscout.test.DBUtils;
+import com.github.akarazhev.cryptoscout.test.PodmanCompose;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Chunks.ERR_INTERVAL_COUNT;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Chunks.INTERVALS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Chunks.INTERVALS_PROPERTY;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Chunks.INTERVAL_SEPARATOR;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Chunks.ITERATIONS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Chunks.REPORT_PREFIX;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Chunks.REPORT_PROPERTY;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Chunks.ROWS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Chunks.SELECT_CHUNK_COUNT;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Chunks.SELECT_INTERVAL;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Chunks.SET_INTERVAL;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Chunks.STEP_MILLIS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Chunks.SYMBOLS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Chunks.WARMUP;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.SYMBOL;
+
+/**
+ * Chunk interval tuning harness: for each candidate {@code chunk_time_interval} it re-partitions the tables of the
+ * {@link QueryCatalog}, seeds them with the same {@link BulkLoader} volume and measures insert throughput, chunk
+ * count, planning time and latency of the catalog queries. The results are printed as a comparison table and written
+ * to the report; the intervals of the schema are restored at the end.
+ */
+public final class ChunkIntervalBenchmark {
+    private ChunkIntervalBenchmark() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * One query of one run.
+     *
+     * @param table the queried table
+     * @param interval the chunk interval of the table in this run
+     * @param chunks number of chunks of the table after seeding
+     * @param rowsPerSecond insert throughput of the table
+     * @param measurement the query latency and plan
+     */
+    record Row(String table, String interval, long chunks, double rowsPerSecond, QueryCatalog.Measurement measurement) {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final var queries = QueryCatalog.all();
+        final var tables = QueryCatalog.tables(queries);
+        final var candidates = candidates(tables);
+        final var runs = candidates.get(tables.getFirst()).size();
+        final var rows = new ArrayList<Row>(runs * queries.size());
+        PodmanCompose.up();
+        try {
+            final var dataSource = DBUtils.getDataSource();
+            try (final var conn = dataSource.getConnection()) {
+                final var defaults = new LinkedHashMap<String, String>();
+                for (final var table : tables) {
+                    defaults.put(table, interval(conn, table));
+                }
+
+                try {
+                    for (var run = 0; run < runs; run++) {
+                        for (final var table : tables) {
+                            setInterval(conn, table, candidates.get(table).get(run));
+                        }
+
+                        final var load = QueryCatalog.seed(dataSource, queries, ROWS,
+                                QueryCatalog.options(SYMBOLS, STEP_MILLIS));
+                        final var throughput = new LinkedHashMap<String, Double>();
+                        for (final var table : load.tables()) {
+                            throughput.put(table.table(), table.rowsPerSecond());
+                        }
+
+                        final var chunks = new LinkedHashMap<String, Long>();
+                        for (final var table : tables) {
+                            chunks.put(table, chunks(conn, table));
+                        }
+
+                        for (final var query : queries) {
+                            final var table = query.table();
+                            final var window = QueryCatalog.window(conn, query, SYMBOL);
+                            final var row = new Row(table, candidates.get(table).get(run), chunks.get(table),
+                                    throughput.getOrDefault(table, Double.NaN),
+                                    QueryCatalog.measure(conn, query, window, WARMUP, ITERATIONS));
+                            rows.add(row);
+                            System.out.printf("%-45s %-10s chunks %5d, %,12.0f rows/s, %-20s planning %.3f ms, " +
+                                            "p50 %8.3f ms%n", row.table(), row.interval(), row.chunks(),
+                                    row.rowsPerSecond(), query.name(), row.measurement().planningMillis(),
+                                    row.measurement().latency().p50() / 1e6);
+                        }
+                    }
+                } finally {
+                    for (final var entry : defaults.entrySet()) {
+                        setInterval(conn, entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        } finally {
+            PodmanCompose.down();
+        }
+
+        System.out.println();
+        System.out.printf("| %-45s | %-10s | %6s | %12s | %-20s | %11s | %9s | %9s |%n", "table", "interval",
+                "chunks", "rows/s", "query", "planning ms", "p50 ms", "p99 ms");
+        for (final var row : rows) {
+            System.out.printf("| %-45s | %-10s | %6d | %12.0f | %-20s | %11.3f | %9.3f | %9.3f |%n", row.table(),
+                    row.interval(), row.chunks(), row.rowsPerSecond(), row.measurement().name(),
+                    row.measurement().planningMillis(), row.measurement().latency().p50() / 1e6,
+                    row.measurement().latency().p99() / 1e6);
+        }
+
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("rowsPerTable", ROWS);
+        report.put("symbols", SYMBOLS);
+        report.put("stepMillis", STEP_MILLIS);
+        report.put("warmup", WARMUP);
+        report.put("iterations", ITERATIONS);
+        report.put("runs", rows.stream().map(ChunkIntervalBenchmark::entry).toList());
+        System.out.println("Report: " + Reports.write(REPORT_PROPERTY, REPORT_PREFIX, report));
+    }
+
+    /**
+     * Returns the candidate intervals per table, from {@code chunk.intervals} unless overridden for the table.
+     */
+    private static Map<String, List<String>> candidates(final List<String> tables) {
+        final var defaults = split(INTERVALS);
+        final var candidates = new LinkedHashMap<String, List<String>>();
+        for (final var table : tables) {
+            final var override = System.getProperty(INTERVALS_PROPERTY + table.substring(table.indexOf('.') + 1));
+            final var intervals = override != null ? split(override) : defaults;
+            if (intervals.size() != defaults.size()) {
+                throw new IllegalStateException(ERR_INTERVAL_COUNT + table);
+            }
+
+            candidates.put(table, intervals);
+        }
+
+        return candidates;
+    }
+
+    private static List<String> split(final String intervals) {
+        return Arrays.stream(intervals.split(INTERVAL_SEPARATOR)).map(String::trim).filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    private static String interval(final Connection conn, final String table) throws SQLException {
+        try (final var ps = conn.prepareStatement(SELECT_INTERVAL)) {
+            ps.setString(1, table);
+            try (final var rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+
+    private static void setInterval(final Connection conn, final String table, final String interval)
+            throws SQLException {
+        try (final var ps = conn.prepareStatement(SET_INTERVAL)) {
+            ps.setString(1, table);
+            ps.setString(2, interval);
+            ps.executeQuery().close();
+        }
+    }
+
+    private static long chunks(final Connection conn, final String table) throws SQLException {
+        try (final var ps = conn.prepareStatement(SELECT_CHUNK_COUNT)) {
+            ps.setString(1, table);
+            try (final var rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        }
+    }
+
+    private static Map<String, Object> entry(final Row row) {
+        final var entry = new LinkedHashMap<String, Object>();
+        entry.put("interval", row.interval());
+        entry.put("chunks", row.chunks());
+        entry.put("rowsPerSecond", row.rowsPerSecond());
+        entry.putAll(QueryCatalog.entry(row.measurement()));
+        return entry;
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test.benchmark;
+
+import com.github.akarazhev.cryptoscout.test.BulkLoader;
+import com.github.akarazhev.cryptoscout.test.DBUtils;
+import com.github.akarazhev.cryptoscout.test.PodmanCompose;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.COMPRESS_CHUNKS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.DECOMPRESS_CHUNKS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.ITERATIONS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.LOAD;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.ORDERBY_PROPERTY;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.REPORT_PREFIX;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.REPORT_PROPERTY;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.ROWS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.SEGMENTBY_PROPERTY;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.SELECT_CHUNKS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.SELECT_COMPRESSION_STATS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.SELECT_SETTINGS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.SELECT_TOTAL_BYTES;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.SET_ORDERBY;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.SET_SEGMENTBY;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.STEP_MILLIS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.SYMBOLS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Compression.WARMUP;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.SYMBOL;
+
+/**
+ * Compression benchmark: seeds the tables of the {@link QueryCatalog} with {@link BulkLoader}, measures the catalog
+ * queries on uncompressed chunks, forces {@code compress_chunk} on every chunk, then measures the same queries with
+ * the same bind values on compressed chunks. The report holds the size of each table before and after compression
+ * and the latency of each query in both states, so segmentby and orderby choices can be compared run by run by
+ * overriding them with {@code -Dcompression.segmentby.<table>} and {@code -Dcompression.orderby.<table>}. The chunks
+ * are decompressed and the overridden settings are restored at the end.
+ */
+public final class CompressionBenchmark {
+    private CompressionBenchmark() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Storage of a hypertable.
+     *
+     * @param chunks number of chunks
+     * @param compressedChunks number of compressed chunks
+     * @param totalBytes table, index and toast bytes of all chunks as reported by {@code hypertable_detailed_size}
+     */
+    record Size(long chunks, long compressedChunks, long totalBytes) {
+    }
+
+    /**
+     * Compression settings of a hypertable as found before the benchmark.
+     *
+     * @param segmentBy segmentby columns, empty when none are set
+     * @param orderBy orderby columns, empty when none are set
+     */
+    record Settings(String segmentBy, String orderBy) {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final var queries = QueryCatalog.all();
+        final var tables = QueryCatalog.tables(queries);
+        final var tableEntries = new ArrayList<Map<String, Object>>(tables.size());
+        final var queryEntries = new ArrayList<Map<String, Object>>(queries.size());
+        BulkLoader.Result load = null;
+        PodmanCompose.up();
+        try {
+            final var dataSource = DBUtils.getDataSource();
+            if (LOAD) {
+                load = QueryCatalog.seed(dataSource, queries, ROWS, QueryCatalog.options(SYMBOLS, STEP_MILLIS));
+            }
+
+            try (final var conn = dataSource.getConnection()) {
+                final var originals = new LinkedHashMap<String, Settings>();
+                for (final var table : tables) {
+                    originals.put(table, settings(conn, table));
+                }
+
+                try {
+                    final var settings = new HashMap<String, Map<String, Object>>();
+                    for (final var table : tables) {
+                        execute(conn, DECOMPRESS_CHUNKS, table);
+                        settings.put(table, configure(conn, table));
+                    }
+
+                    QueryCatalog.analyze(dataSource, tables.toArray(String[]::new));
+                    final var windows = new ArrayList<QueryCatalog.Window>(queries.size());
+                    final var uncompressed = new ArrayList<QueryCatalog.Measurement>(queries.size());
+                    for (final var query : queries) {
+                        final var window = QueryCatalog.window(conn, query, SYMBOL);
+                        windows.add(window);
+                        uncompressed.add(QueryCatalog.measure(conn, query, window, WARMUP, ITERATIONS));
+                    }
+
+                    for (final var table : tables) {
+                        final var before = size(conn, table);
+                        final var start = System.nanoTime();
+                        execute(conn, COMPRESS_CHUNKS, table);
+                        final var compressNanos = System.nanoTime() - start;
+                        final var after = size(conn, table);
+                        final var entry = new LinkedHashMap<String, Object>();
+                        entry.put("table", table);
+                        entry.putAll(settings.get(table));
+                        entry.put("chunks", after.chunks());
+                        entry.put("compressedChunks", after.compressedChunks());
+                        entry.put("bytesBefore", before.totalBytes());
+                        entry.put("bytesAfter", after.totalBytes());
+                        entry.put("ratio", ratio(before.totalBytes(), after.totalBytes()));
+                        entry.put("compressMillis", compressNanos / 1e6);
+                        entry.putAll(stats(conn, table));
+                        tableEntries.add(entry);
+                        System.out.printf("%-45s chunks %4d/%4d, %,15d -> %,15d bytes (x%.2f), compress %.1f ms%n",
+                                table, after.compressedChunks(), after.chunks(), before.totalBytes(),
+                                after.totalBytes(), ratio(before.totalBytes(), after.totalBytes()),
+                                compressNanos / 1e6);
+                    }
+
+                    QueryCatalog.analyze(dataSource, tables.toArray(String[]::new));
+                    for (var i = 0; i < queries.size(); i++) {
+                        final var plain = uncompressed.get(i);
+                        final var compressed = QueryCatalog.measure(conn, queries.get(i), windows.get(i), WARMUP,
+                                ITERATIONS);
+                        final var entry = new LinkedHashMap<String, Object>();
+                        entry.put("name", plain.name());
+                        entry.put("table", plain.table());
+                        entry.put("p50Ratio", ratio(compressed.latency().p50(), plain.latency().p50()));
+                        entry.put("uncompressed", QueryCatalog.entry(plain));
+                        entry.put("compressed", QueryCatalog.entry(compressed));
+                        queryEntries.add(entry);
+                        System.out.printf("%-20s rows %6d, p50 %8.3f -> %8.3f ms (x%.2f), planning %.3f -> %.3f ms%n",
+                                plain.name(), compressed.rows(), plain.latency().p50() / 1e6,
+                                compressed.latency().p50() / 1e6,
+                                ratio(compressed.latency().p50(), plain.latency().p50()), plain.planningMillis(),
+                                compressed.planningMillis());
+                    }
+                } finally {
+                    for (final var entry : originals.entrySet()) {
+                        execute(conn, DECOMPRESS_CHUNKS, entry.getKey());
+                        restore(conn, entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+        } finally {
+            PodmanCompose.down();
+        }
+
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("rowsPerTable", ROWS);
+        report.put("symbols", SYMBOLS);
+        report.put("stepMillis", STEP_MILLIS);
+        report.put("warmup", WARMUP);
+        report.put("iterations", ITERATIONS);
+        if (load != null) {
+            report.put("loadRowsPerSecond", load.rowsPerSecond());
+            report.put("loadBytesPerSecond", load.bytesPerSecond());
+        }
+
+        report.put("tables", tableEntries);
+        report.put("queries", queryEntries);
+        System.out.println("Report: " + Reports.write(REPORT_PROPERTY, REPORT_PREFIX, report));
+    }
+
+    /**
+     * Applies the segmentby and orderby overrides of the table, which requires all its chunks to be decompressed,
+     * and returns them for the report.
+     */
+    private static Map<String, Object> configure(final Connection conn, final String table) throws SQLException {
+        final var name = table.substring(table.indexOf('.') + 1);
+        final var applied = new LinkedHashMap<String, Object>();
+        final var segmentBy = System.getProperty(SEGMENTBY_PROPERTY + name);
+        final var orderBy = System.getProperty(ORDERBY_PROPERTY + name);
+        try (final var st = conn.createStatement()) {
+            if (segmentBy != null) {
+                st.execute(String.format(SET_SEGMENTBY, table, segmentBy));
+                applied.put("segmentBy", segmentBy);
+            }
+
+            if (orderBy != null) {
+                st.execute(String.format(SET_ORDERBY, table, orderBy));
+                applied.put("orderBy", orderBy);
+            }
+        }
+
+        return applied;
+    }
+
+    private static Settings settings(final Connection conn, final String table) throws SQLException {
+        try (final var ps = conn.prepareStatement(SELECT_SETTINGS)) {
+            ps.setString(1, table);
+            try (final var rs = ps.executeQuery()) {
+                return rs.next() ? new Settings(rs.getString(1), rs.getString(2)) : new Settings("", "");
+            }
+        }
+    }
+
+    /**
+     * Puts back the segmentby and orderby of the table that were overridden, which requires all its chunks to be
+     * decompressed.
+     */
+    private static void restore(final Connection conn, final String table, final Settings original)
+            throws SQLException {
+        final var name = table.substring(table.indexOf('.') + 1);
+        try (final var st = conn.createStatement()) {
+            if (System.getProperty(SEGMENTBY_PROPERTY + name) != null) {
+                st.execute(String.format(SET_SEGMENTBY, table, original.segmentBy()));
+            }
+
+            if (System.getProperty(ORDERBY_PROPERTY + name) != null) {
+                st.execute(String.format(SET_ORDERBY, table, original.orderBy()));
+            }
+        }
+    }
+
+    private static void execute(final Connection conn, final String sql, final String table) throws SQLException {
+        try (final var ps = conn.prepareStatement(sql)) {
+            ps.setString(1, table);
+            ps.executeQuery().close();
+        }
+    }
+
+    private static Size size(final Connection conn, final String table) throws SQLException {
+        final long chunks;
+        final long compressedChunks;
+        try (final var ps = conn.prepareStatement(SELECT_CHUNKS)) {
+            ps.setString(1, table);
+            try (final var rs = ps.executeQuery()) {
+                rs.next();
+                chunks = rs.getLong(1);
+                compressedChunks = rs.getLong(2);
+            }
+        }
+
+        try (final var ps = conn.prepareStatement(SELECT_TOTAL_BYTES)) {
+            ps.setString(1, table);
+            try (final var rs = ps.executeQuery()) {
+                return new Size(chunks, compressedChunks, rs.next() ? rs.getLong(1) : 0L);
+            }
+        }
+    }
+
+    /**
+     * Returns the before and after totals tracked by TimescaleDB for the compressed chunks only.
+     */
+    private static Map<String, Object> stats(final Connection conn, final String table) throws SQLException {
+        final var stats = new LinkedHashMap<String, Object>();
+        try (final var ps = conn.prepareStatement(SELECT_COMPRESSION_STATS)) {
+            ps.setString(1, table);
+            try (final var rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    stats.put("statsBytesBefore", rs.getLong(1));
+                    stats.put("statsBytesAfter", rs.getLong(2));
+                }
+            }
+        }
+
+        return stats;
+    }
+
+    private static double ratio(final double numerator, final double denominator) {
+        return denominator > 0d ? numerator / denominator : Double.NaN;
+    }
+}
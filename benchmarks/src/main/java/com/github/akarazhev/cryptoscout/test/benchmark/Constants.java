@@ -0,0 +1,297 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test.benchmark;
+
+import java.time.Duration;
+
+final class Constants {
+    private Constants() {
+        throw new UnsupportedOperationException();
+    }
+
+    final static class Runner {
+        private Runner() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final String INCLUDE = "com\\.github\\.akarazhev\\.cryptoscout\\.test\\.benchmark\\..*";
+        static final String RESULT_PROPERTY = "benchmark.result";
+        static final String RESULT_DIR = "target";
+        static final String RESULT_PREFIX = "jmh-";
+        static final String RESULT_EXTENSION = ".json";
+        static final String RESULT_TIMESTAMP_PATTERN = "yyyyMMdd-HHmmss";
+        static final String DEV_VERSION = "dev";
+        static final String VERSION_SEPARATOR = "-";
+    }
+
+    final static class Fixture {
+        private Fixture() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final String SEPARATOR = ":";
+        static final String ERR_INVALID_FIXTURE = "Invalid fixture, expected SOURCE:TYPE: ";
+        static final String ERR_FILE_NOT_FOUND_PREFIX = "Fixture not found: ";
+    }
+
+    final static class Mq {
+        private Mq() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Same properties and defaults as the library's test environment
+        static final String MQ_HOST = System.getProperty("test.mq.host", "localhost");
+        static final int MQ_PORT = Integer.parseInt(System.getProperty("test.mq.port", Integer.toString(5552)));
+        static final String MQ_USER = System.getProperty("test.mq.user", "crypto_scout_mq");
+        static final String MQ_PASSWORD = System.getProperty("test.mq.password", "crypto_scout_mq");
+    }
+
+    final static class Message {
+        private Message() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Bybit message fields rewritten per generated message
+        static final String TS = "ts";
+        static final String CTS = "cts";
+        static final String DATA = "data";
+        static final String UPDATE_ID = "u";
+        static final String SEQ = "seq";
+    }
+
+    final static class Ingest {
+        private Ingest() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final String STREAM = System.getProperty("ingest.stream", "bybit-stream");
+        static final String FIXTURE = System.getProperty("ingest.fixture", "BYBIT_SPOT:ORDER_BOOK_200");
+        static final String TABLE = System.getProperty("ingest.table", "crypto_scout.bybit_spot_order_book_200");
+        static final String RATES = System.getProperty("ingest.rates", "50,100,200,400,800,1600");
+        static final String RATES_SEPARATOR = ",";
+        static final String ROWS_PER_MESSAGE_PROPERTY = "ingest.rows.per.message";
+        static final Duration STEP_DURATION = Duration.ofSeconds(Long.getLong("ingest.step.sec", 30L));
+        static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(Long.getLong("ingest.drain.timeout.sec", 60L));
+        static final Duration POLL_INTERVAL = Duration.ofMillis(Long.getLong("ingest.poll.interval.ms", 10L));
+        // Before a step the table must stop growing for this long, so the previous backlog is not counted
+        static final Duration SETTLE_QUIET = Duration.ofMillis(Long.getLong("ingest.settle.ms", 2_000L));
+        // High-rate producer settings
+        static final int BATCH_SIZE = Integer.getInteger("ingest.batch.size", 500);
+        static final int SUB_ENTRY_SIZE = Integer.getInteger("ingest.sub.entry.size", 1);
+        static final int MAX_UNCONFIRMED_MESSAGES = Integer.getInteger("ingest.max.unconfirmed", 50_000);
+        // A step is saturated once the persisted rate falls below this share of the target rate
+        static final double KNEE_RATIO = 0.95d;
+        static final String REPORT_PROPERTY = "ingest.report";
+        static final String REPORT_PREFIX = "ingest-";
+        static final String SELECT_COUNT = "SELECT COUNT(*) FROM %s";
+        static final String ERR_NO_ROWS = "Rows per message must be positive: ";
+        static final String ERR_POLLER = "Row count poller failed";
+    }
+
+    final static class Query {
+        private Query() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Seeded data scale; the step spreads rows over several chunks
+        static final long ROWS = Long.getLong("query.rows", 1_000_000L);
+        static final int SYMBOLS = Integer.getInteger("query.symbols", 10);
+        static final long STEP_MILLIS = Long.getLong("query.step.ms", 1_000L);
+        static final boolean LOAD = Boolean.parseBoolean(System.getProperty("query.load", "true"));
+        static final String SYMBOL = System.getProperty("query.symbol", "BTCUSDT");
+        static final int WARMUP = Integer.getInteger("query.warmup", 20);
+        static final int ITERATIONS = Integer.getInteger("query.iterations", 200);
+        // Windows cover WINDOW_SHARE of the loaded time or price range, centered on its middle
+        static final double WINDOW_SHARE = 0.1d;
+        static final String REPORT_PROPERTY = "query.report";
+        static final String REPORT_PREFIX = "query-";
+        static final String ANALYZE = "ANALYZE %s";
+        static final String EXPLAIN = "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) ";
+        static final String SELECT_TIME_BOUNDS = "SELECT min(%1$s), max(%1$s), NULL, NULL FROM %2$s WHERE symbol = ?";
+        static final String SELECT_PRICE_BOUNDS = "SELECT min(%1$s), max(%1$s), min(price), max(price) FROM %2$s " +
+                "WHERE symbol = ?";
+        // Catalog of typical reads; %s is the table, indexes are matched by the hypertable index of the chunk index
+        static final String LATEST_TICKER = "SELECT timestamp, last_price FROM %s WHERE symbol = ? " +
+                "ORDER BY timestamp DESC LIMIT 1";
+        static final String KLINE_RANGE = "SELECT start_time, open_price, high_price, low_price, close_price, volume " +
+                "FROM %s WHERE symbol = ? AND start_time >= ? AND start_time < ? ORDER BY start_time";
+        static final String TOP_OF_BOOK_AT = "SELECT price, size FROM %1$s WHERE symbol = ? AND side = 'bid' AND " +
+                "engine_time = (SELECT max(engine_time) FROM %1$s WHERE symbol = ? AND side = 'bid' AND " +
+                "engine_time <= ?) ORDER BY price DESC LIMIT 1";
+        static final String BOOK_PRICE_BAND = "SELECT count(*), sum(size) FROM %s WHERE symbol = ? AND side = 'ask' " +
+                "AND price >= ? AND price < ?";
+        static final String TRADES_WINDOW = "SELECT count(*), sum(size), min(price), max(price) FROM %s " +
+                "WHERE symbol = ? AND trade_time >= ? AND trade_time < ?";
+        static final String LIQUIDATIONS_WINDOW = "SELECT symbol, event_time, position_side, executed_size, " +
+                "bankruptcy_price FROM %s WHERE event_time >= ? AND event_time < ? ORDER BY event_time DESC";
+        static final String IDX_SYMBOL_TIME = "idx_%s_symbol_time";
+        static final String IDX_SYMBOL_START_TIME = "idx_%s_symbol_start_time";
+        static final String IDX_SYMBOL_SIDE_ENGINE_TIME = "idx_%s_symbol_side_engine_time";
+        static final String IDX_SYMBOL_SIDE_PRICE = "idx_%s_symbol_side_price";
+        static final String IDX_EVENT_TIME = "idx_%s_event_time";
+        static final String PKEY = "%s_pkey";
+        // Keys and values of the EXPLAIN (FORMAT JSON) output
+        static final String PLAN = "Plan";
+        static final String PLANS = "Plans";
+        static final String NODE_TYPE = "Node Type";
+        static final String INDEX_NAME = "Index Name";
+        static final String SEQ_SCAN = "Seq Scan";
+        static final String PLANNING_TIME = "Planning Time";
+        static final String EXECUTION_TIME = "Execution Time";
+        // Chunk indexes are named _hyper_<id>_<chunk>_chunk_<index>, truncated to 63 bytes; resolve their parent
+        static final String SELECT_PARENT_INDEXES = "SELECT DISTINCT coalesce(ci.hypertable_index_name, i.name) " +
+                "FROM unnest(?::text[]) AS i(name) " +
+                "LEFT JOIN _timescaledb_catalog.chunk_index ci ON ci.index_name = i.name";
+        static final String ERR_NO_ROWS = "No rows to query in ";
+        static final String ERR_INDEX_MISS = "Queries not using their intended index: ";
+    }
+
+    final static class Compression {
+        private Compression() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final long ROWS = Long.getLong("compression.rows", 1_000_000L);
+        static final int SYMBOLS = Integer.getInteger("compression.symbols", 10);
+        static final long STEP_MILLIS = Long.getLong("compression.step.ms", 1_000L);
+        static final boolean LOAD = Boolean.parseBoolean(System.getProperty("compression.load", "true"));
+        static final int WARMUP = Integer.getInteger("compression.warmup", 20);
+        static final int ITERATIONS = Integer.getInteger("compression.iterations", 200);
+        // Per-table overrides, e.g. -Dcompression.segmentby.bybit_spot_order_book_200=symbol
+        static final String SEGMENTBY_PROPERTY = "compression.segmentby.";
+        static final String ORDERBY_PROPERTY = "compression.orderby.";
+        static final String REPORT_PROPERTY = "compression.report";
+        static final String REPORT_PREFIX = "compression-";
+        static final String SET_SEGMENTBY = "ALTER TABLE %s SET (timescaledb.compress_segmentby = '%s')";
+        static final String SET_ORDERBY = "ALTER TABLE %s SET (timescaledb.compress_orderby = '%s')";
+        static final String SELECT_TOTAL_BYTES = "SELECT total_bytes " +
+                "FROM public.hypertable_detailed_size(?::regclass)";
+        static final String SELECT_SETTINGS = "SELECT coalesce(segmentby, ''), coalesce(orderby, '') " +
+                "FROM timescaledb_information.hypertable_compression_settings WHERE hypertable = ?::regclass";
+        static final String COMPRESS_CHUNKS = "SELECT count(public.compress_chunk(c, if_not_compressed => true)) " +
+                "FROM public.show_chunks(?::regclass) c";
+        static final String DECOMPRESS_CHUNKS = "SELECT count(public.decompress_chunk(c, if_compressed => true)) " +
+                "FROM public.show_chunks(?::regclass) c";
+        static final String SELECT_CHUNKS = "SELECT count(*), count(*) FILTER (WHERE is_compressed) " +
+                "FROM timescaledb_information.chunks WHERE format('%I.%I', hypertable_schema, hypertable_name) = ?";
+        static final String SELECT_COMPRESSION_STATS = "SELECT before_compression_total_bytes, " +
+                "after_compression_total_bytes FROM public.hypertable_compression_stats(?::regclass)";
+    }
+
+    final static class Chunks {
+        private Chunks() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final long ROWS = Long.getLong("chunk.rows", 1_000_000L);
+        static final int SYMBOLS = Integer.getInteger("chunk.symbols", 10);
+        static final long STEP_MILLIS = Long.getLong("chunk.step.ms", 1_000L);
+        static final int WARMUP = Integer.getInteger("chunk.warmup", 20);
+        static final int ITERATIONS = Integer.getInteger("chunk.iterations", 200);
+        // Candidate intervals, one run each; -Dchunk.intervals.<table> overrides them per table with as many values
+        static final String INTERVALS = System.getProperty("chunk.intervals", "1 hour,6 hours,1 day,7 days");
+        static final String INTERVALS_PROPERTY = "chunk.intervals.";
+        static final String INTERVAL_SEPARATOR = ",";
+        static final String REPORT_PROPERTY = "chunk.report";
+        static final String REPORT_PREFIX = "chunk-";
+        static final String SELECT_INTERVAL = "SELECT time_interval::text FROM timescaledb_information.dimensions " +
+                "WHERE format('%I.%I', hypertable_schema, hypertable_name) = ? AND time_interval IS NOT NULL";
+        static final String SET_INTERVAL = "SELECT public.set_chunk_time_interval(?::regclass, ?::interval)";
+        static final String SELECT_CHUNK_COUNT = "SELECT count(*) FROM public.show_chunks(?::regclass)";
+        static final String ERR_INTERVAL_COUNT = "Chunk interval candidates must match chunk.intervals in count: ";
+    }
+
+    final static class Resume {
+        private Resume() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final String STREAM = System.getProperty("resume.stream", "resume-benchmark-stream");
+        static final String FIXTURE = System.getProperty("resume.fixture", "BYBIT_SPOT:KLINE_1");
+        // Stream lengths to resume from, one run each
+        static final String LENGTHS = System.getProperty("resume.lengths", "10000,100000,1000000");
+        static final String LENGTHS_SEPARATOR = ",";
+        static final int TAIL = Integer.getInteger("resume.tail", 1_000);
+        static final String REPORT_PROPERTY = "resume.report";
+        static final String REPORT_PREFIX = "resume-";
+        static final String ERR_INCOMPLETE = "Consumer timed out after collecting ";
+    }
+
+    final static class SuperStream {
+        private SuperStream() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final String NAME = System.getProperty("superstream.name", "scaling-super-stream");
+        static final String GROUP = System.getProperty("superstream.group", "scaling-group");
+        static final String FIXTURE = System.getProperty("superstream.fixture", "BYBIT_SPOT:PUBLIC_TRADE");
+        // Partition counts, one run each with as many consumers as partitions
+        static final String PARTITIONS = System.getProperty("superstream.partitions", "1,2,4,8");
+        static final String PARTITIONS_SEPARATOR = ",";
+        static final int MESSAGES = Integer.getInteger("superstream.messages", 200_000);
+        static final int SYMBOLS = Integer.getInteger("superstream.symbols", 32);
+        static final long SEED = Long.getLong("superstream.seed", 42L);
+        static final Duration TIMEOUT = Duration.ofSeconds(Long.getLong("superstream.timeout.sec", 300L));
+        static final Duration ASSIGNMENT_POLL_INTERVAL = Duration.ofMillis(50);
+        static final String REPORT_PROPERTY = "superstream.report";
+        static final String REPORT_PREFIX = "superstream-";
+        static final String ERR_TIMEOUT = "Consumers did not receive every message within ";
+        static final String ERR_ASSIGNMENT = "Consumers were not assigned one partition each within ";
+    }
+
+    final static class StreamCompression {
+        private StreamCompression() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final String STREAM = System.getProperty("stream.compression.stream", "compression-benchmark-stream");
+        static final String FIXTURES = System.getProperty("stream.compression.fixtures",
+                "CRYPTO_SCOUT:BTC_PRICE_RISK,CRYPTO_SCOUT:BTC_RISK_PRICE,CRYPTO_SCOUT:LPL,CRYPTO_SCOUT:FGI," +
+                        "CRYPTO_SCOUT:KLINE_D,CRYPTO_SCOUT:KLINE_W," +
+                        "BYBIT_SPOT:KLINE_1,BYBIT_SPOT:KLINE_5,BYBIT_SPOT:KLINE_15,BYBIT_SPOT:KLINE_60," +
+                        "BYBIT_SPOT:KLINE_240,BYBIT_SPOT:KLINE_D,BYBIT_SPOT:TICKERS,BYBIT_SPOT:PUBLIC_TRADE," +
+                        "BYBIT_SPOT:ORDER_BOOK_1,BYBIT_SPOT:ORDER_BOOK_50,BYBIT_SPOT:ORDER_BOOK_200," +
+                        "BYBIT_SPOT:ORDER_BOOK_1000," +
+                        "BYBIT_LINEAR:KLINE_1,BYBIT_LINEAR:KLINE_5,BYBIT_LINEAR:KLINE_15,BYBIT_LINEAR:KLINE_60," +
+                        "BYBIT_LINEAR:KLINE_240,BYBIT_LINEAR:KLINE_D,BYBIT_LINEAR:TICKERS," +
+                        "BYBIT_LINEAR:PUBLIC_TRADE,BYBIT_LINEAR:ORDER_BOOK_1,BYBIT_LINEAR:ORDER_BOOK_50," +
+                        "BYBIT_LINEAR:ORDER_BOOK_200,BYBIT_LINEAR:ORDER_BOOK_1000,BYBIT_LINEAR:ALL_LIQUIDATION");
+        static final String CODECS = System.getProperty("stream.compression.codecs", "NONE,GZIP,SNAPPY,LZ4,ZSTD");
+        static final String LIST_SEPARATOR = ",";
+        static final int MESSAGES = Integer.getInteger("stream.compression.messages", 20_000);
+        static final long MAX_BYTES = Long.getLong("stream.compression.max.mb", 256L) * 1024 * 1024;
+        // A sub-entry is never split across frames, so it has to fit the broker's frame_max (1 MiB by default)
+        static final int SUB_ENTRY_SIZE = Integer.getInteger("stream.compression.sub.entry.size", 100);
+        static final int MAX_SUB_ENTRY_BYTES = 512 * 1024;
+        static final int BATCH_SIZE = 100;
+        static final int MAX_UNCONFIRMED_MESSAGES = 10_000;
+        static final int SYMBOLS = Integer.getInteger("stream.compression.symbols", 32);
+        static final long SEED = Long.getLong("stream.compression.seed", 42L);
+        static final Duration TIMEOUT = Duration.ofSeconds(Long.getLong("stream.compression.timeout.sec", 300L));
+        static final String REPORT_PROPERTY = "stream.compression.report";
+        static final String REPORT_PREFIX = "stream-compression-";
+        static final String ERR_INCOMPLETE = "Consumer did not read every message back: ";
+    }
+}
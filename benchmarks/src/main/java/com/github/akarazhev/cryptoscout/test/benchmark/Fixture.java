@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test.benchmark;
+
+import com.github.akarazhev.cryptoscout.test.MockData;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Fixture.ERR_FILE_NOT_FOUND_PREFIX;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Fixture.ERR_INVALID_FIXTURE;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Fixture.SEPARATOR;
+
+/**
+ * A fixture of {@link MockData} identified in benchmark parameters as {@code SOURCE:TYPE}, e.g.
+ * {@code BYBIT_SPOT:ORDER_BOOK_1000}.
+ *
+ * @param source the data source
+ * @param type the data type
+ */
+record Fixture(MockData.Source source, MockData.Type type) {
+
+    static Fixture of(final String id) {
+        final var parts = id.split(SEPARATOR);
+        if (parts.length != 2) {
+            throw new IllegalStateException(ERR_INVALID_FIXTURE + id);
+        }
+
+        return new Fixture(MockData.Source.valueOf(parts[0]), MockData.Type.valueOf(parts[1]));
+    }
+
+    /**
+     * Reads the raw JSON bytes of the fixture from the classpath.
+     *
+     * @return the fixture bytes
+     * @throws IOException if the resource cannot be read
+     */
+    byte[] bytes() throws IOException {
+        final var path = type.getPath(source);
+        try (final var is = MockData.class.getClassLoader().getResourceAsStream(path)) {
+            if (is == null) {
+                throw new IllegalStateException(ERR_FILE_NOT_FOUND_PREFIX + path);
+            }
+
+            return is.readAllBytes();
+        }
+    }
+
+    /**
+     * Returns the cached immutable fixture map.
+     *
+     * @return the parsed fixture
+     * @throws Exception if the fixture cannot be read
+     */
+    Map<String, Object> data() throws Exception {
+        return MockData.get(source, type);
+    }
+}
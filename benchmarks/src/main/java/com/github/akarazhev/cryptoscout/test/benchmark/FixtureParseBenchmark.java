@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test.benchmark;
+
+import com.github.akarazhev.jcryptolib.util.JsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@code JsonUtils.json2Map}, the parser behind {@code MockData.get}, for every bundled fixture.
+ * The input is read into memory once so only parsing is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class FixtureParseBenchmark {
+    @Param({
+            "CRYPTO_SCOUT:BTC_PRICE_RISK", "CRYPTO_SCOUT:BTC_RISK_PRICE", "CRYPTO_SCOUT:LPL", "CRYPTO_SCOUT:FGI",
+            "CRYPTO_SCOUT:KLINE_D", "CRYPTO_SCOUT:KLINE_W",
+            "BYBIT_SPOT:KLINE_1", "BYBIT_SPOT:KLINE_5", "BYBIT_SPOT:KLINE_15", "BYBIT_SPOT:KLINE_60",
+            "BYBIT_SPOT:KLINE_240", "BYBIT_SPOT:KLINE_D", "BYBIT_SPOT:TICKERS", "BYBIT_SPOT:PUBLIC_TRADE",
+            "BYBIT_SPOT:ORDER_BOOK_1", "BYBIT_SPOT:ORDER_BOOK_50", "BYBIT_SPOT:ORDER_BOOK_200",
+            "BYBIT_SPOT:ORDER_BOOK_1000",
+            "BYBIT_LINEAR:KLINE_1", "BYBIT_LINEAR:KLINE_5", "BYBIT_LINEAR:KLINE_15", "BYBIT_LINEAR:KLINE_60",
+            "BYBIT_LINEAR:KLINE_240", "BYBIT_LINEAR:KLINE_D", "BYBIT_LINEAR:TICKERS", "BYBIT_LINEAR:PUBLIC_TRADE",
+            "BYBIT_LINEAR:ORDER_BOOK_1", "BYBIT_LINEAR:ORDER_BOOK_50", "BYBIT_LINEAR:ORDER_BOOK_200",
+            "BYBIT_LINEAR:ORDER_BOOK_1000", "BYBIT_LINEAR:ALL_LIQUIDATION"
+    })
+    public String fixture;
+
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        json = Fixture.of(fixture).bytes();
+    }
+
+    @Benchmark
+    public Map<String, Object> json2Map() throws IOException {
+        return JsonUtils.json2Map(new ByteArrayInputStream(json));
+    }
+}
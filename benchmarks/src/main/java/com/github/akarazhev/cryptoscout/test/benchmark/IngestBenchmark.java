@@ -0,0 +1,365 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test.benchmark;
+
+import com.github.akarazhev.cryptoscout.test.DBUtils;
+import com.github.akarazhev.cryptoscout.test.LatencyHistogram;
+import com.github.akarazhev.cryptoscout.test.OrderBookReader;
+import com.github.akarazhev.cryptoscout.test.PodmanCompose;
+import com.github.akarazhev.cryptoscout.test.StreamTestPublisher;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+import io.activej.eventloop.Eventloop;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.github.akarazhev.cryptoscout.test.benchmark.Benchmarks.await;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.BATCH_SIZE;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.DRAIN_TIMEOUT;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.ERR_NO_ROWS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.ERR_POLLER;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.FIXTURE;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.KNEE_RATIO;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.MAX_UNCONFIRMED_MESSAGES;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.POLL_INTERVAL;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.RATES;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.RATES_SEPARATOR;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.REPORT_PREFIX;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.REPORT_PROPERTY;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.ROWS_PER_MESSAGE_PROPERTY;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.SELECT_COUNT;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.SETTLE_QUIET;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.STEP_DURATION;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.STREAM;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.SUB_ENTRY_SIZE;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Ingest.TABLE;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Message.CTS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Message.DATA;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Message.SEQ;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Message.TS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Message.UPDATE_ID;
+
+/**
+ * End-to-end ingest benchmark: publishes a fixture to a stream at stepped open-loop target rates and polls the
+ * table the collector writes to until the rows become visible. Requires a collector consuming the stream of the
+ * {@link PodmanCompose} stack; the benchmark itself only drives the stream and watches the database.
+ * <p>
+ * Every generated message gets a unique {@code ts}/{@code cts} and update id, so its rows land in a fresh
+ * engine time. Before each step the table is left to settle until the previous backlog stops arriving and is then
+ * reset, and a message counts as visible once the row count covers it, assuming in-order persistence. Latency is
+ * measured from the scheduled send time, so a publisher falling behind the target rate is not hidden. For each
+ * step the report has the achieved publish rate, the persisted rate, publish-to-visible latency percentiles and
+ * whether the backlog drained. The knee is the highest rate that is still persisted at 95% of target.
+ */
+public final class IngestBenchmark {
+    private IngestBenchmark() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Result of one rate step.
+     *
+     * @param targetRate the requested messages per second
+     * @param sent number of messages published
+     * @param publishRate achieved publish rate in messages per second
+     * @param visible number of messages visible in the table when the step ended
+     * @param persistRate visible messages per second from the step start to the last newly visible message
+     * @param drained whether every published message became visible within the drain timeout
+     * @param latency publish-to-visible latency in nanos
+     */
+    public record Step(int targetRate, long sent, double publishRate, long visible, double persistRate,
+                       boolean drained, LatencyHistogram.Summary latency) {
+
+        public boolean saturated() {
+            return !drained || persistRate < targetRate * KNEE_RATIO;
+        }
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final var fixture = Fixture.of(FIXTURE);
+        final var template = fixture.data();
+        final var rowsPerMessage = Long.getLong(ROWS_PER_MESSAGE_PROPERTY, rowsPerMessage(fixture));
+        if (rowsPerMessage < 1) {
+            throw new IllegalStateException(ERR_NO_ROWS + rowsPerMessage);
+        }
+
+        final var rates = Arrays.stream(RATES.split(RATES_SEPARATOR)).map(String::trim)
+                .mapToInt(Integer::parseInt).toArray();
+        final var steps = new ArrayList<Step>(rates.length);
+        PodmanCompose.up();
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor();
+             final var environment = Benchmarks.environment().build()) {
+            final var reactor = Eventloop.builder().withCurrentThread().build();
+            final var publisher = StreamTestPublisher.create(reactor, executor, environment, STREAM,
+                    new StreamTestPublisher.Options(BATCH_SIZE, SUB_ENTRY_SIZE, MAX_UNCONFIRMED_MESSAGES));
+            await(reactor, publisher.start());
+            try {
+                var sequence = 0L;
+                for (final var rate : rates) {
+                    settle();
+                    DBUtils.resetTables(TABLE);
+                    final var step = runStep(reactor, publisher, template, rowsPerMessage, rate, sequence);
+                    sequence += step.sent();
+                    steps.add(step);
+                    System.out.printf("rate %6d/s: published %9.1f/s, persisted %9.1f/s, visible %d/%d, " +
+                                    "latency p50 %.1f ms p99 %.1f ms max %.1f ms%s%n", rate, step.publishRate(),
+                            step.persistRate(), step.visible(), step.sent(), step.latency().p50() / 1e6,
+                            step.latency().p99() / 1e6, step.latency().max() / 1e6,
+                            step.saturated() ? " (saturated)" : "");
+                }
+            } finally {
+                await(reactor, publisher.stop());
+            }
+        } finally {
+            PodmanCompose.down();
+        }
+
+        final var report = report(rowsPerMessage, steps);
+        System.out.println("Report: " + report);
+    }
+
+    private static Step runStep(final Eventloop reactor, final StreamTestPublisher publisher,
+                                final Map<String, Object> template, final long rowsPerMessage, final int rate,
+                                final long sequence) throws Exception {
+        final var count = (int) Math.max(1L, rate * STEP_DURATION.toSeconds());
+        final var sentAt = new AtomicLongArray(count);
+        final var sent = new AtomicLong();
+        final var latency = LatencyHistogram.create();
+        final var visible = new AtomicLong();
+        final var lastVisibleAt = new AtomicLong();
+        final var publishing = new AtomicLong(1L);
+        final var failure = new AtomicReference<Exception>();
+        final var start = System.nanoTime();
+        final var poller = Thread.ofPlatform().name("ingest-poller").start(() -> {
+            try (final var conn = DBUtils.getDataSource().getConnection();
+                 final var st = conn.createStatement()) {
+                final var sql = String.format(SELECT_COUNT, TABLE);
+                var deadline = Long.MAX_VALUE;
+                while (true) {
+                    final long rows;
+                    try (final var rs = st.executeQuery(sql)) {
+                        rs.next();
+                        rows = rs.getLong(1);
+                    }
+
+                    final var now = System.nanoTime();
+                    final var messages = Math.min(rows / rowsPerMessage, sent.get());
+                    for (var k = visible.get(); k < messages; k++) {
+                        latency.record(now - sentAt.get((int) k));
+                    }
+
+                    if (messages > visible.get()) {
+                        visible.set(messages);
+                        lastVisibleAt.set(now);
+                    }
+
+                    if (publishing.get() == 0L) {
+                        if (deadline == Long.MAX_VALUE) {
+                            deadline = now + DRAIN_TIMEOUT.toNanos();
+                        }
+
+                        if (messages >= sent.get() || now >= deadline) {
+                            return;
+                        }
+                    }
+
+                    LockSupport.parkNanos(POLL_INTERVAL.toNanos());
+                }
+            } catch (final SQLException e) {
+                // Reported by the main thread once publishing stops
+                failure.set(e);
+            }
+        });
+
+        final var paced = new Iterator<Payload<Map<String, Object>>>() {
+            private final long intervalNanos = 1_000_000_000L / rate;
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < count && failure.get() == null;
+            }
+
+            @Override
+            public Payload<Map<String, Object>> next() {
+                if (index >= count) {
+                    throw new NoSuchElementException();
+                }
+
+                final var due = start + index * intervalNanos;
+                var now = System.nanoTime();
+                while (now < due) {
+                    LockSupport.parkNanos(due - now);
+                    now = System.nanoTime();
+                }
+
+                final var payload = Payload.of(Provider.BYBIT, Source.PM, message(template, sequence + index));
+                // The schedule, not the actual send, so time lost behind the schedule counts as latency
+                sentAt.set(index, due);
+                sent.set(++index);
+                return payload;
+            }
+        };
+
+        final StreamTestPublisher.PublishStats stats;
+        try {
+            stats = await(reactor, publisher.publishAll(paced));
+        } finally {
+            publishing.set(0L);
+            poller.join();
+        }
+
+        if (failure.get() != null) {
+            throw new IllegalStateException(ERR_POLLER, failure.get());
+        }
+
+        final var elapsed = lastVisibleAt.get() - start;
+        final var persistRate = elapsed <= 0 ? 0d : visible.get() * 1_000_000_000d / elapsed;
+        return new Step(rate, stats.messages(), stats.messagesPerSecond(), visible.get(), persistRate,
+                visible.get() >= stats.messages(), latency.getSummary());
+    }
+
+    /**
+     * Waits until the row count stopped changing for {@code ingest.settle.ms}, i.e. the collector has persisted
+     * the backlog of the previous step, or until the drain timeout expires.
+     */
+    private static void settle() throws SQLException {
+        try (final var conn = DBUtils.getDataSource().getConnection();
+             final var st = conn.createStatement()) {
+            final var sql = String.format(SELECT_COUNT, TABLE);
+            final var deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+            var last = -1L;
+            var changedAt = System.nanoTime();
+            while (true) {
+                final long rows;
+                try (final var rs = st.executeQuery(sql)) {
+                    rs.next();
+                    rows = rs.getLong(1);
+                }
+
+                final var now = System.nanoTime();
+                if (rows != last) {
+                    last = rows;
+                    changedAt = now;
+                } else if (now - changedAt >= SETTLE_QUIET.toNanos()) {
+                    return;
+                }
+
+                if (now >= deadline) {
+                    System.out.printf("table %s still growing after %d s, previous backlog may leak into the " +
+                            "next step%n", TABLE, DRAIN_TIMEOUT.toSeconds());
+                    return;
+                }
+
+                LockSupport.parkNanos(POLL_INTERVAL.toNanos());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> message(final Map<String, Object> template, final long sequence) {
+        final var message = new LinkedHashMap<>(template);
+        final var millis = System.currentTimeMillis();
+        if (message.containsKey(TS)) {
+            message.put(TS, millis);
+        }
+
+        if (message.containsKey(CTS)) {
+            message.put(CTS, millis);
+        }
+
+        if (message.get(DATA) instanceof Map<?, ?> data) {
+            final var copy = new LinkedHashMap<>((Map<String, Object>) data);
+            if (copy.containsKey(UPDATE_ID)) {
+                copy.put(UPDATE_ID, sequence + 1);
+            }
+
+            if (copy.containsKey(SEQ)) {
+                copy.put(SEQ, sequence + 1);
+            }
+
+            message.put(DATA, copy);
+        }
+
+        return message;
+    }
+
+    private static long rowsPerMessage(final Fixture fixture) throws Exception {
+        return switch (fixture.type()) {
+            case ORDER_BOOK_1, ORDER_BOOK_50, ORDER_BOOK_200, ORDER_BOOK_1000 -> {
+                final var snapshot = OrderBookReader.read(fixture.source(), fixture.type());
+                yield snapshot.bidCount() + snapshot.askCount();
+            }
+            default -> 1L;
+        };
+    }
+
+    private static Path report(final long rowsPerMessage, final List<Step> steps) throws Exception {
+        Integer knee = null;
+        for (final var step : steps) {
+            if (step.saturated()) {
+                break;
+            }
+
+            knee = step.targetRate();
+        }
+
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("fixture", FIXTURE);
+        report.put("table", TABLE);
+        report.put("stream", STREAM);
+        report.put("rowsPerMessage", rowsPerMessage);
+        report.put("stepSeconds", STEP_DURATION.toSeconds());
+        report.put("knee", knee);
+        report.put("steps", steps.stream().map(step -> {
+            final var entry = new LinkedHashMap<String, Object>();
+            entry.put("targetRate", step.targetRate());
+            entry.put("sent", step.sent());
+            entry.put("publishRate", step.publishRate());
+            entry.put("visible", step.visible());
+            entry.put("persistRate", step.persistRate());
+            entry.put("persistRowRate", step.persistRate() * rowsPerMessage);
+            entry.put("drained", step.drained());
+            entry.put("saturated", step.saturated());
+            entry.put("latencyNanos", Reports.latency(step.latency()));
+            return entry;
+        }).toList());
+        return Reports.write(REPORT_PROPERTY, REPORT_PREFIX, report);
+    }
+}
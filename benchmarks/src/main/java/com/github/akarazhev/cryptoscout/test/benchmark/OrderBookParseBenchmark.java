@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test.benchmark;
+
+import com.github.akarazhev.cryptoscout.test.OrderBookReader;
+import com.github.akarazhev.jcryptolib.util.JsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order book decoding: the generic {@code json2Map} tree against {@link OrderBookReader} materializing
+ * primitive arrays and streaming levels to a visitor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class OrderBookParseBenchmark {
+    @Param({
+            "BYBIT_SPOT:ORDER_BOOK_1", "BYBIT_SPOT:ORDER_BOOK_50", "BYBIT_SPOT:ORDER_BOOK_200",
+            "BYBIT_SPOT:ORDER_BOOK_1000",
+            "BYBIT_LINEAR:ORDER_BOOK_1", "BYBIT_LINEAR:ORDER_BOOK_50", "BYBIT_LINEAR:ORDER_BOOK_200",
+            "BYBIT_LINEAR:ORDER_BOOK_1000"
+    })
+    public String fixture;
+
+    private byte[] json;
+    private int depth;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final var f = Fixture.of(fixture);
+        json = f.bytes();
+        depth = switch (f.type()) {
+            case ORDER_BOOK_1 -> 1;
+            case ORDER_BOOK_50 -> 50;
+            case ORDER_BOOK_200 -> 200;
+            default -> 1000;
+        };
+    }
+
+    @Benchmark
+    public Map<String, Object> json2Map() throws IOException {
+        return JsonUtils.json2Map(new ByteArrayInputStream(json));
+    }
+
+    @Benchmark
+    public OrderBookReader.Snapshot read() throws IOException {
+        return OrderBookReader.read(new ByteArrayInputStream(json), depth);
+    }
+
+    @Benchmark
+    public double visit() throws IOException {
+        final var notional = new double[1];
+        OrderBookReader.visit(new ByteArrayInputStream(json), (side, index, price, size) ->
+                notional[0] += price * size);
+        return notional[0];
+    }
+}
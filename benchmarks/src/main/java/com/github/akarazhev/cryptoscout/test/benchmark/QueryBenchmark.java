@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test.benchmark;
+
+import com.github.akarazhev.cryptoscout.test.BulkLoader;
+import com.github.akarazhev.cryptoscout.test.DBUtils;
+import com.github.akarazhev.cryptoscout.test.PodmanCompose;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.ERR_INDEX_MISS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.ITERATIONS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.LOAD;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.REPORT_PREFIX;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.REPORT_PROPERTY;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.ROWS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.STEP_MILLIS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.SYMBOL;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.SYMBOLS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.WARMUP;
+
+/**
+ * Query latency benchmark: seeds the tables of the {@link QueryCatalog} with {@link BulkLoader} at the configured
+ * scale, then runs every catalog query with warmup and reports client-side latency percentiles together with the
+ * {@code EXPLAIN (ANALYZE, BUFFERS)} plan. A query whose plan does not use one of its intended indexes, or falls
+ * back to a sequential scan, is flagged and fails the run once the report is written.
+ */
+public final class QueryBenchmark {
+    private QueryBenchmark() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final var queries = QueryCatalog.all();
+        final var measurements = new ArrayList<QueryCatalog.Measurement>(queries.size());
+        BulkLoader.Result load = null;
+        PodmanCompose.up();
+        try {
+            final var dataSource = DBUtils.getDataSource();
+            if (LOAD) {
+                load = QueryCatalog.seed(dataSource, queries, ROWS, QueryCatalog.options(SYMBOLS, STEP_MILLIS));
+            }
+
+            try (final var conn = dataSource.getConnection()) {
+                for (final var query : queries) {
+                    final var window = QueryCatalog.window(conn, query, SYMBOL);
+                    final var measurement = QueryCatalog.measure(conn, query, window, WARMUP, ITERATIONS);
+                    measurements.add(measurement);
+                    System.out.printf("%-20s rows %6d, p50 %8.3f ms p99 %8.3f ms, planning %.3f ms%s%n",
+                            measurement.name(), measurement.rows(), measurement.latency().p50() / 1e6,
+                            measurement.latency().p99() / 1e6, measurement.planningMillis(),
+                            measurement.indexUsed() ? "" : " (index not used)");
+                }
+            }
+        } finally {
+            PodmanCompose.down();
+        }
+
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("rowsPerTable", ROWS);
+        report.put("symbols", SYMBOLS);
+        report.put("stepMillis", STEP_MILLIS);
+        report.put("warmup", WARMUP);
+        report.put("iterations", ITERATIONS);
+        if (load != null) {
+            report.put("loadRowsPerSecond", load.rowsPerSecond());
+            report.put("loadBytesPerSecond", load.bytesPerSecond());
+        }
+
+        report.put("queries", measurements.stream().map(QueryCatalog::entry).toList());
+        System.out.println("Report: " + Reports.write(REPORT_PROPERTY, REPORT_PREFIX, report));
+        final var misses = QueryCatalog.misses(measurements);
+        if (!misses.isEmpty()) {
+            throw new IllegalStateException(ERR_INDEX_MISS + misses);
+        }
+    }
+}
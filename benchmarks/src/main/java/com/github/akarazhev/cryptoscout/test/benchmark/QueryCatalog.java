@@ -0,0 +1,357 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test.benchmark;
+
+import com.github.akarazhev.cryptoscout.test.BulkLoader;
+import com.github.akarazhev.cryptoscout.test.DBUtils;
+import com.github.akarazhev.cryptoscout.test.LatencyHistogram;
+import com.github.akarazhev.cryptoscout.test.MockData;
+import com.github.akarazhev.jcryptolib.util.JsonUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.ANALYZE;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.BOOK_PRICE_BAND;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.ERR_NO_ROWS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.EXECUTION_TIME;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.EXPLAIN;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.IDX_EVENT_TIME;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.IDX_SYMBOL_SIDE_ENGINE_TIME;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.IDX_SYMBOL_SIDE_PRICE;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.IDX_SYMBOL_START_TIME;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.IDX_SYMBOL_TIME;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.INDEX_NAME;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.KLINE_RANGE;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.LATEST_TICKER;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.LIQUIDATIONS_WINDOW;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.NODE_TYPE;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.PKEY;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.PLAN;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.PLANNING_TIME;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.PLANS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.SELECT_PARENT_INDEXES;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.SELECT_PRICE_BOUNDS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.SELECT_TIME_BOUNDS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.SEQ_SCAN;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.TOP_OF_BOOK_AT;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.TRADES_WINDOW;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Query.WINDOW_SHARE;
+
+/**
+ * Catalog of the typical reads against the {@code crypto_scout} hypertables, each with the indexes it is meant to
+ * use, plus the seeding and measuring steps shared by the database benchmarks.
+ */
+final class QueryCatalog {
+    private QueryCatalog() {
+        throw new UnsupportedOperationException();
+    }
+
+    enum Param {
+        SYMBOL, FROM, TO, AT, PRICE_LOW, PRICE_HIGH
+    }
+
+    /**
+     * A catalog query.
+     *
+     * @param name the query name used in reports
+     * @param source the source of the queried table
+     * @param type the generated type of the queried table
+     * @param timeColumn the partitioning column of the table
+     * @param sql the statement with {@code %s} for the table
+     * @param params the bind parameters in statement order
+     * @param indexes index name patterns with {@code %s} for the unqualified table name; any of them is accepted
+     */
+    record Query(String name, MockData.Source source, MockData.Type type, String timeColumn, String sql,
+                 List<Param> params, List<String> indexes) {
+
+        String table() {
+            return BulkLoader.target(source, type, 1L).table();
+        }
+
+        String statement() {
+            return String.format(sql, table());
+        }
+
+        List<String> indexNames() {
+            final var table = table();
+            final var name = table.substring(table.indexOf('.') + 1);
+            return indexes.stream().map(index -> String.format(index, name)).toList();
+        }
+    }
+
+    /**
+     * Bind values derived from the loaded data: the middle share of the time range of the symbol and, for priced
+     * queries, of its price range.
+     */
+    record Window(String symbol, OffsetDateTime from, OffsetDateTime to, OffsetDateTime at, double priceLow,
+                  double priceHigh) {
+    }
+
+    /**
+     * Latency and plan of one query.
+     *
+     * @param name the query name
+     * @param table the queried table
+     * @param latency client-side execution latency in nanos, including fetching all rows
+     * @param rows number of rows returned
+     * @param planningMillis planning time reported by {@code EXPLAIN ANALYZE}
+     * @param executionMillis execution time reported by {@code EXPLAIN ANALYZE}
+     * @param indexUsed whether the plan scans one of the intended indexes, or a chunk index created from one, and no
+     *                  node is a sequential scan
+     * @param plan the {@code EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON)} output
+     */
+    record Measurement(String name, String table, LatencyHistogram.Summary latency, long rows, double planningMillis,
+                       double executionMillis, boolean indexUsed, String plan) {
+    }
+
+    static List<Query> all() {
+        return List.of(
+                new Query("latest_ticker", MockData.Source.BYBIT_SPOT, MockData.Type.TICKERS, "timestamp",
+                        LATEST_TICKER, List.of(Param.SYMBOL), List.of(IDX_SYMBOL_TIME, PKEY)),
+                new Query("kline_range", MockData.Source.BYBIT_LINEAR, MockData.Type.KLINE_1, "start_time",
+                        KLINE_RANGE, List.of(Param.SYMBOL, Param.FROM, Param.TO), List.of(IDX_SYMBOL_START_TIME, PKEY)),
+                new Query("top_of_book_at", MockData.Source.BYBIT_SPOT, MockData.Type.ORDER_BOOK_200, "engine_time",
+                        TOP_OF_BOOK_AT, List.of(Param.SYMBOL, Param.SYMBOL, Param.AT),
+                        List.of(IDX_SYMBOL_SIDE_ENGINE_TIME)),
+                new Query("book_price_band", MockData.Source.BYBIT_SPOT, MockData.Type.ORDER_BOOK_200, "engine_time",
+                        BOOK_PRICE_BAND, List.of(Param.SYMBOL, Param.PRICE_LOW, Param.PRICE_HIGH),
+                        List.of(IDX_SYMBOL_SIDE_PRICE)),
+                new Query("trades_window", MockData.Source.BYBIT_LINEAR, MockData.Type.PUBLIC_TRADE, "trade_time",
+                        TRADES_WINDOW, List.of(Param.SYMBOL, Param.FROM, Param.TO), List.of(IDX_SYMBOL_TIME, PKEY)),
+                new Query("liquidations_window", MockData.Source.BYBIT_LINEAR, MockData.Type.ALL_LIQUIDATION,
+                        "event_time", LIQUIDATIONS_WINDOW, List.of(Param.FROM, Param.TO), List.of(IDX_EVENT_TIME)));
+    }
+
+    /**
+     * Returns the distinct tables of the queries, in catalog order.
+     */
+    static List<String> tables(final List<Query> queries) {
+        return queries.stream().map(Query::table).distinct().toList();
+    }
+
+    /**
+     * Returns the bulk loader options for the scale, keeping the {@code test.bulk.*} defaults otherwise.
+     */
+    static BulkLoader.Options options(final int symbols, final long stepMillis) {
+        final var defaults = BulkLoader.Options.defaults();
+        return new BulkLoader.Options(symbols, defaults.seed(), defaults.startTs(), stepMillis,
+                defaults.parallelism(), defaults.batchBytes());
+    }
+
+    /**
+     * Empties the tables of the queries, loads {@code rows} rows into each and refreshes their statistics.
+     */
+    static BulkLoader.Result seed(final DataSource dataSource, final List<Query> queries, final long rows,
+                                  final BulkLoader.Options options) throws SQLException {
+        final var targets = queries.stream().map(query -> BulkLoader.target(query.source(), query.type(), rows))
+                .distinct().toList();
+        final var tables = targets.stream().map(BulkLoader.Target::table).toArray(String[]::new);
+        DBUtils.resetTables(dataSource, tables);
+        final var result = BulkLoader.load(dataSource, options, targets);
+        analyze(dataSource, tables);
+        return result;
+    }
+
+    static void analyze(final DataSource dataSource, final String... tables) throws SQLException {
+        try (final var conn = dataSource.getConnection();
+             final var st = conn.createStatement()) {
+            for (final var table : tables) {
+                st.execute(String.format(ANALYZE, table));
+            }
+        }
+    }
+
+    /**
+     * Computes the bind values of the query from the rows of the symbol.
+     */
+    static Window window(final Connection conn, final Query query, final String symbol) throws SQLException {
+        final var priced = query.params().contains(Param.PRICE_LOW);
+        final var sql = String.format(priced ? SELECT_PRICE_BOUNDS : SELECT_TIME_BOUNDS, query.timeColumn(),
+                query.table());
+        try (final var ps = conn.prepareStatement(sql)) {
+            ps.setString(1, symbol);
+            try (final var rs = ps.executeQuery()) {
+                final var min = rs.next() ? rs.getObject(1, OffsetDateTime.class) : null;
+                if (min == null) {
+                    throw new IllegalStateException(ERR_NO_ROWS + query.table());
+                }
+
+                final var max = rs.getObject(2, OffsetDateTime.class);
+                final var span = Duration.between(min, max);
+                final var at = min.plus(span.dividedBy(2));
+                final var half = Duration.ofNanos((long) (span.toNanos() * WINDOW_SHARE / 2d));
+                final var minPrice = rs.getDouble(3);
+                final var maxPrice = rs.getDouble(4);
+                final var midPrice = (minPrice + maxPrice) / 2d;
+                final var halfPrice = (maxPrice - minPrice) * WINDOW_SHARE / 2d;
+                return new Window(symbol, at.minus(half), at.plus(half), at, midPrice - halfPrice,
+                        midPrice + halfPrice);
+            }
+        }
+    }
+
+    /**
+     * Runs the query {@code warmup} times, then measures {@code iterations} executions and captures the plan of
+     * one more execution with {@code EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON)}.
+     */
+    static Measurement measure(final Connection conn, final Query query, final Window window, final int warmup,
+                               final int iterations) throws SQLException, IOException {
+        final var latency = LatencyHistogram.create();
+        var rows = 0L;
+        try (final var ps = conn.prepareStatement(query.statement())) {
+            bind(ps, query, window);
+            for (var i = 0; i < warmup + iterations; i++) {
+                final var start = System.nanoTime();
+                rows = execute(ps);
+                if (i >= warmup) {
+                    latency.record(System.nanoTime() - start);
+                }
+            }
+        }
+
+        final String plan;
+        try (final var ps = conn.prepareStatement(EXPLAIN + query.statement())) {
+            bind(ps, query, window);
+            try (final var rs = ps.executeQuery()) {
+                plan = rs.next() ? rs.getString(1) : "[]";
+            }
+        }
+
+        // The JSON output is an array holding a single object with the plan tree and the timings
+        final var explain = JsonUtils.json2Map(plan.substring(plan.indexOf('[') + 1, plan.lastIndexOf(']')));
+        final var nodeTypes = new HashSet<String>();
+        final var indexes = new HashSet<String>();
+        collect(explain.get(PLAN), nodeTypes, indexes);
+        final var indexUsed = !nodeTypes.contains(SEQ_SCAN) &&
+                parentIndexes(conn, indexes).stream().anyMatch(query.indexNames()::contains);
+        return new Measurement(query.name(), query.table(), latency.getSummary(), rows,
+                millis(explain, PLANNING_TIME), millis(explain, EXECUTION_TIME), indexUsed, plan);
+    }
+
+    /**
+     * Returns the measurement as a report entry.
+     */
+    static Map<String, Object> entry(final Measurement measurement) {
+        final var entry = new LinkedHashMap<String, Object>();
+        entry.put("name", measurement.name());
+        entry.put("table", measurement.table());
+        entry.put("rows", measurement.rows());
+        entry.put("latencyNanos", Reports.latency(measurement.latency()));
+        entry.put("planningMillis", measurement.planningMillis());
+        entry.put("executionMillis", measurement.executionMillis());
+        entry.put("indexUsed", measurement.indexUsed());
+        entry.put("plan", measurement.plan());
+        return entry;
+    }
+
+    static String misses(final List<Measurement> measurements) {
+        return measurements.stream().filter(measurement -> !measurement.indexUsed()).map(Measurement::name)
+                .collect(Collectors.joining(", "));
+    }
+
+    private static void bind(final PreparedStatement ps, final Query query, final Window window)
+            throws SQLException {
+        var index = 1;
+        for (final var param : query.params()) {
+            switch (param) {
+                case SYMBOL -> ps.setString(index, window.symbol());
+                case FROM -> ps.setObject(index, window.from());
+                case TO -> ps.setObject(index, window.to());
+                case AT -> ps.setObject(index, window.at());
+                case PRICE_LOW -> ps.setDouble(index, window.priceLow());
+                case PRICE_HIGH -> ps.setDouble(index, window.priceHigh());
+            }
+
+            index++;
+        }
+    }
+
+    private static long execute(final PreparedStatement ps) throws SQLException {
+        var rows = 0L;
+        try (final var rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rows++;
+            }
+        }
+
+        return rows;
+    }
+
+    private static void collect(final Object node, final Set<String> nodeTypes, final Set<String> indexes) {
+        if (node instanceof Map<?, ?> plan) {
+            if (plan.get(NODE_TYPE) instanceof String nodeType) {
+                nodeTypes.add(nodeType);
+            }
+
+            if (plan.get(INDEX_NAME) instanceof String index) {
+                indexes.add(index);
+            }
+
+            if (plan.get(PLANS) instanceof List<?> children) {
+                for (final var child : children) {
+                    collect(child, nodeTypes, indexes);
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps the scanned index names to the hypertable indexes the chunk indexes were created from; names that are
+     * not chunk indexes are kept as they are.
+     */
+    private static Set<String> parentIndexes(final Connection conn, final Set<String> indexes) throws SQLException {
+        final var parents = new HashSet<String>();
+        if (indexes.isEmpty()) {
+            return parents;
+        }
+
+        try (final var ps = conn.prepareStatement(SELECT_PARENT_INDEXES)) {
+            ps.setArray(1, conn.createArrayOf("text", indexes.toArray()));
+            try (final var rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    parents.add(rs.getString(1));
+                }
+            }
+        }
+
+        return parents;
+    }
+
+    private static double millis(final Map<String, Object> explain, final String key) {
+        return explain.get(key) instanceof Number millis ? millis.doubleValue() : Double.NaN;
+    }
+}
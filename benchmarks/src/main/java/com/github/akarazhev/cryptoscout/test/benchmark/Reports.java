@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test.benchmark;
+
+import com.github.akarazhev.cryptoscout.test.LatencyHistogram;
+import com.github.akarazhev.jcryptolib.util.JsonUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Runner.RESULT_DIR;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Runner.RESULT_EXTENSION;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Runner.RESULT_TIMESTAMP_PATTERN;
+
+/**
+ * JSON reports of the main-class benchmarks.
+ */
+final class Reports {
+    private Reports() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes the report to the file named by the system property, or to {@code target/<prefix><timestamp>.json}.
+     *
+     * @param property the system property overriding the report path
+     * @param prefix the default file name prefix
+     * @param report the report content
+     * @return the written file
+     */
+    static Path write(final String property, final String prefix, final Map<String, Object> report)
+            throws Exception {
+        final var path = Path.of(System.getProperty(property, Path.of(RESULT_DIR, prefix +
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern(RESULT_TIMESTAMP_PATTERN)) +
+                RESULT_EXTENSION).toString()));
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        Files.writeString(path, JsonUtils.object2Json(report));
+        return path;
+    }
+
+    static Map<String, Object> latency(final LatencyHistogram.Summary summary) {
+        final var latency = new LinkedHashMap<String, Object>();
+        latency.put("count", summary.count());
+        latency.put("mean", summary.mean());
+        latency.put("p50", summary.p50());
+        latency.put("p90", summary.p90());
+        latency.put("p99", summary.p99());
+        latency.put("p999", summary.p999());
+        latency.put("max", summary.max());
+        return latency;
+    }
+}
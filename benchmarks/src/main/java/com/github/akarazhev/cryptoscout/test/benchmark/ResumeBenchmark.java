@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test.benchmark;
+
+import com.github.akarazhev.cryptoscout.test.DBUtils;
+import com.github.akarazhev.cryptoscout.test.OffsetStore;
+import com.github.akarazhev.cryptoscout.test.PodmanCompose;
+import com.github.akarazhev.cryptoscout.test.StreamTestConsumer;
+import com.github.akarazhev.cryptoscout.test.StreamTestPublisher;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+import com.rabbitmq.stream.Environment;
+import io.activej.eventloop.Eventloop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import static com.github.akarazhev.cryptoscout.test.benchmark.Benchmarks.await;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Resume.ERR_INCOMPLETE;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Resume.FIXTURE;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Resume.LENGTHS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Resume.LENGTHS_SEPARATOR;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Resume.REPORT_PREFIX;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Resume.REPORT_PROPERTY;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Resume.STREAM;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.Resume.TAIL;
+
+/**
+ * Restart cost benchmark for offset-tracked consumption. For each stream length it fills a fresh stream, reads it
+ * once with an {@link OffsetStore}-backed consumer, appends a fixed tail and measures how long a restarted consumer
+ * takes to collect that tail. With offsets committed to {@code crypto_scout.stream_offsets} the resume time stays
+ * flat while the full read grows with the stream.
+ */
+public final class ResumeBenchmark {
+    private ResumeBenchmark() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Result of one stream length.
+     *
+     * @param length number of messages in the stream before the tail
+     * @param fullReadNanos time to read the whole stream from the first message
+     * @param resumeNanos time for a restarted consumer to collect the tail
+     * @param flushes number of offset commits over both reads
+     */
+    public record Run(long length, long fullReadNanos, long resumeNanos, long flushes) {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final var payload = Payload.of(Provider.BYBIT, Source.PM, Fixture.of(FIXTURE).data());
+        final var lengths = Arrays.stream(LENGTHS.split(LENGTHS_SEPARATOR)).map(String::trim)
+                .mapToInt(Integer::parseInt).toArray();
+        final var runs = new ArrayList<Run>(lengths.length);
+        PodmanCompose.up();
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor();
+             final var environment = Benchmarks.environment().build()) {
+            final var reactor = Eventloop.builder().withCurrentThread().build();
+            for (final var length : lengths) {
+                final var offsets = OffsetStore.create(DBUtils.getDataSource());
+                offsets.remove(STREAM);
+                environment.streamCreator().stream(STREAM).create();
+                final var publisher = StreamTestPublisher.create(reactor, executor, environment, STREAM);
+                await(reactor, publisher.start());
+                try {
+                    await(reactor, publisher.publishAll(Collections.nCopies(length, payload)));
+                    final var fullRead = collect(reactor, executor, environment, offsets, length);
+                    await(reactor, publisher.publishAll(Collections.nCopies(TAIL, payload)));
+                    final var resume = collect(reactor, executor, environment, offsets, TAIL);
+                    final var run = new Run(length, fullRead, resume, offsets.getStats().flushes());
+                    runs.add(run);
+                    System.out.printf("length %,10d: full read %9.1f ms, resume %,d messages %8.1f ms%n", length,
+                            fullRead / 1e6, TAIL, resume / 1e6);
+                } finally {
+                    await(reactor, publisher.stop());
+                    offsets.close();
+                    offsets.remove(STREAM);
+                    environment.deleteStream(STREAM);
+                }
+            }
+        } finally {
+            PodmanCompose.down();
+        }
+
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("fixture", FIXTURE);
+        report.put("tail", TAIL);
+        report.put("runs", runs.stream().map(run -> {
+            final var entry = new LinkedHashMap<String, Object>();
+            entry.put("length", run.length());
+            entry.put("fullReadMillis", run.fullReadNanos() / 1e6);
+            entry.put("resumeMillis", run.resumeNanos() / 1e6);
+            entry.put("flushes", run.flushes());
+            return entry;
+        }).toList());
+        System.out.println("Report: " + Reports.write(REPORT_PROPERTY, REPORT_PREFIX, report));
+    }
+
+    /**
+     * Starts an offset-tracked consumer and returns the time from its start until it collected {@code expected}
+     * messages.
+     */
+    private static long collect(final Eventloop reactor, final Executor executor, final Environment environment,
+                                final OffsetStore offsets, final int expected) throws Exception {
+        final var consumer = StreamTestConsumer.create(reactor, executor, environment, STREAM,
+                StreamTestConsumer.CollectOptions.lean(expected), offsets);
+        final var start = System.nanoTime();
+        await(reactor, consumer.start());
+        try {
+            final var result = await(reactor, consumer.getCollected());
+            final var elapsed = System.nanoTime() - start;
+            if (result.timedOut()) {
+                throw new IllegalStateException(ERR_INCOMPLETE + result.count());
+            }
+
+            return elapsed;
+        } finally {
+            await(reactor, consumer.stop());
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test.benchmark;
+
+import com.github.akarazhev.cryptoscout.test.MockDataGenerator;
+import com.github.akarazhev.cryptoscout.test.PodmanCompose;
+import com.github.akarazhev.cryptoscout.test.StreamTestConsumer;
+import com.github.akarazhev.cryptoscout.test.StreamTestPublisher;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+import com.github.akarazhev.jcryptolib.util.JsonUtils;
+import com.rabbitmq.stream.Environment;
+import com.rabbitmq.stream.compression.Compression;
+import com.rabbitmq.stream.metrics.MetricsCollector;
+import io.activej.eventloop.Eventloop;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.akarazhev.cryptoscout.test.benchmark.Benchmarks.await;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.StreamCompression.BATCH_SIZE;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.StreamCompression.CODECS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.StreamCompression.ERR_INCOMPLETE;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.StreamCompression.FIXTURES;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.StreamCompression.LIST_SEPARATOR;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.StreamCompression.MAX_BYTES;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.StreamCompression.MAX_SUB_ENTRY_BYTES;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.StreamCompression.MAX_UNCONFIRMED_MESSAGES;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.StreamCompression.MESSAGES;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.StreamCompression.REPORT_PREFIX;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.StreamCompression.REPORT_PROPERTY;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.StreamCompression.SEED;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.StreamCompression.STREAM;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.StreamCompression.SUB_ENTRY_SIZE;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.StreamCompression.SYMBOLS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.StreamCompression.TIMEOUT;
+
+/**
+ * Stream sub-entry compression benchmark: for every fixture and codec it publishes the same messages to a fresh
+ * stream and reads them back, counting the bytes the client writes and reads on the socket, the publish rate and the
+ * process CPU time the consumer spends per message on decompression and decoding. The uncompressed run of a fixture
+ * is the baseline; a codec pays off when it cuts the wire bytes without costing more consumer CPU than the pipeline
+ * can spare.
+ */
+public final class StreamCompressionBenchmark {
+    private StreamCompressionBenchmark() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Result of one fixture and codec.
+     *
+     * @param fixture the fixture id
+     * @param codec the sub-entry codec
+     * @param messages number of messages published and read back
+     * @param subEntrySize messages per sub-entry
+     * @param jsonBytesPerMessage uncompressed body size
+     * @param publishedBytesPerMessage bytes written to the socket per message, frame overhead included
+     * @param consumedBytesPerMessage bytes read from the socket per message, frame overhead included
+     * @param publishRate achieved publish rate in messages per second
+     * @param consumeRate messages per second from the first received message to the last decoded one
+     * @param consumeCpuNanosPerMessage process CPU time per message while reading the stream back
+     */
+    public record Run(String fixture, Compression codec, long messages, int subEntrySize, double jsonBytesPerMessage,
+                      double publishedBytesPerMessage, double consumedBytesPerMessage, double publishRate,
+                      double consumeRate, double consumeCpuNanosPerMessage) {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final var fixtures = Arrays.stream(FIXTURES.split(LIST_SEPARATOR)).map(String::trim).map(Fixture::of)
+                .toList();
+        final var codecs = Arrays.stream(CODECS.split(LIST_SEPARATOR)).map(String::trim).map(Compression::valueOf)
+                .toList();
+        final var runs = new ArrayList<Run>(fixtures.size() * codecs.size());
+        final var traffic = new Traffic();
+        PodmanCompose.up();
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor();
+             final var environment = Benchmarks.environment()
+                     .metricsCollector(traffic)
+                     .build()) {
+            final var reactor = Eventloop.builder().withCurrentThread().build();
+            for (final var fixture : fixtures) {
+                final var id = fixture.source() + ":" + fixture.type();
+                final var size = JsonUtils.object2Bytes(Payload.of(Provider.BYBIT, Source.PM, fixture.data())).length;
+                final var messages = (int) Math.max(1, Math.min(MESSAGES, MAX_BYTES / size));
+                final var subEntrySize = Math.max(2, Math.min(SUB_ENTRY_SIZE, MAX_SUB_ENTRY_BYTES / size));
+                for (final var codec : codecs) {
+                    environment.streamCreator().stream(STREAM).create();
+                    try {
+                        final var run = run(reactor, executor, environment, traffic, fixture, id, codec, messages,
+                                subEntrySize);
+                        runs.add(run);
+                        System.out.printf("%-30s %-6s: %,10.0f B/msg json, %,10.0f B/msg wire, " +
+                                        "publish %,10.0f msg/s, consume %,8.0f ns cpu/msg%n", id, codec,
+                                run.jsonBytesPerMessage(), run.publishedBytesPerMessage(), run.publishRate(),
+                                run.consumeCpuNanosPerMessage());
+                    } finally {
+                        environment.deleteStream(STREAM);
+                    }
+                }
+            }
+        } finally {
+            PodmanCompose.down();
+        }
+
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("messages", MESSAGES);
+        report.put("maxBytes", MAX_BYTES);
+        report.put("symbols", SYMBOLS);
+        report.put("runs", runs.stream().map(run -> {
+            final var entry = new LinkedHashMap<String, Object>();
+            entry.put("fixture", run.fixture());
+            entry.put("codec", run.codec().name());
+            entry.put("messages", run.messages());
+            entry.put("subEntrySize", run.subEntrySize());
+            entry.put("jsonBytesPerMessage", run.jsonBytesPerMessage());
+            entry.put("publishedBytesPerMessage", run.publishedBytesPerMessage());
+            entry.put("consumedBytesPerMessage", run.consumedBytesPerMessage());
+            entry.put("publishRate", run.publishRate());
+            entry.put("consumeRate", run.consumeRate());
+            entry.put("consumeCpuNanosPerMessage", run.consumeCpuNanosPerMessage());
+            return entry;
+        }).toList());
+        System.out.println("Report: " + Reports.write(REPORT_PROPERTY, REPORT_PREFIX, report));
+    }
+
+    private static Run run(final Eventloop reactor, final Executor executor, final Environment environment,
+                           final Traffic traffic, final Fixture fixture, final String id, final Compression codec,
+                           final int messages, final int subEntrySize) throws Exception {
+        final var publisher = StreamTestPublisher.create(reactor, executor, environment, STREAM,
+                new StreamTestPublisher.Options(BATCH_SIZE, subEntrySize, MAX_UNCONFIRMED_MESSAGES, codec));
+        await(reactor, publisher.start());
+        final StreamTestPublisher.PublishStats published;
+        final long written;
+        try {
+            final var before = traffic.written.sum();
+            published = await(reactor, publisher.publishAll(payloads(fixture, messages)));
+            written = traffic.written.sum() - before;
+        } finally {
+            await(reactor, publisher.stop());
+        }
+
+        final var defaults = StreamTestConsumer.CollectOptions.lean(messages);
+        final var consumer = StreamTestConsumer.create(reactor, executor, environment, STREAM,
+                new StreamTestConsumer.CollectOptions(messages, TIMEOUT, _ -> false, false,
+                        defaults.decodeThreads(), defaults.queueCapacity()));
+        final var os = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        final var read = traffic.read.sum();
+        final var cpu = os.getProcessCpuTime();
+        final StreamTestConsumer.CollectResult collected;
+        try {
+            await(reactor, consumer.start());
+            collected = await(reactor, consumer.getCollected());
+        } finally {
+            await(reactor, consumer.stop());
+        }
+
+        final var consumeCpu = os.getProcessCpuTime() - cpu;
+        final var consumed = traffic.read.sum() - read;
+        if (collected.timedOut() || collected.count() != published.confirmed() || collected.decodeErrors() > 0) {
+            throw new IllegalStateException(ERR_INCOMPLETE + id + " " + codec + ", " + collected.count() + " of " +
+                    published.confirmed() + ", " + collected.decodeErrors() + " decode errors");
+        }
+
+        final var count = (double) collected.count();
+        return new Run(id, codec, collected.count(), subEntrySize, published.bytes() / count, written / count,
+                consumed / count, published.messagesPerSecond(), collected.messagesPerSecond(), consumeCpu / count);
+    }
+
+    /**
+     * Generated messages for the Bybit types the generator supports, so that prices, sizes and ids differ between
+     * messages as they do live; the fixture repeated as is for the others.
+     */
+    private static Iterator<Payload<Map<String, Object>>> payloads(final Fixture fixture, final int messages)
+            throws Exception {
+        if (MockDataGenerator.supports(fixture.source(), fixture.type())) {
+            final var generator = MockDataGenerator.create(fixture.source(), fixture.type(), SYMBOLS, SEED);
+            return generator.stream().limit(messages)
+                    .map(message -> Payload.of(Provider.BYBIT, Source.PM, message)).iterator();
+        }
+
+        final List<Payload<Map<String, Object>>> copies = Collections.nCopies(messages,
+                Payload.of(Provider.BYBIT, Source.PM, fixture.data()));
+        return copies.iterator();
+    }
+
+    /**
+     * Counts the bytes the environment's connections write and read on their sockets.
+     */
+    private static final class Traffic implements MetricsCollector {
+        private final LongAdder written = new LongAdder();
+        private final LongAdder read = new LongAdder();
+
+        @Override
+        public void openConnection() {
+        }
+
+        @Override
+        public void closeConnection() {
+        }
+
+        @Override
+        public void publish(final int count) {
+        }
+
+        @Override
+        public void publishConfirm(final int count) {
+        }
+
+        @Override
+        public void publishError(final int count) {
+        }
+
+        @Override
+        public void chunk(final int entriesCount) {
+        }
+
+        @Override
+        public void consume(final long count) {
+        }
+
+        @Override
+        public void writtenBytes(final int count) {
+            written.add(count);
+        }
+
+        @Override
+        public void readBytes(final int count) {
+            read.add(count);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test.benchmark;
+
+import com.github.akarazhev.cryptoscout.test.MockDataGenerator;
+import com.github.akarazhev.cryptoscout.test.PodmanCompose;
+import com.github.akarazhev.cryptoscout.test.StreamTestConsumer;
+import com.github.akarazhev.cryptoscout.test.StreamTestPublisher;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+import com.rabbitmq.stream.Environment;
+import io.activej.eventloop.Eventloop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.akarazhev.cryptoscout.test.benchmark.Benchmarks.await;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.SuperStream.ASSIGNMENT_POLL_INTERVAL;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.SuperStream.ERR_ASSIGNMENT;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.SuperStream.ERR_TIMEOUT;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.SuperStream.FIXTURE;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.SuperStream.GROUP;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.SuperStream.MESSAGES;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.SuperStream.NAME;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.SuperStream.PARTITIONS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.SuperStream.PARTITIONS_SEPARATOR;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.SuperStream.REPORT_PREFIX;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.SuperStream.REPORT_PROPERTY;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.SuperStream.SEED;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.SuperStream.SYMBOLS;
+import static com.github.akarazhev.cryptoscout.test.benchmark.Constants.SuperStream.TIMEOUT;
+
+/**
+ * Super stream scaling benchmark: for each partition count it creates a super stream, starts as many single active
+ * consumers of one group as there are partitions and waits until each holds one partition, so no rebalance restarts
+ * a partition mid-run, then publishes the same generated messages routed by symbol and measures how fast the
+ * consumers receive and decode every message together. Messages are counted once per partition and offset.
+ * Aggregate throughput should grow with the partition count until the broker or the client host saturates.
+ */
+public final class SuperStreamBenchmark {
+    private SuperStreamBenchmark() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Result of one partition count.
+     *
+     * @param partitions number of partitions and consumers
+     * @param publishRate achieved publish rate in messages per second
+     * @param consumeRate aggregate messages per second from the publish start to the last decoded message
+     * @param perConsumer messages decoded by each consumer
+     * @param redelivered messages skipped because their partition and offset were already counted
+     */
+    public record Run(int partitions, double publishRate, double consumeRate, List<Long> perConsumer,
+                      long redelivered) {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final var fixture = Fixture.of(FIXTURE);
+        final var partitionCounts = Arrays.stream(PARTITIONS.split(PARTITIONS_SEPARATOR)).map(String::trim)
+                .mapToInt(Integer::parseInt).toArray();
+        final var runs = new ArrayList<Run>(partitionCounts.length);
+        PodmanCompose.up();
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor();
+             final var environment = Benchmarks.environment().build()) {
+            final var reactor = Eventloop.builder().withCurrentThread().build();
+            for (final var partitions : partitionCounts) {
+                environment.streamCreator().name(NAME).superStream().partitions(partitions).creator().create();
+                try {
+                    final var run = run(reactor, executor, environment, fixture, partitions);
+                    runs.add(run);
+                    System.out.printf("partitions %2d: publish %,12.0f msg/s, consume %,12.0f msg/s, " +
+                                    "per consumer %s, redelivered %d%n", partitions, run.publishRate(),
+                            run.consumeRate(), run.perConsumer(), run.redelivered());
+                } finally {
+                    environment.deleteSuperStream(NAME);
+                }
+            }
+        } finally {
+            PodmanCompose.down();
+        }
+
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("fixture", FIXTURE);
+        report.put("messages", MESSAGES);
+        report.put("symbols", SYMBOLS);
+        report.put("runs", runs.stream().map(run -> {
+            final var entry = new LinkedHashMap<String, Object>();
+            entry.put("partitions", run.partitions());
+            entry.put("publishRate", run.publishRate());
+            entry.put("consumeRate", run.consumeRate());
+            entry.put("perConsumer", run.perConsumer());
+            entry.put("redelivered", run.redelivered());
+            return entry;
+        }).toList());
+        System.out.println("Report: " + Reports.write(REPORT_PROPERTY, REPORT_PREFIX, report));
+    }
+
+    private static Run run(final Eventloop reactor, final Executor executor, final Environment environment,
+                           final Fixture fixture, final int partitions) throws Exception {
+        // Consumers count towards one total; the first to see the last message marks the end of the run
+        final var received = new AtomicLong();
+        final var done = new CompletableFuture<Long>();
+        final var defaults = StreamTestConsumer.CollectOptions.lean(0);
+        final var options = new StreamTestConsumer.CollectOptions(0, TIMEOUT, _ -> {
+            if (received.incrementAndGet() == MESSAGES) {
+                done.complete(System.nanoTime());
+            }
+
+            return false;
+        }, false, defaults.decodeThreads(), defaults.queueCapacity());
+        final var consumers = new ArrayList<StreamTestConsumer>(partitions);
+        try {
+            for (var i = 0; i < partitions; i++) {
+                final var consumer = StreamTestConsumer.createSuperStream(reactor, executor, environment, NAME, GROUP,
+                        options, null);
+                consumers.add(consumer);
+                await(reactor, consumer.start());
+            }
+
+            awaitAssignment(consumers, partitions);
+            final var publisher = StreamTestPublisher.createSuperStream(reactor, executor, environment, NAME,
+                    StreamTestPublisher.Options.defaults());
+            await(reactor, publisher.start());
+            final var start = System.nanoTime();
+            final StreamTestPublisher.PublishStats published;
+            try {
+                final var generator = MockDataGenerator.create(fixture.source(), fixture.type(), SYMBOLS, SEED);
+                published = await(reactor, publisher.publishAll(generator.stream().limit(MESSAGES)
+                        .map(message -> Payload.of(Provider.BYBIT, Source.PM, message)).iterator()));
+            } finally {
+                await(reactor, publisher.stop());
+            }
+
+            final long end;
+            try {
+                end = done.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) {
+                throw new IllegalStateException(ERR_TIMEOUT + TIMEOUT, e);
+            }
+
+            final var perConsumer = new ArrayList<Long>(partitions);
+            var redelivered = 0L;
+            for (final var consumer : consumers) {
+                final var collected = consumer.getCollected();
+                await(reactor, consumer.stop());
+                final var result = await(reactor, collected);
+                perConsumer.add(result.count());
+                redelivered += result.redelivered();
+            }
+
+            consumers.clear();
+            return new Run(partitions, published.messagesPerSecond(), MESSAGES * 1_000_000_000d / (end - start),
+                    perConsumer, redelivered);
+        } finally {
+            for (final var consumer : consumers) {
+                await(reactor, consumer.stop());
+            }
+        }
+    }
+
+    /**
+     * Waits until every consumer is active on exactly one partition, which ends the rebalancing of the group.
+     */
+    private static void awaitAssignment(final List<StreamTestConsumer> consumers, final int partitions)
+            throws InterruptedException {
+        final var deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (true) {
+            final var assigned = new HashSet<String>(partitions);
+            var settled = true;
+            for (final var consumer : consumers) {
+                final var active = consumer.getActivePartitions();
+                settled &= active.size() == 1;
+                assigned.addAll(active);
+            }
+
+            if (settled && assigned.size() == partitions) {
+                return;
+            }
+
+            if (System.nanoTime() >= deadline) {
+                throw new IllegalStateException(ERR_ASSIGNMENT + TIMEOUT);
+            }
+
+            Thread.sleep(ASSIGNMENT_POLL_INTERVAL.toMillis());
+        }
+    }
+}
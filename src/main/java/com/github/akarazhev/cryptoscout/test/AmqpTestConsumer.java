@@ -25,12 +25,12 @@
 package com.github.akarazhev.cryptoscout.test;
 
 import com.github.akarazhev.jcryptolib.stream.Message;
-import com.github.akarazhev.jcryptolib.util.JsonUtils;
 import com.rabbitmq.client.CancelCallback;
 import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.ConnectionFactory;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.DeliverCallback;
+import com.rabbitmq.client.Delivery;
 import io.activej.async.service.ReactiveService;
 import io.activej.promise.Promise;
 import io.activej.promise.SettablePromise;
@@ -41,35 +41,97 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.ACK_EVERY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.ACK_IDLE_FLUSH;
 import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.CONSUMER_CLIENT_NAME;
 import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.PREFETCH_COUNT;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.STREAMING_PREFETCH_COUNT;
 
 /**
- * Test consumer for AMQP messages. This consumer processes exactly one message
- * per test and automatically cancels the subscription after message delivery.
+ * Test consumer for AMQP messages. By default this consumer processes exactly one message
+ * per test and automatically cancels the subscription after message delivery. When created
+ * with {@link Options} it keeps consuming and reports drain metrics instead.
  */
 public final class AmqpTestConsumer extends AbstractReactive implements ReactiveService {
     private static final Logger LOGGER = LoggerFactory.getLogger(AmqpTestConsumer.class);
     private final Executor executor;
     private final ConnectionFactory connectionFactory;
     private final String queue;
+    private final Options options;
     private volatile Connection connection;
     private volatile Channel channel;
     private volatile String consumerTag;
     private SettablePromise<Message<?>> message;
+    private volatile Drain drain;
+
+    /**
+     * Streaming mode settings.
+     *
+     * @param prefetch max number of unacked deliveries the broker pushes to this consumer
+     * @param ackEvery number of deliveries acknowledged together with one multiple-ack; a smaller tail is acked
+     *                 once deliveries pause or the consumer stops
+     * @param parallelDecode whether bodies are decoded on virtual threads instead of the delivery thread
+     * @param expectedCount number of messages after which {@link #getDrained()} completes, or {@code 0}
+     */
+    public record Options(int prefetch, int ackEvery, boolean parallelDecode, long expectedCount) {
+
+        public Options {
+            if (prefetch < 1 || ackEvery < 1 || ackEvery > prefetch || expectedCount < 0) {
+                throw new IllegalArgumentException("Invalid consumer options");
+            }
+        }
+
+        public static Options of(final long expectedCount) {
+            return new Options(STREAMING_PREFETCH_COUNT, ACK_EVERY, false, expectedCount);
+        }
+    }
+
+    /**
+     * Drain metrics of the streaming mode.
+     *
+     * @param delivered number of deliveries received
+     * @param decoded number of bodies decoded successfully
+     * @param decodeErrors number of bodies that could not be decoded
+     * @param redelivered number of deliveries flagged as redelivered by the broker
+     * @param ackFrames number of (multiple) acks sent
+     * @param elapsedNanos time from the first delivery to the last processed one
+     */
+    public record DrainStats(long delivered, long decoded, long decodeErrors, long redelivered, long ackFrames,
+                             long elapsedNanos) {
+
+        public double messagesPerSecond() {
+            return elapsedNanos == 0 ? 0d : delivered * 1_000_000_000d / elapsedNanos;
+        }
+    }
 
     public static AmqpTestConsumer create(final NioReactor reactor, final Executor executor,
                                           final ConnectionFactory connectionFactory, final String queue) {
-        return new AmqpTestConsumer(reactor, executor, connectionFactory, queue);
+        return new AmqpTestConsumer(reactor, executor, connectionFactory, queue, null);
+    }
+
+    /**
+     * Creates a consumer in streaming mode that keeps consuming until stopped.
+     */
+    public static AmqpTestConsumer create(final NioReactor reactor, final Executor executor,
+                                          final ConnectionFactory connectionFactory, final String queue,
+                                          final Options options) {
+        return new AmqpTestConsumer(reactor, executor, connectionFactory, queue, options);
     }
 
     private AmqpTestConsumer(final NioReactor reactor, final Executor executor,
-                             final ConnectionFactory connectionFactory, final String queue) {
+                             final ConnectionFactory connectionFactory, final String queue, final Options options) {
         super(reactor);
         this.executor = executor;
         this.connectionFactory = connectionFactory;
         this.queue = queue;
+        this.options = options;
     }
 
     @Override
@@ -78,13 +140,21 @@ public final class AmqpTestConsumer extends AbstractReactive implements Reactive
             try {
                 connection = connectionFactory.newConnection(CONSUMER_CLIENT_NAME);
                 channel = connection.createChannel();
-                channel.basicQos(PREFETCH_COUNT);
+                channel.basicQos(options != null ? options.prefetch() : PREFETCH_COUNT);
                 channel.queueDeclarePassive(queue);
                 message = new SettablePromise<>();
+                if (options != null) {
+                    final var streaming = new Drain(options);
+                    drain = streaming;
+                    consumerTag = channel.basicConsume(queue, false, streaming::deliver,
+                            tag -> LOGGER.debug("AMQP consumer cancelled: {}", tag));
+                    return;
+                }
 
                 final DeliverCallback deliver = (_, delivery) -> {
                     try {
-                        final var msg = (Message<?>) JsonUtils.bytes2Object(delivery.getBody(), Message.class);
+                        final var msg = PayloadCodec.forContentType(contentType(delivery))
+                                .decodeMessage(delivery.getBody());
                         channel.basicAck(delivery.getEnvelope().getDeliveryTag(), false);
                         message.set(msg);
                     } catch (final Exception e) {
@@ -119,6 +189,28 @@ public final class AmqpTestConsumer extends AbstractReactive implements Reactive
         return message;
     }
 
+    /**
+     * Returns a promise completed once {@link Options#expectedCount()} messages have been processed.
+     */
+    public Promise<DrainStats> getDrained() {
+        final var current = drain;
+        if (current == null) {
+            return Promise.ofException(new IllegalStateException("Consumer not started in streaming mode"));
+        }
+        return current.promise;
+    }
+
+    /**
+     * Returns the drain metrics accumulated so far in streaming mode.
+     */
+    public DrainStats getDrainStats() {
+        final var current = drain;
+        if (current == null) {
+            throw new IllegalStateException("Consumer not started in streaming mode");
+        }
+        return current.stats();
+    }
+
     @Override
     public Promise<Void> stop() {
         return Promise.ofBlocking(executor, () -> {
@@ -133,6 +225,11 @@ public final class AmqpTestConsumer extends AbstractReactive implements Reactive
                         LOGGER.debug("Error cancelling AMQP consumer on stop", e);
                     }
 
+                    final var current = drain;
+                    if (current != null) {
+                        current.close();
+                    }
+
                     channel.close();
                     channel = null;
                 }
@@ -149,7 +246,134 @@ public final class AmqpTestConsumer extends AbstractReactive implements Reactive
                 }
 
                 message = null;
+                drain = null;
             }
         });
     }
+
+    /**
+     * Returns the content type the publisher set, which selects the codec; {@code null} decodes as JSON.
+     */
+    private static String contentType(final Delivery delivery) {
+        return delivery.getProperties() != null ? delivery.getProperties().getContentType() : null;
+    }
+
+    private final class Drain {
+        private final Options options;
+        private final SettablePromise<DrainStats> promise = new SettablePromise<>();
+        private final ExecutorService decoders;
+        private final LongAdder decoded = new LongAdder();
+        private final LongAdder decodeErrors = new LongAdder();
+        private final LongAdder processed = new LongAdder();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private final ScheduledExecutorService idleFlusher;
+        // Touched on the channel's delivery thread, and under the lock by the idle flush and close
+        private long delivered;
+        private long redelivered;
+        private long ackFrames;
+        private long unacked;
+        private long lastTag;
+        private long lastDeliveryAt;
+        private volatile long firstDeliveryAt;
+        private volatile long lastProcessedAt;
+        private volatile long deliveredSnapshot;
+        private volatile long redeliveredSnapshot;
+        private volatile long ackFramesSnapshot;
+
+        private Drain(final Options options) {
+            this.options = options;
+            this.decoders = options.parallelDecode() ? Executors.newVirtualThreadPerTaskExecutor() : null;
+            this.idleFlusher = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().factory());
+            final var interval = ACK_IDLE_FLUSH.toNanos();
+            idleFlusher.scheduleWithFixedDelay(this::flushIfIdle, interval, interval, TimeUnit.NANOSECONDS);
+        }
+
+        private void deliver(final String tag, final Delivery delivery) throws IOException {
+            synchronized (this) {
+                lastDeliveryAt = System.nanoTime();
+                if (delivered++ == 0) {
+                    firstDeliveryAt = lastDeliveryAt;
+                }
+
+                if (delivery.getEnvelope().isRedeliver()) {
+                    redelivered++;
+                }
+
+                lastTag = delivery.getEnvelope().getDeliveryTag();
+                // Acks are batched on receipt; decode failures are counted rather than nacked
+                if (++unacked >= options.ackEvery() || delivered == options.expectedCount()) {
+                    ack();
+                }
+
+                deliveredSnapshot = delivered;
+                redeliveredSnapshot = redelivered;
+            }
+
+            final var body = delivery.getBody();
+            final var contentType = contentType(delivery);
+            if (decoders != null) {
+                decoders.execute(() -> decode(body, contentType));
+            } else {
+                decode(body, contentType);
+            }
+        }
+
+        private void decode(final byte[] body, final String contentType) {
+            try {
+                PayloadCodec.forContentType(contentType).decodeMessage(body);
+                decoded.increment();
+            } catch (final Exception e) {
+                decodeErrors.increment();
+                LOGGER.debug("Failed to decode AMQP message: {}", e.getMessage());
+            }
+
+            lastProcessedAt = System.nanoTime();
+            processed.increment();
+            if (options.expectedCount() > 0 && processed.sum() >= options.expectedCount() &&
+                    completed.compareAndSet(false, true)) {
+                final var stats = stats();
+                reactor.execute(() -> promise.trySet(stats));
+            }
+        }
+
+        private synchronized void flushIfIdle() {
+            if (unacked > 0 && System.nanoTime() - lastDeliveryAt >= ACK_IDLE_FLUSH.toNanos()) {
+                try {
+                    ack();
+                } catch (final Exception e) {
+                    LOGGER.debug("Error flushing AMQP acks", e);
+                }
+            }
+        }
+
+        private void ack() throws IOException {
+            if (unacked > 0) {
+                channel.basicAck(lastTag, true);
+                unacked = 0;
+                ackFramesSnapshot = ++ackFrames;
+            }
+        }
+
+        private DrainStats stats() {
+            final var start = firstDeliveryAt;
+            return new DrainStats(deliveredSnapshot, decoded.sum(), decodeErrors.sum(), redeliveredSnapshot,
+                    ackFramesSnapshot, start == 0 ? 0L : lastProcessedAt - start);
+        }
+
+        private void close() {
+            idleFlusher.shutdownNow();
+            // Ack the tail before the channel closes, otherwise the broker requeues it
+            synchronized (this) {
+                try {
+                    ack();
+                } catch (final Exception e) {
+                    LOGGER.debug("Error flushing AMQP acks on stop", e);
+                }
+            }
+
+            if (decoders != null) {
+                decoders.shutdown();
+            }
+        }
+    }
 }
@@ -25,7 +25,6 @@
 package com.github.akarazhev.cryptoscout.test;
 
 import com.github.akarazhev.jcryptolib.stream.Message;
-import com.github.akarazhev.jcryptolib.util.JsonUtils;
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.AlreadyClosedException;
 import com.rabbitmq.client.Channel;
@@ -33,17 +32,27 @@ import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.ConnectionFactory;
 import io.activej.async.service.ReactiveService;
 import io.activej.promise.Promise;
+import io.activej.promise.SettablePromise;
 import io.activej.reactor.AbstractReactive;
 import io.activej.reactor.nio.NioReactor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
-import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.CONTENT_TYPE_JSON;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.CONFIRM_TIMEOUT;
 import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.DELIVERY_MODE_PERSISTENT;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.MAX_IN_FLIGHT;
 import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.PUBLISHER_CLIENT_NAME;
 
 public final class AmqpTestPublisher extends AbstractReactive implements ReactiveService {
@@ -52,20 +61,93 @@ public final class AmqpTestPublisher extends AbstractReactive implements Reactiv
     private final Executor executor;
     private final ConnectionFactory connectionFactory;
     private final String queue;
+    private final Options options;
+    private final PayloadCodec codec;
     private final AtomicReference<Connection> connectionRef = new AtomicReference<>();
     private final AtomicReference<Channel> channelRef = new AtomicReference<>();
+    // Async confirm state: outstanding publishes by sequence number, bounded by the in-flight window
+    private final ConcurrentSkipListMap<Long, Pending> outstanding = new ConcurrentSkipListMap<>();
+    private final Semaphore window;
+    private final LatencyHistogram confirmLatency = LatencyHistogram.create();
+    private final LongAdder acks = new LongAdder();
+    private final LongAdder nacks = new LongAdder();
+    private final LongAdder overflowEvents = new LongAdder();
+    private boolean lastConfirmNacked;
+
+    /**
+     * Async confirm settings.
+     *
+     * @param maxInFlight max number of unconfirmed publishes; publishing blocks once reached
+     * @param confirmTimeout max time to wait for outstanding confirms at the end of {@link #publishAll}
+     */
+    public record Options(int maxInFlight, Duration confirmTimeout) {
+
+        public Options {
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException("maxInFlight must be positive");
+            }
+        }
+
+        public static Options defaults() {
+            return new Options(MAX_IN_FLIGHT, CONFIRM_TIMEOUT);
+        }
+    }
+
+    /**
+     * Outcome of a {@link #publishAll} call. With {@code x-overflow: reject-publish} a full queue nacks
+     * publishes, so {@code overflowEvents} counts the runs of consecutive nacks seen while it was full.
+     *
+     * @param messages number of messages published
+     * @param acked number of messages acked by the broker
+     * @param nacked number of messages nacked by the broker
+     * @param overflowEvents number of ack-to-nack transitions
+     * @param bytes total body bytes published
+     * @param elapsedNanos time from the first publish to the last confirmation
+     * @param confirmLatency publish-to-confirm latency summary, excluding the wait for a free in-flight slot
+     */
+    public record PublishStats(long messages, long acked, long nacked, long overflowEvents, long bytes,
+                               long elapsedNanos, LatencyHistogram.Summary confirmLatency) {
+
+        public double messagesPerSecond() {
+            return elapsedNanos == 0 ? 0d : messages * 1_000_000_000d / elapsedNanos;
+        }
+    }
 
     public static AmqpTestPublisher create(final NioReactor reactor, final Executor executor,
                                            final ConnectionFactory connectionFactory, final String queue) {
-        return new AmqpTestPublisher(reactor, executor, connectionFactory, queue);
+        return new AmqpTestPublisher(reactor, executor, connectionFactory, queue, null, PayloadCodec.defaults());
+    }
+
+    /**
+     * Creates a publisher in async-confirm mode: publishes are pipelined up to
+     * {@link Options#maxInFlight()} and each publish promise completes on the broker's ack or nack.
+     */
+    public static AmqpTestPublisher create(final NioReactor reactor, final Executor executor,
+                                           final ConnectionFactory connectionFactory, final String queue,
+                                           final Options options) {
+        return new AmqpTestPublisher(reactor, executor, connectionFactory, queue, options, PayloadCodec.defaults());
+    }
+
+    /**
+     * Creates a publisher that encodes messages with the given codec and sets its content type on them. Pass
+     * {@code null} options for the synchronous-confirm mode.
+     */
+    public static AmqpTestPublisher create(final NioReactor reactor, final Executor executor,
+                                           final ConnectionFactory connectionFactory, final String queue,
+                                           final Options options, final PayloadCodec codec) {
+        return new AmqpTestPublisher(reactor, executor, connectionFactory, queue, options, codec);
     }
 
     private AmqpTestPublisher(final NioReactor reactor, final Executor executor,
-                              final ConnectionFactory connectionFactory, final String queue) {
+                              final ConnectionFactory connectionFactory, final String queue, final Options options,
+                              final PayloadCodec codec) {
         super(reactor);
         this.executor = executor;
         this.connectionFactory = connectionFactory;
         this.queue = queue;
+        this.options = options;
+        this.codec = codec;
+        this.window = options != null ? new Semaphore(options.maxInFlight()) : null;
     }
 
     @Override
@@ -77,6 +159,12 @@ public final class AmqpTestPublisher extends AbstractReactive implements Reactiv
                 channel.confirmSelect();
                 // Ensure the queue exists (will throw if it doesn't)
                 channel.queueDeclarePassive(queue);
+                if (options != null) {
+                    channel.addConfirmListener((tag, multiple) -> confirm(tag, multiple, true),
+                            (tag, multiple) -> confirm(tag, multiple, false));
+                    channel.addShutdownListener(this::failOutstanding);
+                }
+
                 if (!connectionRef.compareAndSet(null, connection)) {
                     closeQuietly(channel, connection);
                     throw new IllegalStateException("Publisher already started");
@@ -116,6 +204,10 @@ public final class AmqpTestPublisher extends AbstractReactive implements Reactiv
     }
 
     public Promise<Void> publish(final String exchange, final String routingKey, final Message<?> message) {
+        if (options != null) {
+            return publishAsync(exchange, routingKey, message);
+        }
+
         return Promise.ofBlocking(executor, () -> {
             final var channel = channelRef.get();
             if (channel == null) {
@@ -124,10 +216,10 @@ public final class AmqpTestPublisher extends AbstractReactive implements Reactiv
 
             try {
                 final var props = new AMQP.BasicProperties.Builder()
-                        .contentType(CONTENT_TYPE_JSON)
+                        .contentType(codec.contentType())
                         .deliveryMode(DELIVERY_MODE_PERSISTENT)
                         .build();
-                channel.basicPublish(exchange, routingKey, props, JsonUtils.object2Bytes(message));
+                channel.basicPublish(exchange, routingKey, props, codec.encodeMessage(message));
                 channel.waitForConfirmsOrDie(CONFIRM_TIMEOUT_MS);
             } catch (final AlreadyClosedException e) {
                 LOGGER.error("AMQP channel closed during publish", e);
@@ -141,4 +233,183 @@ public final class AmqpTestPublisher extends AbstractReactive implements Reactiv
             }
         });
     }
+
+    /**
+     * Publishes without waiting for the round trip. The returned promise completes when the broker acks the
+     * message and fails when it nacks it, e.g. because the target queue rejected the publish on overflow.
+     */
+    public Promise<Void> publishAsync(final String exchange, final String routingKey, final Message<?> message) {
+        requireAsync();
+        return Promise.ofBlocking(executor, () -> {
+            final var result = new SettablePromise<Void>();
+            send(exchange, routingKey, codec.encodeMessage(message), (acked, _) -> reactor.execute(() -> {
+                if (acked) {
+                    result.trySet(null);
+                } else {
+                    result.trySetException(new IllegalStateException("Publish nacked by broker for queue: " + queue));
+                }
+            }));
+            return result;
+        }).then(result -> result);
+    }
+
+    /**
+     * Publishes every message with at most {@link Options#maxInFlight()} unconfirmed at a time. Nacks do not
+     * fail the promise; they are reported in the stats so overflow behaviour can be asserted.
+     *
+     * @return a promise completed once every message has been acked or nacked
+     */
+    public Promise<PublishStats> publishAll(final String exchange, final String routingKey,
+                                            final Iterator<? extends Message<?>> messages) {
+        requireAsync();
+        return Promise.ofBlocking(executor, () -> {
+            final var latency = LatencyHistogram.create();
+            final var acked = new AtomicLong();
+            final var nacked = new AtomicLong();
+            final var done = new AtomicLong();
+            final var total = new AtomicLong(-1L);
+            final var drained = new CompletableFuture<Long>();
+            final var overflowBefore = overflowEvents.sum();
+            var sent = 0L;
+            var bytes = 0L;
+            final var start = System.nanoTime();
+            try {
+                while (messages.hasNext()) {
+                    final var body = codec.encodeMessage(messages.next());
+                    send(exchange, routingKey, body, (ok, latencyNanos) -> {
+                        latency.record(latencyNanos);
+                        (ok ? acked : nacked).incrementAndGet();
+                        if (done.incrementAndGet() == total.get()) {
+                            drained.complete(System.nanoTime());
+                        }
+                    });
+                    sent++;
+                    bytes += body.length;
+                }
+            } finally {
+                total.set(sent);
+                if (done.get() == sent) {
+                    drained.complete(System.nanoTime());
+                }
+            }
+
+            final long end;
+            try {
+                end = drained.get(options.confirmTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) {
+                throw new IllegalStateException("Publish confirmation timeout", e);
+            }
+
+            final var stats = new PublishStats(sent, acked.get(), nacked.get(), overflowEvents.sum() - overflowBefore,
+                    bytes, end - start, latency.getSummary());
+            if (stats.nacked() > 0) {
+                LOGGER.warn("{} of {} publishes to queue {} were nacked ({} overflow events)", stats.nacked(), sent,
+                        queue, stats.overflowEvents());
+            }
+
+            return stats;
+        });
+    }
+
+    /**
+     * Returns the publisher-wide confirm counters accumulated in async-confirm mode.
+     *
+     * @return stats over every publish since start, with {@code elapsedNanos} and {@code bytes} unset
+     */
+    public PublishStats getConfirmStats() {
+        final var acked = acks.sum();
+        final var nacked = nacks.sum();
+        return new PublishStats(acked + nacked, acked, nacked, overflowEvents.sum(), 0L, 0L,
+                confirmLatency.getSummary());
+    }
+
+    private void requireAsync() {
+        if (options == null) {
+            throw new IllegalStateException("Async confirms are disabled. Create the publisher with Options.");
+        }
+    }
+
+    private void send(final String exchange, final String routingKey, final byte[] body,
+                      final Confirmation callback) throws Exception {
+        final var channel = channelRef.get();
+        if (channel == null) {
+            throw new IllegalStateException("Publisher not started. Call start() before publish().");
+        }
+
+        window.acquire();
+        try {
+            final var props = new AMQP.BasicProperties.Builder()
+                    .contentType(codec.contentType())
+                    .deliveryMode(DELIVERY_MODE_PERSISTENT)
+                    .build();
+            // Sequence number assignment and the publish itself must not interleave across threads
+            synchronized (channel) {
+                final var seqNo = channel.getNextPublishSeqNo();
+                outstanding.put(seqNo, new Pending(System.nanoTime(), callback));
+                try {
+                    channel.basicPublish(exchange, routingKey, props, body);
+                } catch (final Exception e) {
+                    outstanding.remove(seqNo);
+                    throw e;
+                }
+            }
+        } catch (final Exception e) {
+            window.release();
+            LOGGER.error("Failed to publish payload to AMQP queue {}: {}", queue, e.getMessage(), e);
+            throw new IllegalStateException("Failed to publish payload to AMQP queue: " + queue, e);
+        }
+    }
+
+    private void confirm(final long tag, final boolean multiple, final boolean acked) {
+        if (acked) {
+            lastConfirmNacked = false;
+        } else if (!lastConfirmNacked) {
+            lastConfirmNacked = true;
+            overflowEvents.increment();
+        }
+
+        if (multiple) {
+            final var confirmed = outstanding.headMap(tag, true);
+            confirmed.forEach((_, pending) -> complete(pending, acked));
+            confirmed.clear();
+        } else {
+            final var pending = outstanding.remove(tag);
+            if (pending != null) {
+                complete(pending, acked);
+            }
+        }
+    }
+
+    private void complete(final Pending pending, final boolean acked) {
+        window.release();
+        final var latencyNanos = System.nanoTime() - pending.sentAt();
+        confirmLatency.record(latencyNanos);
+        (acked ? acks : nacks).increment();
+        pending.callback().onConfirm(acked, latencyNanos);
+    }
+
+    private void failOutstanding(final Exception cause) {
+        if (!outstanding.isEmpty()) {
+            LOGGER.warn("AMQP channel closed with {} unconfirmed publishes: {}", outstanding.size(),
+                    cause.getMessage());
+        }
+
+        while (!outstanding.isEmpty()) {
+            final var entry = outstanding.pollFirstEntry();
+            if (entry != null) {
+                complete(entry.getValue(), false);
+            }
+        }
+    }
+
+    /**
+     * Confirm callback; the latency is measured from the publish, after the in-flight window was acquired.
+     */
+    @FunctionalInterface
+    private interface Confirmation {
+        void onConfirm(boolean acked, long latencyNanos);
+    }
+
+    private record Pending(long sentAt, Confirmation callback) {
+    }
 }
@@ -24,20 +24,30 @@
 
 package com.github.akarazhev.cryptoscout.test;
 
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
 
-import static com.github.akarazhev.cryptoscout.test.Constants.DB.DB_PASSWORD;
-import static com.github.akarazhev.cryptoscout.test.Constants.DB.DB_USER;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.AWAIT_BACKOFF_INITIAL;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.AWAIT_BACKOFF_MAX;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.AWAIT_TIMEOUT;
 import static com.github.akarazhev.cryptoscout.test.Constants.DB.FIRST_ROW;
-import static com.github.akarazhev.cryptoscout.test.Constants.DB.JDBC_URL;
 import static com.github.akarazhev.cryptoscout.test.Constants.DB.SELECT_COUNT;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.SELECT_COUNT_WHERE;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.SELECT_TABLE_COUNT;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.UNION_ALL;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.ERR_MATCHING_ROW_COUNT;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.ERR_TABLE_ROW_COUNT;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.ERR_TABLE_ROW_COUNTS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
- * Test assertion helpers for database state verification.
+ * Test assertion helpers for database state verification. Queries run on the shared connection pool of
+ * {@link DBUtils#getDataSource()}; the {@code await*} variants poll with exponential backoff until the
+ * expected state is reached or the timeout expires, and return how long convergence took.
  */
 public final class Assertions {
     private Assertions() {
@@ -52,11 +62,163 @@ public final class Assertions {
      * @throws SQLException if the query fails
      */
     public static void assertTableCount(final String table, final long expected) throws SQLException {
-        try (final var c = DriverManager.getConnection(JDBC_URL, DB_USER, DB_PASSWORD);
+        assertEquals(expected, count(String.format(SELECT_COUNT, table)), ERR_TABLE_ROW_COUNT + table);
+    }
+
+    /**
+     * Waits up to {@code test.db.await.timeout.sec} until a table contains exactly the specified number of rows.
+     *
+     * @param table the table to check
+     * @param expected the expected row count
+     * @return the time it took for the count to converge
+     * @throws SQLException if the query fails
+     */
+    public static Duration awaitTableCount(final String table, final long expected) throws SQLException {
+        return awaitTableCount(table, expected, AWAIT_TIMEOUT);
+    }
+
+    /**
+     * Waits until a table contains exactly the specified number of rows.
+     *
+     * @param table the table to check
+     * @param expected the expected row count
+     * @param timeout the maximum time to wait
+     * @return the time it took for the count to converge
+     * @throws SQLException if the query fails
+     */
+    public static Duration awaitTableCount(final String table, final long expected, final Duration timeout)
+            throws SQLException {
+        return awaitCount(String.format(SELECT_COUNT, table), expected, timeout, ERR_TABLE_ROW_COUNT + table);
+    }
+
+    /**
+     * Waits up to {@code test.db.await.timeout.sec} until every table contains exactly its expected number of rows.
+     *
+     * @param expected the expected row count per table
+     * @return the time it took for all counts to converge
+     * @throws SQLException if the query fails
+     * @see #awaitTableCounts(Map, Duration)
+     */
+    public static Duration awaitTableCounts(final Map<String, Long> expected) throws SQLException {
+        return awaitTableCounts(expected, AWAIT_TIMEOUT);
+    }
+
+    /**
+     * Waits until every table contains exactly its expected number of rows. All tables are counted in a single
+     * {@code UNION ALL} query per poll.
+     *
+     * @param expected the expected row count per table
+     * @param timeout the maximum time to wait
+     * @return the time it took for all counts to converge
+     * @throws SQLException if the query fails
+     */
+    public static Duration awaitTableCounts(final Map<String, Long> expected, final Duration timeout)
+            throws SQLException {
+        final var start = System.nanoTime();
+        if (expected.isEmpty()) {
+            return Duration.ZERO;
+        }
+
+        final var sql = expected.keySet().stream()
+                .map(table -> String.format(SELECT_TABLE_COUNT, table))
+                .collect(Collectors.joining(UNION_ALL));
+        final var deadline = start + timeout.toNanos();
+        var backoff = AWAIT_BACKOFF_INITIAL;
+        while (true) {
+            final var actual = counts(sql);
+            if (expected.equals(actual)) {
+                return Duration.ofNanos(System.nanoTime() - start);
+            }
+
+            if (System.nanoTime() >= deadline) {
+                assertEquals(expected, actual, ERR_TABLE_ROW_COUNTS + timeout.toMillis() + " ms");
+            }
+
+            backoff = sleep(backoff, deadline);
+        }
+    }
+
+    /**
+     * Waits up to {@code test.db.await.timeout.sec} until exactly the specified number of rows match a condition.
+     *
+     * @param table the table to check
+     * @param condition the SQL condition used as the {@code WHERE} clause
+     * @param expected the expected number of matching rows
+     * @return the time it took for the count to converge
+     * @throws SQLException if the query fails
+     */
+    public static Duration awaitRows(final String table, final String condition, final long expected)
+            throws SQLException {
+        return awaitRows(table, condition, expected, AWAIT_TIMEOUT);
+    }
+
+    /**
+     * Waits until exactly the specified number of rows match a condition.
+     *
+     * @param table the table to check
+     * @param condition the SQL condition used as the {@code WHERE} clause
+     * @param expected the expected number of matching rows
+     * @param timeout the maximum time to wait
+     * @return the time it took for the count to converge
+     * @throws SQLException if the query fails
+     */
+    public static Duration awaitRows(final String table, final String condition, final long expected,
+                                     final Duration timeout) throws SQLException {
+        return awaitCount(String.format(SELECT_COUNT_WHERE, table, condition), expected, timeout,
+                ERR_MATCHING_ROW_COUNT + table);
+    }
+
+    private static Duration awaitCount(final String sql, final long expected, final Duration timeout,
+                                       final String message) throws SQLException {
+        final var start = System.nanoTime();
+        final var deadline = start + timeout.toNanos();
+        var backoff = AWAIT_BACKOFF_INITIAL;
+        while (true) {
+            final var actual = count(sql);
+            if (actual == expected) {
+                return Duration.ofNanos(System.nanoTime() - start);
+            }
+
+            if (System.nanoTime() >= deadline) {
+                assertEquals(expected, actual, message);
+            }
+
+            backoff = sleep(backoff, deadline);
+        }
+    }
+
+    private static long count(final String sql) throws SQLException {
+        try (final var c = DBUtils.getDataSource().getConnection();
              final var stmt = c.createStatement();
-             final var rs = stmt.executeQuery(String.format(SELECT_COUNT, table))) {
+             final var rs = stmt.executeQuery(sql)) {
             assertTrue(rs.next());
-            assertEquals(expected, rs.getLong(FIRST_ROW), ERR_TABLE_ROW_COUNT + table);
+            return rs.getLong(FIRST_ROW);
         }
     }
+
+    private static Map<String, Long> counts(final String sql) throws SQLException {
+        final var counts = new LinkedHashMap<String, Long>();
+        try (final var c = DBUtils.getDataSource().getConnection();
+             final var stmt = c.createStatement();
+             final var rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                counts.put(rs.getString(FIRST_ROW), rs.getLong(FIRST_ROW + 1));
+            }
+        }
+
+        return counts;
+    }
+
+    private static Duration sleep(final Duration backoff, final long deadline) {
+        final var remaining = deadline - System.nanoTime();
+        try {
+            Thread.sleep(Duration.ofNanos(Math.max(0L, Math.min(backoff.toNanos(), remaining))));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for rows", e);
+        }
+
+        final var next = backoff.multipliedBy(2);
+        return next.compareTo(AWAIT_BACKOFF_MAX) > 0 ? AWAIT_BACKOFF_MAX : next;
+    }
 }
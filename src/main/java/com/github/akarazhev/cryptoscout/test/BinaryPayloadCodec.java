@@ -0,0 +1,610 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import com.github.akarazhev.jcryptolib.stream.Message;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.CONTENT_TYPE_BINARY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.ERR_NOT_BINARY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.ERR_TRUNCATED;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.ERR_UNEXPECTED_KIND;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.ERR_UNEXPECTED_VALUE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.ERR_UNKNOWN_CONSTANT;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.ERR_UNKNOWN_KEY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.ERR_UNKNOWN_TAG;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.ERR_UNSUPPORTED_VALUE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.ERR_UNSUPPORTED_VERSION;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.KEYS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.KIND_MESSAGE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.KIND_PAYLOAD;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.MAGIC;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.MAX_DECIMAL_DIGITS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.MAX_DECIMAL_SCALE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.VERSION;
+
+/**
+ * Compact binary encoding of the JSON value tree of a {@link Payload} or {@link Message}. Values keep their Java
+ * types, so a decoded body equals the JSON-decoded one. Strings holding canonical decimals, which is how Bybit sends
+ * prices and sizes, travel as a varint fixed-point number; order book levels as price deltas; field names listed
+ * in {@code Constants.Codec.KEYS} as their index and other field names once per body.
+ */
+final class BinaryPayloadCodec implements PayloadCodec {
+    static final BinaryPayloadCodec INSTANCE = new BinaryPayloadCodec();
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte FLOAT = 6;
+    private static final byte BIG_INTEGER = 7;
+    private static final byte BIG_DECIMAL = 8;
+    private static final byte STRING = 9;
+    private static final byte MAP = 10;
+    private static final byte LIST = 11;
+    // List of [price, size] decimal string pairs
+    private static final byte LEVELS = 12;
+    // Decimal string, the tag carries the scale: DECIMAL + scale
+    private static final byte DECIMAL = 16;
+    private static final Map<String, Integer> KEY_INDEX = new HashMap<>(KEYS.length * 2);
+
+    static {
+        for (var i = 0; i < KEYS.length; i++) {
+            KEY_INDEX.put(KEYS[i], i);
+        }
+    }
+
+    private BinaryPayloadCodec() {
+    }
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE_BINARY;
+    }
+
+    @Override
+    public byte[] encodePayload(final Payload<Map<String, Object>> payload) throws IOException {
+        final var writer = new Writer(KIND_PAYLOAD);
+        writer.value(payload.getProvider() != null ? payload.getProvider().name() : null);
+        writer.value(payload.getSource() != null ? payload.getSource().name() : null);
+        writer.value(payload.getData());
+        return writer.toByteArray();
+    }
+
+    @Override
+    public Payload<Map<String, Object>> decodePayload(final byte[] body) throws IOException {
+        final var reader = new Reader(body, KIND_PAYLOAD);
+        final var provider = reader.constant(Provider.class);
+        final var source = reader.constant(Source.class);
+        return Payload.of(provider, source, reader.object());
+    }
+
+    @Override
+    public byte[] encodeMessage(final Message<?> message) throws IOException {
+        final var writer = new Writer(KIND_MESSAGE);
+        final var command = message.command();
+        if (command != null) {
+            writer.value(true);
+            writer.value(command.type() != null ? command.type().name() : null);
+            writer.value(command.source());
+            writer.value(command.method());
+        } else {
+            writer.value(null);
+        }
+
+        writer.value(message.value());
+        return writer.toByteArray();
+    }
+
+    @Override
+    public Message<?> decodeMessage(final byte[] body) throws IOException {
+        final var reader = new Reader(body, KIND_MESSAGE);
+        Message.Command command = null;
+        if (reader.value() != null) {
+            command = Message.Command.of(reader.constant(Message.Type.class), reader.string(), reader.string());
+        }
+
+        return Message.of(command, reader.value());
+    }
+
+    private static long zigzag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+        private byte[] buffer = new byte[256];
+        private int length;
+        private Map<String, Integer> keys;
+        // Output of decimal(String)
+        private long unscaled;
+
+        private Writer(final byte kind) {
+            write(MAGIC);
+            write(VERSION);
+            write(kind);
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+
+        private void value(final Object value) throws IOException {
+            switch (value) {
+                case null -> write(NULL);
+                case String s -> string(s);
+                case Map<?, ?> map -> map(map);
+                case List<?> list -> list(list);
+                case Boolean b -> write(b ? TRUE : FALSE);
+                case Integer i -> {
+                    write(INT);
+                    varlong(zigzag(i));
+                }
+                case Long l -> {
+                    write(LONG);
+                    varlong(zigzag(l));
+                }
+                case Double d -> {
+                    write(DOUBLE);
+                    fixed(Double.doubleToRawLongBits(d), Long.BYTES);
+                }
+                case Float f -> {
+                    write(FLOAT);
+                    fixed(Float.floatToRawIntBits(f), Integer.BYTES);
+                }
+                case BigInteger i -> {
+                    write(BIG_INTEGER);
+                    bytes(i.toByteArray());
+                }
+                case BigDecimal d -> {
+                    write(BIG_DECIMAL);
+                    varlong(zigzag(d.scale()));
+                    bytes(d.unscaledValue().toByteArray());
+                }
+                default -> throw new IOException(ERR_UNSUPPORTED_VALUE + value.getClass().getName());
+            }
+        }
+
+        private void string(final String value) {
+            final var scale = decimal(value);
+            if (scale >= 0) {
+                write((byte) (DECIMAL + scale));
+                varlong(zigzag(unscaled));
+            } else {
+                write(STRING);
+                bytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private void map(final Map<?, ?> map) throws IOException {
+            write(MAP);
+            varlong(map.size());
+            for (final var entry : map.entrySet()) {
+                if (!(entry.getKey() instanceof String key)) {
+                    throw new IOException(ERR_UNSUPPORTED_VALUE + entry.getKey());
+                }
+
+                key(key);
+                value(entry.getValue());
+            }
+        }
+
+        private void key(final String key) {
+            var index = KEY_INDEX.get(key);
+            if (index == null && keys != null) {
+                index = keys.get(key);
+            }
+
+            if (index != null) {
+                varlong(index + 1);
+                return;
+            }
+
+            // First occurrence in this body: sent inline, referenced by index afterwards
+            if (keys == null) {
+                keys = new HashMap<>();
+            }
+
+            keys.put(key, KEYS.length + keys.size());
+            varlong(0);
+            bytes(key.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void list(final List<?> list) throws IOException {
+            if (isLevels(list)) {
+                levels(list);
+                return;
+            }
+
+            write(LIST);
+            varlong(list.size());
+            for (final var item : list) {
+                value(item);
+            }
+        }
+
+        private boolean isLevels(final List<?> list) {
+            if (list.isEmpty()) {
+                return false;
+            }
+
+            for (final var item : list) {
+                if (!(item instanceof List<?> level) || level.size() != 2 ||
+                        !(level.get(0) instanceof String price) || decimal(price) < 0 ||
+                        !(level.get(1) instanceof String size) || decimal(size) < 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private void levels(final List<?> list) {
+            write(LEVELS);
+            varlong(list.size());
+            var previous = 0L;
+            for (final var item : list) {
+                final var level = (List<?>) item;
+                final var priceScale = decimal((String) level.get(0));
+                final var price = unscaled;
+                final var sizeScale = decimal((String) level.get(1));
+                write((byte) (priceScale << 4 | sizeScale));
+                varlong(zigzag(price - previous));
+                varlong(zigzag(unscaled));
+                previous = price;
+            }
+        }
+
+        /**
+         * Parses a canonical decimal, one that {@link Decimals#format(long, int)} prints back as is: an optional
+         * minus, no leading zeros, an optional dot followed by at least one digit.
+         *
+         * @return the scale with the unscaled value in {@link #unscaled}, or {@code -1} if the string is not one
+         */
+        private int decimal(final String value) {
+            final var n = value.length();
+            var i = 0;
+            final var negative = n > 0 && value.charAt(0) == '-';
+            if (negative) {
+                i++;
+            }
+
+            final var integerStart = i;
+            var result = 0L;
+            while (i < n && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+                result = result * 10 + (value.charAt(i++) - '0');
+                if (i - integerStart > MAX_DECIMAL_DIGITS) {
+                    return -1;
+                }
+            }
+
+            final var integerDigits = i - integerStart;
+            if (integerDigits == 0 || (integerDigits > 1 && value.charAt(integerStart) == '0')) {
+                return -1;
+            }
+
+            var scale = 0;
+            if (i < n) {
+                if (value.charAt(i++) != '.') {
+                    return -1;
+                }
+
+                while (i < n && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+                    result = result * 10 + (value.charAt(i++) - '0');
+                    if (++scale > MAX_DECIMAL_SCALE || integerDigits + scale > MAX_DECIMAL_DIGITS) {
+                        return -1;
+                    }
+                }
+
+                if (scale == 0 || i < n) {
+                    return -1;
+                }
+            }
+
+            if (negative && result == 0) {
+                return -1;
+            }
+
+            unscaled = negative ? -result : result;
+            return scale;
+        }
+
+        private void bytes(final byte[] bytes) {
+            varlong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+
+        private void varlong(final long value) {
+            ensure(10);
+            var v = value;
+            while ((v & ~0x7FL) != 0) {
+                buffer[length++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+
+            buffer[length++] = (byte) v;
+        }
+
+        private void fixed(final long value, final int size) {
+            ensure(size);
+            for (var shift = (size - 1) * 8; shift >= 0; shift -= 8) {
+                buffer[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void write(final byte value) {
+            ensure(1);
+            buffer[length++] = value;
+        }
+
+        private void ensure(final int size) {
+            if (length + size > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + size));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+        private List<String> keys;
+
+        private Reader(final byte[] buffer, final byte kind) throws IOException {
+            this.buffer = buffer;
+            if (buffer.length < 3 || buffer[0] != MAGIC) {
+                throw new IOException(ERR_NOT_BINARY + buffer.length + " bytes");
+            }
+
+            if (buffer[1] != VERSION) {
+                throw new IOException(ERR_UNSUPPORTED_VERSION + buffer[1]);
+            }
+
+            if (buffer[2] != kind) {
+                throw new IOException(ERR_UNEXPECTED_KIND + buffer[2]);
+            }
+
+            this.position = 3;
+        }
+
+        private Object value() throws IOException {
+            final var tag = read();
+            return switch (tag) {
+                case NULL -> null;
+                case FALSE -> Boolean.FALSE;
+                case TRUE -> Boolean.TRUE;
+                case INT -> (int) unzigzag(varlong());
+                case LONG -> unzigzag(varlong());
+                case DOUBLE -> Double.longBitsToDouble(fixed(Long.BYTES));
+                case FLOAT -> Float.intBitsToFloat((int) fixed(Integer.BYTES));
+                case BIG_INTEGER -> bigInteger();
+                case BIG_DECIMAL -> {
+                    final var scale = (int) unzigzag(varlong());
+                    yield new BigDecimal(bigInteger(), scale);
+                }
+                case STRING -> new String(bytes(), StandardCharsets.UTF_8);
+                case MAP -> map();
+                case LIST -> list();
+                case LEVELS -> levels();
+                default -> {
+                    if (tag >= DECIMAL && tag <= DECIMAL + MAX_DECIMAL_SCALE) {
+                        yield Decimals.format(unzigzag(varlong()), tag - DECIMAL);
+                    }
+
+                    throw new IOException(ERR_UNKNOWN_TAG + tag);
+                }
+            };
+        }
+
+        /**
+         * Reads a value that must be a string or null; the typed reads turn a corrupted body into an
+         * {@link IOException} instead of a {@link ClassCastException}.
+         */
+        private String string() throws IOException {
+            final var value = value();
+            if (value == null || value instanceof String) {
+                return (String) value;
+            }
+
+            throw new IOException(ERR_UNEXPECTED_VALUE + value.getClass().getName());
+        }
+
+        /**
+         * Reads a value that must be a map or null.
+         */
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> object() throws IOException {
+            final var value = value();
+            if (value == null || value instanceof Map<?, ?>) {
+                return (Map<String, Object>) value;
+            }
+
+            throw new IOException(ERR_UNEXPECTED_VALUE + value.getClass().getName());
+        }
+
+        /**
+         * Reads the name of an enum constant, or null.
+         */
+        private <E extends Enum<E>> E constant(final Class<E> type) throws IOException {
+            final var name = string();
+            if (name == null) {
+                return null;
+            }
+
+            try {
+                return Enum.valueOf(type, name);
+            } catch (final IllegalArgumentException e) {
+                throw new IOException(ERR_UNKNOWN_CONSTANT + type.getSimpleName() + "." + name, e);
+            }
+        }
+
+        private BigInteger bigInteger() throws IOException {
+            final var bytes = bytes();
+            if (bytes.length == 0) {
+                throw new IOException(ERR_TRUNCATED);
+            }
+
+            return new BigInteger(bytes);
+        }
+
+        private Map<String, Object> map() throws IOException {
+            final var size = count();
+            final var map = new LinkedHashMap<String, Object>(size * 2);
+            for (var i = 0; i < size; i++) {
+                final var key = key();
+                map.put(key, value());
+            }
+
+            return map;
+        }
+
+        private String key() throws IOException {
+            final var index = varlong();
+            if (index == 0) {
+                final var key = new String(bytes(), StandardCharsets.UTF_8);
+                if (keys == null) {
+                    keys = new ArrayList<>();
+                }
+
+                keys.add(key);
+                return key;
+            }
+
+            if (index > 0 && index <= KEYS.length) {
+                return KEYS[(int) index - 1];
+            }
+
+            final var dynamic = index - 1 - KEYS.length;
+            if (keys == null || dynamic < 0 || dynamic >= keys.size()) {
+                throw new IOException(ERR_UNKNOWN_KEY + index);
+            }
+
+            return keys.get((int) dynamic);
+        }
+
+        private List<Object> list() throws IOException {
+            final var size = count();
+            final var list = new ArrayList<>(size);
+            for (var i = 0; i < size; i++) {
+                list.add(value());
+            }
+
+            return list;
+        }
+
+        private List<Object> levels() throws IOException {
+            final var count = count();
+            final var list = new ArrayList<>(count);
+            var price = 0L;
+            for (var i = 0; i < count; i++) {
+                final var scales = read();
+                price += unzigzag(varlong());
+                final var size = unzigzag(varlong());
+                final var level = new ArrayList<>(2);
+                level.add(decimal(price, (scales >> 4) & 0x0F));
+                level.add(decimal(size, scales & 0x0F));
+                list.add(level);
+            }
+
+            return list;
+        }
+
+        private String decimal(final long unscaled, final int scale) throws IOException {
+            if (scale > MAX_DECIMAL_SCALE) {
+                throw new IOException(ERR_UNKNOWN_TAG + scale);
+            }
+
+            return Decimals.format(unscaled, scale);
+        }
+
+        private int count() throws IOException {
+            final var value = varlong();
+            if (value < 0 || value > buffer.length) {
+                throw new IOException(ERR_TRUNCATED);
+            }
+
+            return (int) value;
+        }
+
+        private byte[] bytes() throws IOException {
+            final var size = count();
+            if (position + size > buffer.length) {
+                throw new IOException(ERR_TRUNCATED);
+            }
+
+            final var bytes = Arrays.copyOfRange(buffer, position, position + size);
+            position += size;
+            return bytes;
+        }
+
+        private long varlong() throws IOException {
+            var result = 0L;
+            for (var shift = 0; shift < 64; shift += 7) {
+                final var b = read();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+
+            throw new IOException(ERR_TRUNCATED);
+        }
+
+        private long fixed(final int size) throws IOException {
+            var result = 0L;
+            for (var i = 0; i < size; i++) {
+                result = (result << 8) | (read() & 0xFF);
+            }
+
+            return result;
+        }
+
+        private byte read() throws IOException {
+            if (position >= buffer.length) {
+                throw new IOException(ERR_TRUNCATED);
+            }
+
+            return buffer[position++];
+        }
+    }
+}
@@ -0,0 +1,643 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.ASK;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.BATCH_BYTES;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.BID;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.COPY_BINARY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.COPY_SIGNATURE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.COPY_TRAILER;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.DEFAULT_CHUNK_MILLIS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.ERR_INVALID_OPTIONS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.ERR_UNSUPPORTED_TABLE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.KLINE_COLUMNS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.LINEAR_TRADE_COLUMNS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.LIQUIDATION_COLUMNS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.ORDER_BOOK_COLUMNS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.PARALLELISM;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.PG_EPOCH_MICROS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.SEED;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.SELECT_CHUNK_INTERVAL;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.SPOT_TRADE_COLUMNS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.SPOT_TICKER_COLUMNS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Bulk.SYMBOLS;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_ALL_LIQUIDATION;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_KLINE_15M;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_KLINE_1D;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_KLINE_1M;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_KLINE_240M;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_KLINE_5M;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_KLINE_60M;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_ORDER_BOOK_1;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_ORDER_BOOK_1000;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_ORDER_BOOK_200;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_ORDER_BOOK_50;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_PUBLIC_TRADE;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_SPOT_KLINE_15M;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_SPOT_KLINE_1D;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_SPOT_KLINE_1M;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_SPOT_KLINE_240M;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_SPOT_KLINE_5M;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_SPOT_KLINE_60M;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_SPOT_ORDER_BOOK_1;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_SPOT_ORDER_BOOK_1000;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_SPOT_ORDER_BOOK_200;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_SPOT_ORDER_BOOK_50;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_SPOT_PUBLIC_TRADE;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_SPOT_TICKERS;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.FIRST_ROW;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.BLOCK_TRADE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.DEFAULT_START_TS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.DEFAULT_STEP_MILLIS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_CLOSE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_END;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_HIGH;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_LOW;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_OPEN;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_START;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_TURNOVER;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_VOLUME;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.RPI_TRADE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_HIGH_PRICE_24H;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_LAST_PRICE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_LOW_PRICE_24H;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_PREV_PRICE_24H;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_PRICE_24H_PCNT;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_SYMBOL;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_TURNOVER_24H;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_VOLUME_24H;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TOPIC_SEPARATOR;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TRADE_PRICE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TRADE_SIDE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TRADE_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TRADE_TICK_DIRECTION;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TRADE_TIME;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.ASKS;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.BIDS;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.CTS;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.DATA;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.SYMBOL;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.TOPIC;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.TS;
+
+/**
+ * Seeds hypertables with synthetic rows through PostgreSQL binary {@code COPY ... FROM STDIN}. Each target table
+ * is fed by its own {@link MockDataGenerator} over its own connection, up to {@link Options#parallelism()} tables
+ * at a time. Rows are buffered per chunk interval of the hypertable and written grouped by symbol in time order,
+ * the order of the {@code (symbol, time DESC)} indexes and compression segments, with one {@code COPY} and
+ * transaction per chunk. Ids are left to the {@code BIGSERIAL} defaults.
+ */
+public final class BulkLoader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkLoader.class);
+    private static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final byte[] HEADER = Arrays.copyOf(COPY_SIGNATURE, COPY_SIGNATURE.length + 8);
+    private static final byte[] TRAILER = {(byte) (COPY_TRAILER >> 8), (byte) COPY_TRAILER};
+
+    private BulkLoader() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * A table to seed and the generator feeding it.
+     *
+     * @param source BYBIT_SPOT or BYBIT_LINEAR
+     * @param type a KLINE_*, PUBLIC_TRADE or ORDER_BOOK_* type, TICKERS for spot or ALL_LIQUIDATION for linear
+     * @param rows number of rows to write; order books yield one row per level
+     */
+    public record Target(MockData.Source source, MockData.Type type, long rows) {
+
+        public Target {
+            if (rows < 1) {
+                throw new IllegalArgumentException(ERR_INVALID_OPTIONS);
+            }
+
+            BulkLoader.table(source, type);
+        }
+
+        public String table() {
+            return BulkLoader.table(source, type);
+        }
+    }
+
+    /**
+     * Generator and loader settings shared by all targets.
+     *
+     * @param symbols number of symbols each generator cycles through
+     * @param seed the generator seed
+     * @param startTs the timestamp of the first row in millis
+     * @param stepMillis the time between two rounds over all symbols; klines advance by their interval
+     * @param parallelism maximum number of tables loaded at the same time, one connection each
+     * @param batchBytes size of the encoded rows at which a {@code COPY} is flushed within a chunk
+     */
+    public record Options(int symbols, long seed, long startTs, long stepMillis, int parallelism, int batchBytes) {
+
+        public Options {
+            if (symbols < 1 || stepMillis < 1 || parallelism < 1 || batchBytes < 1) {
+                throw new IllegalArgumentException(ERR_INVALID_OPTIONS);
+            }
+        }
+
+        /**
+         * Returns the {@code test.bulk.*} settings starting at the generator's default timestamp.
+         */
+        public static Options defaults() {
+            return new Options(SYMBOLS, SEED, DEFAULT_START_TS, DEFAULT_STEP_MILLIS, PARALLELISM, BATCH_BYTES);
+        }
+    }
+
+    /**
+     * Outcome of seeding one table.
+     *
+     * @param table the table name
+     * @param rows number of rows written
+     * @param bytes size of the binary {@code COPY} data sent
+     * @param copies number of {@code COPY} statements, at least one per chunk
+     * @param elapsed time from the first generated message to the last commit
+     */
+    public record TableResult(String table, long rows, long bytes, int copies, Duration elapsed) {
+
+        public double rowsPerSecond() {
+            return perSecond(rows, elapsed);
+        }
+
+        public double bytesPerSecond() {
+            return perSecond(bytes, elapsed);
+        }
+    }
+
+    /**
+     * Outcome of a load.
+     *
+     * @param tables per-table results in target order
+     * @param elapsed wall-clock time of the whole load
+     */
+    public record Result(List<TableResult> tables, Duration elapsed) {
+
+        public long rows() {
+            return tables.stream().mapToLong(TableResult::rows).sum();
+        }
+
+        public long bytes() {
+            return tables.stream().mapToLong(TableResult::bytes).sum();
+        }
+
+        public double rowsPerSecond() {
+            return perSecond(rows(), elapsed);
+        }
+
+        public double bytesPerSecond() {
+            return perSecond(bytes(), elapsed);
+        }
+    }
+
+    /**
+     * Creates a target.
+     *
+     * @param source BYBIT_SPOT or BYBIT_LINEAR
+     * @param type the generated message type
+     * @param rows number of rows to write
+     * @return the target
+     */
+    public static Target target(final MockData.Source source, final MockData.Type type, final long rows) {
+        return new Target(source, type, rows);
+    }
+
+    /**
+     * Seeds the targets with the default options over the shared pool.
+     *
+     * @param targets the tables to seed
+     * @return per-table and total throughput
+     * @throws SQLException if a table cannot be loaded
+     * @see #load(DataSource, Options, List)
+     */
+    public static Result load(final Target... targets) throws SQLException {
+        return load(ConnectionPool.shared(), Options.defaults(), List.of(targets));
+    }
+
+    /**
+     * Seeds the targets. Rows are appended to whatever the tables already hold; use
+     * {@link DBUtils#resetTables(String...)} first for a clean load.
+     *
+     * @param dataSource the data source to use for connections
+     * @param options the generator and loader settings
+     * @param targets the tables to seed
+     * @return per-table and total throughput
+     * @throws SQLException if a table cannot be loaded
+     */
+    public static Result load(final DataSource dataSource, final Options options, final List<Target> targets)
+            throws SQLException {
+        final var start = System.nanoTime();
+        final var results = new TableResult[targets.size()];
+        final var pending = new ConcurrentLinkedQueue<Integer>();
+        for (var i = 0; i < targets.size(); i++) {
+            pending.add(i);
+        }
+
+        final var workers = Math.min(options.parallelism(), targets.size());
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final var futures = new ArrayList<Future<Void>>(workers);
+            for (var w = 0; w < workers; w++) {
+                futures.add(executor.submit(() -> {
+                    Integer i;
+                    while ((i = pending.poll()) != null) {
+                        results[i] = load(dataSource, options, targets.get(i));
+                    }
+
+                    return null;
+                }));
+            }
+
+            for (final var future : futures) {
+                future.get();
+            }
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof SQLException sql) {
+                throw sql;
+            }
+
+            throw new SQLException(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while loading tables", e);
+        }
+
+        final var result = new Result(List.of(results), Duration.ofNanos(System.nanoTime() - start));
+        LOGGER.info("Loaded {} rows ({} bytes) into {} tables in {} ms: {} rows/s, {} MB/s", result.rows(),
+                result.bytes(), results.length, result.elapsed().toMillis(), Math.round(result.rowsPerSecond()),
+                Math.round(result.bytesPerSecond() / (1024d * 1024d)));
+        return result;
+    }
+
+    static String table(final MockData.Source source, final MockData.Type type) {
+        final var linear = source == MockData.Source.BYBIT_LINEAR;
+        if (source == MockData.Source.CRYPTO_SCOUT || (type == MockData.Type.ALL_LIQUIDATION && !linear) ||
+                (type == MockData.Type.TICKERS && linear)) {
+            throw new IllegalStateException(ERR_UNSUPPORTED_TABLE + source + TOPIC_SEPARATOR + type);
+        }
+
+        return switch (type) {
+            case KLINE_1 -> linear ? BYBIT_LINEAR_KLINE_1M : BYBIT_SPOT_KLINE_1M;
+            case KLINE_5 -> linear ? BYBIT_LINEAR_KLINE_5M : BYBIT_SPOT_KLINE_5M;
+            case KLINE_15 -> linear ? BYBIT_LINEAR_KLINE_15M : BYBIT_SPOT_KLINE_15M;
+            case KLINE_60 -> linear ? BYBIT_LINEAR_KLINE_60M : BYBIT_SPOT_KLINE_60M;
+            case KLINE_240 -> linear ? BYBIT_LINEAR_KLINE_240M : BYBIT_SPOT_KLINE_240M;
+            case KLINE_D -> linear ? BYBIT_LINEAR_KLINE_1D : BYBIT_SPOT_KLINE_1D;
+            case TICKERS -> BYBIT_SPOT_TICKERS;
+            case PUBLIC_TRADE -> linear ? BYBIT_LINEAR_PUBLIC_TRADE : BYBIT_SPOT_PUBLIC_TRADE;
+            case ORDER_BOOK_1 -> linear ? BYBIT_LINEAR_ORDER_BOOK_1 : BYBIT_SPOT_ORDER_BOOK_1;
+            case ORDER_BOOK_50 -> linear ? BYBIT_LINEAR_ORDER_BOOK_50 : BYBIT_SPOT_ORDER_BOOK_50;
+            case ORDER_BOOK_200 -> linear ? BYBIT_LINEAR_ORDER_BOOK_200 : BYBIT_SPOT_ORDER_BOOK_200;
+            case ORDER_BOOK_1000 -> linear ? BYBIT_LINEAR_ORDER_BOOK_1000 : BYBIT_SPOT_ORDER_BOOK_1000;
+            case ALL_LIQUIDATION -> BYBIT_LINEAR_ALL_LIQUIDATION;
+            default -> throw new IllegalStateException(ERR_UNSUPPORTED_TABLE + source + TOPIC_SEPARATOR + type);
+        };
+    }
+
+    private static TableResult load(final DataSource dataSource, final Options options, final Target target)
+            throws SQLException {
+        final var start = System.nanoTime();
+        final var table = target.table();
+        final var linear = target.source() == MockData.Source.BYBIT_LINEAR;
+        final var sql = String.format(COPY_BINARY, table, columns(target.type(), linear));
+        final var generator = MockDataGenerator.create(target.source(), target.type(),
+                MockDataGenerator.symbols(options.symbols()), options.seed(), options.startTs(), options.stepMillis());
+        final var batch = new Batch();
+        var rows = 0L;
+        var bytes = 0L;
+        var copies = 0;
+        try (final var conn = dataSource.getConnection()) {
+            final var chunkMillis = chunkMillis(conn, table);
+            final var copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+            var chunk = Long.MIN_VALUE;
+            while (rows < target.rows()) {
+                final var message = generator.next();
+                final var messageChunk = Math.floorDiv(time(target.type(), message), chunkMillis);
+                if ((messageChunk != chunk || batch.bytes() >= options.batchBytes()) && batch.rows > 0) {
+                    bytes += copy(copyManager, sql, batch);
+                    copies++;
+                }
+
+                chunk = messageChunk;
+                rows += append(batch, target.type(), linear, message, target.rows() - rows);
+            }
+
+            if (batch.rows > 0) {
+                bytes += copy(copyManager, sql, batch);
+                copies++;
+            }
+        }
+
+        final var result = new TableResult(table, rows, bytes, copies, Duration.ofNanos(System.nanoTime() - start));
+        LOGGER.info("Loaded {} rows ({} bytes, {} copies) into {} in {} ms: {} rows/s", rows, bytes, copies, table,
+                result.elapsed().toMillis(), Math.round(result.rowsPerSecond()));
+        return result;
+    }
+
+    private static long chunkMillis(final Connection conn, final String table) throws SQLException {
+        final var dot = table.indexOf(TOPIC_SEPARATOR);
+        try (final var ps = conn.prepareStatement(SELECT_CHUNK_INTERVAL)) {
+            ps.setString(1, table.substring(0, dot));
+            ps.setString(2, table.substring(dot + 1));
+            try (final var rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(FIRST_ROW) : DEFAULT_CHUNK_MILLIS;
+            }
+        }
+    }
+
+    private static long copy(final CopyManager copyManager, final String sql, final Batch batch)
+            throws SQLException {
+        final var copy = copyManager.copyIn(sql);
+        try {
+            copy.writeToCopy(HEADER, 0, HEADER.length);
+            for (final var buffer : batch.buffers.values()) {
+                if (buffer.length > 0) {
+                    copy.writeToCopy(buffer.bytes, 0, buffer.length);
+                }
+            }
+
+            copy.writeToCopy(TRAILER, 0, TRAILER.length);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+
+        final var bytes = HEADER.length + batch.bytes() + TRAILER.length;
+        batch.clear();
+        return bytes;
+    }
+
+    private static String columns(final MockData.Type type, final boolean linear) {
+        return switch (type) {
+            case TICKERS -> SPOT_TICKER_COLUMNS;
+            case PUBLIC_TRADE -> linear ? LINEAR_TRADE_COLUMNS : SPOT_TRADE_COLUMNS;
+            case ORDER_BOOK_1, ORDER_BOOK_50, ORDER_BOOK_200, ORDER_BOOK_1000 -> ORDER_BOOK_COLUMNS;
+            case ALL_LIQUIDATION -> LIQUIDATION_COLUMNS;
+            default -> KLINE_COLUMNS;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long time(final MockData.Type type, final Map<String, Object> message) {
+        return switch (type) {
+            case TICKERS -> (long) message.get(TS);
+            case ORDER_BOOK_1, ORDER_BOOK_50, ORDER_BOOK_200, ORDER_BOOK_1000 -> (long) message.get(CTS);
+            case PUBLIC_TRADE, ALL_LIQUIDATION ->
+                    (long) ((List<Map<String, Object>>) message.get(DATA)).getFirst().get(TRADE_TIME);
+            default -> (long) ((List<Map<String, Object>>) message.get(DATA)).getFirst().get(KLINE_START);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long append(final Batch batch, final MockData.Type type, final boolean linear,
+                               final Map<String, Object> message, final long limit) {
+        var rows = 0L;
+        switch (type) {
+            case TICKERS -> {
+                final var data = (Map<String, Object>) message.get(DATA);
+                final var symbol = (String) data.get(TICKER_SYMBOL);
+                final var buffer = batch.buffer(symbol);
+                buffer.tuple(9);
+                buffer.text(batch.ascii(symbol));
+                buffer.timestamp((long) message.get(TS));
+                buffer.float8((String) data.get(TICKER_LAST_PRICE));
+                buffer.float8((String) data.get(TICKER_HIGH_PRICE_24H));
+                buffer.float8((String) data.get(TICKER_LOW_PRICE_24H));
+                buffer.float8((String) data.get(TICKER_PREV_PRICE_24H));
+                buffer.float8((String) data.get(TICKER_VOLUME_24H));
+                buffer.float8((String) data.get(TICKER_TURNOVER_24H));
+                buffer.float8((String) data.get(TICKER_PRICE_24H_PCNT));
+                rows++;
+            }
+            case PUBLIC_TRADE -> {
+                for (final var trade : (List<Map<String, Object>>) message.get(DATA)) {
+                    if (rows == limit) {
+                        break;
+                    }
+
+                    final var symbol = (String) trade.get(SYMBOL);
+                    final var buffer = batch.buffer(symbol);
+                    buffer.tuple(linear ? 8 : 7);
+                    buffer.text(batch.ascii(symbol));
+                    buffer.timestamp((long) trade.get(TRADE_TIME));
+                    buffer.float8((String) trade.get(TRADE_PRICE));
+                    buffer.float8((String) trade.get(TRADE_SIZE));
+                    buffer.text(batch.ascii((String) trade.get(TRADE_SIDE)));
+                    buffer.bool((Boolean) trade.get(BLOCK_TRADE));
+                    buffer.bool((Boolean) trade.get(RPI_TRADE));
+                    if (linear) {
+                        buffer.text(batch.ascii((String) trade.get(TRADE_TICK_DIRECTION)));
+                    }
+
+                    rows++;
+                }
+            }
+            case ORDER_BOOK_1, ORDER_BOOK_50, ORDER_BOOK_200, ORDER_BOOK_1000 -> {
+                final var data = (Map<String, Object>) message.get(DATA);
+                final var symbol = (String) data.get(SYMBOL);
+                final var buffer = batch.buffer(symbol);
+                final var engineTime = (long) message.get(CTS);
+                rows += levels(buffer, batch.ascii(symbol), engineTime, batch.ascii(BID),
+                        (List<List<String>>) data.get(BIDS), limit);
+                rows += levels(buffer, batch.ascii(symbol), engineTime, batch.ascii(ASK),
+                        (List<List<String>>) data.get(ASKS), limit - rows);
+            }
+            case ALL_LIQUIDATION -> {
+                for (final var event : (List<Map<String, Object>>) message.get(DATA)) {
+                    if (rows == limit) {
+                        break;
+                    }
+
+                    final var symbol = (String) event.get(SYMBOL);
+                    final var buffer = batch.buffer(symbol);
+                    buffer.tuple(5);
+                    buffer.text(batch.ascii(symbol));
+                    buffer.timestamp((long) event.get(TRADE_TIME));
+                    buffer.text(batch.ascii((String) event.get(TRADE_SIDE)));
+                    buffer.float8((String) event.get(TRADE_SIZE));
+                    buffer.float8((String) event.get(TRADE_PRICE));
+                    rows++;
+                }
+            }
+            default -> {
+                final var topic = (String) message.get(TOPIC);
+                final var symbol = topic.substring(topic.lastIndexOf(TOPIC_SEPARATOR) + 1);
+                final var buffer = batch.buffer(symbol);
+                for (final var candle : (List<Map<String, Object>>) message.get(DATA)) {
+                    if (rows == limit) {
+                        break;
+                    }
+
+                    buffer.tuple(9);
+                    buffer.text(batch.ascii(symbol));
+                    buffer.timestamp((long) candle.get(KLINE_START));
+                    buffer.timestamp((long) candle.get(KLINE_END));
+                    buffer.float8((String) candle.get(KLINE_OPEN));
+                    buffer.float8((String) candle.get(KLINE_CLOSE));
+                    buffer.float8((String) candle.get(KLINE_HIGH));
+                    buffer.float8((String) candle.get(KLINE_LOW));
+                    buffer.float8((String) candle.get(KLINE_VOLUME));
+                    buffer.float8((String) candle.get(KLINE_TURNOVER));
+                    rows++;
+                }
+            }
+        }
+
+        batch.rows += rows;
+        return rows;
+    }
+
+    private static long levels(final RowBuffer buffer, final byte[] symbol, final long engineTime, final byte[] side,
+                               final List<List<String>> levels, final long limit) {
+        final var count = (int) Math.min(levels.size(), limit);
+        for (var i = 0; i < count; i++) {
+            final var level = levels.get(i);
+            buffer.tuple(5);
+            buffer.text(symbol);
+            buffer.timestamp(engineTime);
+            buffer.text(side);
+            buffer.float8(level.get(0));
+            buffer.float8(level.get(1));
+        }
+
+        return count;
+    }
+
+    private static double perSecond(final long value, final Duration elapsed) {
+        final var nanos = elapsed.toNanos();
+        return nanos > 0 ? value * 1e9d / nanos : 0d;
+    }
+
+    /**
+     * Rows of the current chunk, encoded per symbol so that flushing in key order sorts them by symbol and time.
+     */
+    private static final class Batch {
+        private final Map<String, RowBuffer> buffers = new TreeMap<>();
+        private final Map<String, byte[]> texts = new HashMap<>();
+        private long rows;
+
+        private RowBuffer buffer(final String symbol) {
+            return buffers.computeIfAbsent(symbol, _ -> new RowBuffer());
+        }
+
+        private byte[] ascii(final String value) {
+            return texts.computeIfAbsent(value, v -> v.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private long bytes() {
+            var bytes = 0L;
+            for (final var buffer : buffers.values()) {
+                bytes += buffer.length;
+            }
+
+            return bytes;
+        }
+
+        private void clear() {
+            for (final var buffer : buffers.values()) {
+                buffer.length = 0;
+            }
+
+            rows = 0;
+        }
+    }
+
+    /**
+     * Growable buffer of tuples in the PostgreSQL binary {@code COPY} format.
+     */
+    private static final class RowBuffer {
+        private byte[] bytes = new byte[64 * 1024];
+        private int length;
+
+        private void tuple(final int fields) {
+            ensure(2);
+            SHORT.set(bytes, length, (short) fields);
+            length += 2;
+        }
+
+        private void text(final byte[] value) {
+            ensure(4 + value.length);
+            INT.set(bytes, length, value.length);
+            System.arraycopy(value, 0, bytes, length + 4, value.length);
+            length += 4 + value.length;
+        }
+
+        private void timestamp(final long millis) {
+            int64(millis * 1_000L - PG_EPOCH_MICROS);
+        }
+
+        private void float8(final String value) {
+            int64(Double.doubleToRawLongBits(Double.parseDouble(value)));
+        }
+
+        private void bool(final boolean value) {
+            ensure(5);
+            INT.set(bytes, length, 1);
+            bytes[length + 4] = (byte) (value ? 1 : 0);
+            length += 5;
+        }
+
+        private void int64(final long value) {
+            ensure(12);
+            INT.set(bytes, length, 8);
+            LONG.set(bytes, length + 4, value);
+            length += 12;
+        }
+
+        private void ensure(final int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+}
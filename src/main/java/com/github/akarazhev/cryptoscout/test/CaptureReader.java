@@ -0,0 +1,332 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import com.github.akarazhev.jcryptolib.util.JsonUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.BLOCK_HEADER_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.ERR_CORRUPTED_BLOCK;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.ERR_NOT_CAPTURE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.ERR_UNSUPPORTED_COMPRESSION;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.ERR_UNSUPPORTED_VERSION;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.HEADER_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.INDEX_ENTRY_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.MAGIC;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.TRAILER_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.VERSION;
+
+/**
+ * Reads a capture file written by {@link CaptureWriter} through a read-only memory mapping. Records of
+ * uncompressed blocks are exposed as slices of the mapping, so payload bytes are never copied; compressed blocks
+ * are inflated once into a per-iterator buffer. {@link #records(long)} seeks with a binary search over the
+ * sparse block index.
+ * <p>
+ * Iterators are independent and may be used from different threads; the reader must stay open while they are
+ * in use.
+ */
+public final class CaptureReader implements AutoCloseable, Iterable<CaptureReader.Record> {
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final CaptureWriter.Compression compression;
+    private final int blockSize;
+    private final List<String> topics;
+    private final long[] blockOffsets;
+    private final long[] blockMaxTs;
+    private final long records;
+
+    /**
+     * A captured record. For compressed captures the payload is backed by a buffer that is reused once the
+     * iterator moves to the next block, so it must be consumed or copied before that.
+     *
+     * @param topicId the topic id, an index into {@link #getTopics()}
+     * @param topic the topic
+     * @param timestamp the timestamp in millis
+     * @param payload a read-only view of the payload bytes
+     */
+    public record Record(int topicId, String topic, long timestamp, ByteBuffer payload) {
+
+        public byte[] bytes() {
+            final var bytes = new byte[payload.remaining()];
+            payload.duplicate().get(bytes);
+            return bytes;
+        }
+    }
+
+    /**
+     * Maps a capture file.
+     *
+     * @param path the capture file
+     * @return the reader
+     * @throws IOException if the file cannot be read or uses a compression this reader does not know
+     */
+    public static CaptureReader open(final Path path) throws IOException {
+        final var arena = Arena.ofShared();
+        try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final var segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            return new CaptureReader(arena, segment, path);
+        } catch (final IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    private CaptureReader(final Arena arena, final MemorySegment segment, final Path path)
+            throws IOException {
+        this.arena = arena;
+        this.segment = segment;
+        final var size = segment.byteSize();
+        if (size < HEADER_SIZE + TRAILER_SIZE) {
+            throw new IllegalStateException(ERR_NOT_CAPTURE + path);
+        }
+
+        final var header = buffer(0, HEADER_SIZE);
+        final var trailer = buffer(size - TRAILER_SIZE, TRAILER_SIZE);
+        if (header.getInt() != MAGIC || trailer.getInt(TRAILER_SIZE - Integer.BYTES) != MAGIC) {
+            throw new IllegalStateException(ERR_NOT_CAPTURE + path);
+        }
+
+        final var version = header.getInt();
+        if (version != VERSION) {
+            throw new IllegalStateException(ERR_UNSUPPORTED_VERSION + version);
+        }
+
+        final var codec = header.getInt();
+        if (codec < 0 || codec >= CaptureWriter.Compression.values().length) {
+            throw new IOException(ERR_UNSUPPORTED_COMPRESSION + codec);
+        }
+
+        this.compression = CaptureWriter.Compression.values()[codec];
+        this.blockSize = header.getInt();
+        final var topicsOffset = trailer.getLong();
+        final var indexOffset = trailer.getLong();
+        this.records = trailer.getLong();
+
+        final var topicTable = buffer(topicsOffset, indexOffset - topicsOffset);
+        final var names = new String[topicTable.getInt()];
+        for (var i = 0; i < names.length; i++) {
+            final var name = new byte[topicTable.getInt()];
+            topicTable.get(name);
+            names[i] = new String(name, StandardCharsets.UTF_8);
+        }
+
+        this.topics = List.of(names);
+        final var indexTable = buffer(indexOffset, size - TRAILER_SIZE - indexOffset);
+        final var blocks = indexTable.getInt();
+        if (indexTable.remaining() < (long) blocks * INDEX_ENTRY_SIZE) {
+            throw new IllegalStateException(ERR_NOT_CAPTURE + path);
+        }
+
+        this.blockOffsets = new long[blocks];
+        this.blockMaxTs = new long[blocks];
+        for (var i = 0; i < blocks; i++) {
+            blockOffsets[i] = indexTable.getLong();
+            blockMaxTs[i] = indexTable.getLong();
+        }
+    }
+
+    public CaptureWriter.Compression getCompression() {
+        return compression;
+    }
+
+    /**
+     * Returns the topic names indexed by topic id.
+     */
+    public List<String> getTopics() {
+        return topics;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public int getBlocks() {
+        return blockOffsets.length;
+    }
+
+    /**
+     * Iterates all records in capture order.
+     */
+    @Override
+    public Iterator<Record> iterator() {
+        return new RecordIterator(0, Long.MIN_VALUE);
+    }
+
+    /**
+     * Iterates records in capture order starting with the first one at or after the timestamp. Only the block
+     * containing that record is scanned; every record after it is returned, including late records with an
+     * older timestamp, as a live consumer would have seen them.
+     *
+     * @param fromTs the timestamp in millis
+     * @return the records
+     */
+    public Iterator<Record> records(final long fromTs) {
+        var low = 0;
+        var high = blockMaxTs.length;
+        while (low < high) {
+            final var mid = (low + high) >>> 1;
+            if (blockMaxTs[mid] < fromTs) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return new RecordIterator(low, fromTs);
+    }
+
+    /**
+     * Iterates records starting at the timestamp as replay events, parsing each payload as a JSON message.
+     *
+     * @param fromTs the timestamp in millis
+     * @return the events, e.g. for {@link ReplayEngine#create(Iterator, ReplayEngine.Options)}
+     */
+    public Iterator<ReplayEngine.Event> events(final long fromTs) {
+        final var records = records(fromTs);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return records.hasNext();
+            }
+
+            @Override
+            public ReplayEngine.Event next() {
+                final var record = records.next();
+                try {
+                    return new ReplayEngine.Event(record.topic(), record.timestamp(),
+                            JsonUtils.json2Map(new ByteArrayInputStream(record.bytes())));
+                } catch (final IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Unmaps the file. Iterators and record payloads must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private ByteBuffer buffer(final long offset, final long length) {
+        return segment.asSlice(offset, length).asByteBuffer().asReadOnlyBuffer();
+    }
+
+    private final class RecordIterator implements Iterator<Record> {
+        // Lowered to Long.MIN_VALUE once the first record is found, so only the seek is filtered
+        private long fromTs;
+        private ByteBuffer raw;
+        private ByteBuffer block;
+        private int nextBlock;
+        private int remaining;
+        private Record next;
+
+        private RecordIterator(final int firstBlock, final long fromTs) {
+            this.nextBlock = firstBlock;
+            this.fromTs = fromTs;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (remaining == 0 && !loadBlock()) {
+                    return false;
+                }
+
+                remaining--;
+                final var topicId = block.getInt();
+                final var timestamp = block.getLong();
+                final var length = block.getInt();
+                final var payload = block.slice(block.position(), length).asReadOnlyBuffer();
+                block.position(block.position() + length);
+                if (timestamp >= fromTs) {
+                    fromTs = Long.MIN_VALUE;
+                    next = new Record(topicId, topics.get(topicId), timestamp, payload);
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public Record next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final var record = next;
+            next = null;
+            return record;
+        }
+
+        private boolean loadBlock() {
+            while (nextBlock < blockOffsets.length) {
+                final var offset = blockOffsets[nextBlock++];
+                final var header = buffer(offset, BLOCK_HEADER_SIZE);
+                final var storedLength = header.getInt();
+                final var rawLength = header.getInt();
+                final var count = header.getInt();
+                final var stored = buffer(offset + BLOCK_HEADER_SIZE, storedLength);
+                if (compression == CaptureWriter.Compression.NONE) {
+                    if (storedLength != rawLength) {
+                        throw new IllegalStateException(ERR_CORRUPTED_BLOCK + offset);
+                    }
+
+                    block = stored;
+                } else {
+                    if (raw == null || raw.capacity() < rawLength) {
+                        raw = ByteBuffer.allocateDirect(Math.max(blockSize, rawLength));
+                    }
+
+                    // Direct buffers on both sides let the codecs work without intermediate copies
+                    final var source = segment.asSlice(offset + BLOCK_HEADER_SIZE, storedLength).asByteBuffer();
+                    compression.decompress(source, raw, rawLength, offset);
+                    block = raw.slice(0, rawLength).asReadOnlyBuffer();
+                }
+
+                if (count > 0) {
+                    remaining = count;
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import com.github.akarazhev.jcryptolib.util.JsonUtils;
+import com.github.luben.zstd.Zstd;
+import net.jpountz.lz4.LZ4Factory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.BLOCK_HEADER_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.BLOCK_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.ERR_CORRUPTED_BLOCK;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.ERR_WRITER_CLOSED;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.HEADER_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.INDEX_ENTRY_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.MAGIC;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.RECORD_HEADER_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.TRAILER_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.VERSION;
+import static com.github.akarazhev.cryptoscout.test.Constants.Capture.ZSTD_LEVEL;
+
+/**
+ * Writes a binary capture file for {@link CaptureReader}. Records ({@code topic id, timestamp, payload}) are
+ * length-prefixed and grouped into blocks of about {@code test.capture.block.size} bytes, each optionally
+ * compressed as a whole with LZ4 or zstd. Topic names are stored once in a table, and the first-record offset
+ * of every block goes into a sparse index used to seek by timestamp. Both are written by {@link #close()}.
+ * <p>
+ * Not thread-safe.
+ */
+public final class CaptureWriter implements AutoCloseable {
+    private final FileChannel channel;
+    private final Compression compression;
+    private final int blockSize;
+    private final Map<String, Integer> topicIds = new HashMap<>();
+    private final List<String> topics = new ArrayList<>();
+    private final List<long[]> index = new ArrayList<>();
+    private ByteBuffer block;
+    private int blockRecords;
+    private long blockFirstTs;
+    private long maxTs = Long.MIN_VALUE;
+    private long records;
+    private boolean closed;
+
+    /**
+     * Block compression.
+     */
+    public enum Compression {
+        NONE, LZ4, ZSTD;
+
+        byte[] compress(final byte[] raw, final int length) {
+            return switch (this) {
+                case NONE -> raw.length == length ? raw : Arrays.copyOf(raw, length);
+                case LZ4 -> LZ4Factory.fastestInstance().fastCompressor().compress(raw, 0, length);
+                case ZSTD -> {
+                    final var stored = new byte[(int) Zstd.compressBound(length)];
+                    final var n = Zstd.compressByteArray(stored, 0, stored.length, raw, 0, length, ZSTD_LEVEL);
+                    if (Zstd.isError(n)) {
+                        throw new IllegalStateException(Zstd.getErrorName(n));
+                    }
+
+                    yield Arrays.copyOf(stored, (int) n);
+                }
+            };
+        }
+
+        void decompress(final ByteBuffer stored, final ByteBuffer raw, final int rawLength, final long offset) {
+            switch (this) {
+                case NONE -> throw new IllegalStateException(ERR_CORRUPTED_BLOCK + offset);
+                case LZ4 -> LZ4Factory.fastestInstance().fastDecompressor()
+                        .decompress(stored, stored.position(), raw, 0, rawLength);
+                case ZSTD -> {
+                    final var n = Zstd.decompressDirectByteBuffer(raw, 0, rawLength, stored, stored.position(),
+                            stored.remaining());
+                    if (Zstd.isError(n) || n != rawLength) {
+                        throw new IllegalStateException(ERR_CORRUPTED_BLOCK + offset);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates or truncates a capture file using the default block size.
+     *
+     * @param path the capture file
+     * @param compression the block compression
+     * @return the writer
+     * @throws IOException if the file cannot be created
+     */
+    public static CaptureWriter create(final Path path, final Compression compression) throws IOException {
+        return create(path, compression, BLOCK_SIZE);
+    }
+
+    /**
+     * Creates or truncates a capture file.
+     *
+     * @param path the capture file
+     * @param compression the block compression
+     * @param blockSize the uncompressed block size; larger blocks compress better, smaller ones seek finer
+     * @return the writer
+     * @throws IOException if the file cannot be created
+     */
+    public static CaptureWriter create(final Path path, final Compression compression, final int blockSize)
+            throws IOException {
+        final var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            final var header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(compression.ordinal())
+                    .putInt(blockSize)
+                    .flip();
+            writeFully(channel, header);
+            return new CaptureWriter(channel, compression, blockSize);
+        } catch (final IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private CaptureWriter(final FileChannel channel, final Compression compression, final int blockSize) {
+        this.channel = channel;
+        this.compression = compression;
+        this.blockSize = blockSize;
+        this.block = ByteBuffer.allocate(blockSize);
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param topic the topic
+     * @param timestamp the timestamp in millis
+     * @param payload the payload bytes
+     * @throws IOException if a full block cannot be written
+     */
+    public void write(final String topic, final long timestamp, final byte[] payload) throws IOException {
+        if (closed) {
+            throw new IllegalStateException(ERR_WRITER_CLOSED);
+        }
+
+        final var size = RECORD_HEADER_SIZE + payload.length;
+        if (blockRecords > 0 && block.position() + size > blockSize) {
+            flushBlock();
+        }
+
+        if (block.remaining() < size) {
+            block = ByteBuffer.allocate(Math.max(blockSize, block.position() + size)).put(block.flip());
+        }
+
+        if (blockRecords == 0) {
+            blockFirstTs = timestamp;
+        }
+
+        block.putInt(topicId(topic)).putLong(timestamp).putInt(payload.length).put(payload);
+        blockRecords++;
+        records++;
+        maxTs = Math.max(maxTs, timestamp);
+    }
+
+    /**
+     * Appends a captured message serialized as JSON.
+     *
+     * @param event the event
+     * @throws IOException if the message cannot be serialized or a full block cannot be written
+     */
+    public void write(final ReplayEngine.Event event) throws IOException {
+        write(event.topic(), event.timestamp(), JsonUtils.object2Bytes(event.message()));
+    }
+
+    /**
+     * Returns the number of records written so far.
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Flushes the last block and writes the topic table, the block index and the trailer.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        try (channel) {
+            if (blockRecords > 0) {
+                flushBlock();
+            }
+
+            final var topicsOffset = channel.position();
+            final var names = topics.stream().map(topic -> topic.getBytes(StandardCharsets.UTF_8)).toList();
+            final var topicTable = ByteBuffer.allocate(Integer.BYTES +
+                    names.stream().mapToInt(name -> Integer.BYTES + name.length).sum());
+            topicTable.putInt(names.size());
+            for (final var name : names) {
+                topicTable.putInt(name.length).put(name);
+            }
+
+            writeFully(channel, topicTable.flip());
+            final var indexOffset = channel.position();
+            final var indexTable = ByteBuffer.allocate(Integer.BYTES + index.size() * INDEX_ENTRY_SIZE);
+            indexTable.putInt(index.size());
+            for (final var entry : index) {
+                indexTable.putLong(entry[0]).putLong(entry[1]);
+            }
+
+            writeFully(channel, indexTable.flip());
+            writeFully(channel, ByteBuffer.allocate(TRAILER_SIZE)
+                    .putLong(topicsOffset)
+                    .putLong(indexOffset)
+                    .putLong(records)
+                    .putInt(MAGIC)
+                    .flip());
+        }
+    }
+
+    private int topicId(final String topic) {
+        return topicIds.computeIfAbsent(topic, t -> {
+            topics.add(t);
+            return topics.size() - 1;
+        });
+    }
+
+    private void flushBlock() throws IOException {
+        final var rawLength = block.position();
+        final var stored = compression.compress(block.array(), rawLength);
+        // The index keeps the running max so a binary search finds the first record at or after a timestamp
+        index.add(new long[]{channel.position(), maxTs});
+        writeFully(channel, ByteBuffer.allocate(BLOCK_HEADER_SIZE)
+                .putInt(stored.length)
+                .putInt(rawLength)
+                .putInt(blockRecords)
+                .putLong(blockFirstTs)
+                .putLong(maxTs)
+                .flip());
+        writeFully(channel, ByteBuffer.wrap(stored));
+        block.clear();
+        blockRecords = 0;
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
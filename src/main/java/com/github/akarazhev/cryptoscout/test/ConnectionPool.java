@@ -0,0 +1,240 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.DB_PASSWORD;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.DB_USER;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.JDBC_URL;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.POOL_ACQUIRE_TIMEOUT;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.POOL_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.POOL_VALIDATE_AFTER;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.POOL_VALIDATION_TIMEOUT_SEC;
+
+/**
+ * Small fixed-size JDBC pool for test helpers. Connections are opened lazily, handed out as proxies whose
+ * {@code close()} returns them to the pool, and re-validated when they have been idle for a while.
+ */
+final class ConnectionPool implements DataSource, AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPool.class);
+    private final String url;
+    private final String user;
+    private final String password;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<Idle> idle = new LinkedBlockingDeque<>();
+
+    private static final class Holder {
+        private static final ConnectionPool SHARED = new ConnectionPool(JDBC_URL, DB_USER, DB_PASSWORD, POOL_SIZE);
+    }
+
+    static ConnectionPool shared() {
+        return Holder.SHARED;
+    }
+
+    ConnectionPool(final String url, final String user, final String password, final int size) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.permits = new Semaphore(size);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        try {
+            if (!permits.tryAcquire(POOL_ACQUIRE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out waiting for a pooled connection");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection", e);
+        }
+
+        try {
+            return wrap(borrow());
+        } catch (final SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes every idle connection. Connections currently handed out are closed when returned.
+     */
+    void closeIdle() {
+        Idle entry;
+        while ((entry = idle.pollFirst()) != null) {
+            closeQuietly(entry.connection());
+        }
+    }
+
+    @Override
+    public void close() {
+        closeIdle();
+    }
+
+    private Connection borrow() throws SQLException {
+        Idle entry;
+        while ((entry = idle.pollFirst()) != null) {
+            final var connection = entry.connection();
+            final var stale = System.nanoTime() - entry.since() > POOL_VALIDATE_AFTER.toNanos();
+            if (!connection.isClosed() && (!stale || connection.isValid(POOL_VALIDATION_TIMEOUT_SEC))) {
+                return connection;
+            }
+
+            closeQuietly(connection);
+        }
+
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    private void release(final Connection connection) {
+        try {
+            if (connection.isClosed()) {
+                return;
+            }
+
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+
+            idle.offerFirst(new Idle(connection, System.nanoTime()));
+        } catch (final SQLException e) {
+            LOGGER.debug("Discarding pooled connection: {}", e.getMessage());
+            closeQuietly(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Connection wrap(final Connection connection) {
+        final var released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    // Object methods stay usable after release, e.g. when the handle sits in a collection
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "equals" -> proxy == args[0];
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            default -> method.invoke(connection, args);
+                        };
+                    }
+
+                    switch (method.getName()) {
+                        case "close" -> {
+                            if (released.compareAndSet(false, true)) {
+                                release(connection);
+                            }
+
+                            return null;
+                        }
+                        case "isClosed" -> {
+                            return released.get() || connection.isClosed();
+                        }
+                        default -> {
+                            if (released.get()) {
+                                throw new SQLException("Connection has been returned to the pool");
+                            }
+
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (final InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        }
+                    }
+                });
+    }
+
+    private static void closeQuietly(final Connection connection) {
+        try {
+            connection.close();
+        } catch (final SQLException e) {
+            LOGGER.debug("Error closing pooled connection", e);
+        }
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections use the configured credentials");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return DriverManager.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(final PrintWriter out) {
+        DriverManager.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(final int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    private record Idle(Connection connection, long since) {
+    }
+}
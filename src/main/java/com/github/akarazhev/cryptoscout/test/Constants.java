@@ -24,7 +24,10 @@
 
 package com.github.akarazhev.cryptoscout.test;
 
+import com.rabbitmq.stream.compression.Compression;
+
 import java.time.Duration;
+import java.util.Map;
 
 final class Constants {
     private Constants() {
@@ -40,6 +43,60 @@ final class Constants {
         }
 
         static final String BYBIT_STREAM = "bybit-stream";
+        static final String BYBIT_TA_STREAM = "bybit-ta-stream";
+        static final String CRYPTO_SCOUT_STREAM = "crypto-scout-stream";
+        // Producer defaults, matching the stream client's own defaults
+        static final int BATCH_SIZE = Integer.getInteger("test.stream.batch.size", 100);
+        static final int SUB_ENTRY_SIZE = Integer.getInteger("test.stream.sub.entry.size", 1);
+        static final int MAX_UNCONFIRMED_MESSAGES = Integer.getInteger("test.stream.max.unconfirmed", 10_000);
+        // Max wait for the confirms of the last sent messages once publishAll ran out of payloads
+        static final Duration CONFIRM_TIMEOUT = Duration.ofSeconds(Long.getLong("test.stream.confirm.timeout.sec",
+                60L));
+        static final String ERR_CONFIRM_TIMEOUT = "Stream did not confirm every sent message within ";
+        // Sub-entry codec: NONE, GZIP, SNAPPY, LZ4 or ZSTD, parsed when the defaults are built; anything but NONE
+        // raises a sub-entry size of 1 to COMPRESSED_SUB_ENTRY_SIZE
+        static final String COMPRESSION_PROPERTY = "test.stream.compression";
+        static final String COMPRESSION_DEFAULT = Compression.NONE.name();
+        static final int COMPRESSED_SUB_ENTRY_SIZE = 100;
+        static final String ERR_UNKNOWN_COMPRESSION = "Unknown " + COMPRESSION_PROPERTY +
+                " value '%s', expected one of %s";
+        // Application property carrying the publish time in epoch nanos, used for end-to-end latency
+        static final String PUBLISH_TS_PROPERTY = "x-publish-ts";
+        // Application property carrying the symbol a super stream producer routes on
+        static final String ROUTING_KEY_PROPERTY = "x-routing-key";
+        static final String TOPIC_SEPARATOR = ".";
+        // Collecting consumer defaults
+        static final Duration COLLECT_TIMEOUT = Duration.ofSeconds(Long.getLong("test.stream.collect.timeout.sec", 60L));
+        static final int DECODE_THREADS = Integer.getInteger("test.stream.decode.threads",
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        static final int DECODE_QUEUE_CAPACITY = Integer.getInteger("test.stream.decode.queue", 10_000);
+        static final String COLLECTOR_NAME_SUFFIX = "-collector";
+    }
+
+    final static class Offsets {
+        private Offsets() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Commit after this many handled messages or this much time, whichever comes first
+        static final int BATCH_SIZE = Integer.getInteger("test.offset.batch.size", 1_000);
+        static final Duration FLUSH_INTERVAL = Duration.ofMillis(Long.getLong("test.offset.flush.ms", 1_000L));
+        static final String SELECT_OFFSET = "SELECT \"offset\" FROM crypto_scout.stream_offsets WHERE stream = ?";
+        static final String UPSERT_OFFSET = "INSERT INTO crypto_scout.stream_offsets (stream, \"offset\") " +
+                "VALUES (?, ?) ON CONFLICT (stream) DO UPDATE SET \"offset\" = EXCLUDED.\"offset\", updated_at = NOW()";
+        static final String DELETE_OFFSET = "DELETE FROM crypto_scout.stream_offsets WHERE stream = ?";
+        static final String ERR_INVALID_OPTIONS = "Invalid offset store options";
+    }
+
+    final static class Histogram {
+        private Histogram() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final int SUB_BUCKET_BITS = 4;
+        static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+        // Linear buckets below SUB_BUCKET_COUNT plus one group of sub-buckets per power of two up to 2^62
+        static final int BUCKET_COUNT = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
     }
 
     final static class Amqp {
@@ -49,12 +106,84 @@ final class Constants {
 
         static final String CONSUMER_CLIENT_NAME = "amqp-test-consumer";
         static final String PUBLISHER_CLIENT_NAME = "amqp-test-publisher";
+        static final String RESET_CLIENT_NAME = "amqp-test-reset";
         static final String AMQP_COLLECTOR_EXCHANGE = "crypto-scout-exchange";
         static final String AMQP_COLLECTOR_ROUTING_KEY = "collector";
         static final String AMQP_COLLECTOR_QUEUE = "collector-queue";
-        static final String CONTENT_TYPE_JSON = "application/json";
+        static final String AMQP_CHATBOT_ROUTING_KEY = "chatbot";
+        static final String AMQP_CHATBOT_QUEUE = "chatbot-queue";
+        static final String AMQP_ANALYST_ROUTING_KEY = "analyst";
+        static final String AMQP_ANALYST_QUEUE = "analyst-queue";
+        static final String AMQP_DLX_QUEUE = "dlx-queue";
+        static final String AMQP_BYBIT_ROUTING_KEY = "bybit";
+        static final String AMQP_BYBIT_TA_ROUTING_KEY = "bybit-ta";
+        static final String AMQP_CRYPTO_SCOUT_ROUTING_KEY = "crypto-scout";
+        // Stream queue arguments, mirroring rabbitmq/definitions.json
+        static final Map<String, Object> STREAM_ARGUMENTS = Map.of(
+                "x-queue-type", "stream",
+                "x-max-length-bytes", 2_000_000_000L,
+                "x-max-age", "1D",
+                "x-stream-max-segment-size-bytes", 100_000_000);
+        // x-max-length of the classic queues; further publishes are nacked (x-overflow: reject-publish)
+        static final int QUEUE_MAX_LENGTH = 2500;
         static final int DELIVERY_MODE_PERSISTENT = 2;
         static final int PREFETCH_COUNT = 1;
+        // Streaming consumer defaults
+        static final int STREAMING_PREFETCH_COUNT = Integer.getInteger("test.amqp.prefetch", 250);
+        static final int ACK_EVERY = Integer.getInteger("test.amqp.ack.every", 50);
+        // Pending multiple-acks are flushed once no delivery arrived for this long
+        static final Duration ACK_IDLE_FLUSH = Duration.ofMillis(Long.getLong("test.amqp.ack.idle.ms", 100L));
+        // Async confirm defaults
+        static final int MAX_IN_FLIGHT = Integer.getInteger("test.amqp.max.in.flight", 1_000);
+        static final Duration CONFIRM_TIMEOUT = Duration.ofSeconds(Long.getLong("test.amqp.confirm.timeout.sec", 30L));
+    }
+
+    final static class Codec {
+        private Codec() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final String CONTENT_TYPE_JSON = "application/json";
+        static final String CONTENT_TYPE_BINARY = "application/vnd.crypto-scout.binary";
+        static final String CONTENT_TYPE_PARAMETER_SEPARATOR = ";";
+        // Content types of this library's own formats; an unregistered one is never decoded as JSON
+        static final String CONTENT_TYPE_VENDOR_PREFIX = "application/vnd.crypto-scout.";
+        // Codec of the publishers created without an explicit one
+        static final String DEFAULT_CONTENT_TYPE = System.getProperty("test.payload.codec", CONTENT_TYPE_JSON);
+        // Binary layout: magic, version, kind, header values, body value
+        static final byte MAGIC = (byte) 0xC5;
+        static final byte VERSION = 1;
+        static final byte KIND_PAYLOAD = 1;
+        static final byte KIND_MESSAGE = 2;
+        // Canonical decimal strings up to this many digits and fraction digits are sent as fixed-point numbers
+        static final int MAX_DECIMAL_DIGITS = 18;
+        static final int MAX_DECIMAL_SCALE = 9;
+        // Field names sent as their index; changing this list requires a new VERSION
+        static final String[] KEYS = {
+                // Bybit public streams
+                "topic", "type", "ts", "cts", "data", "cs", "id", "s", "symbol", "u", "seq", "b", "a", "T", "S",
+                "v", "p", "L", "i", "BT", "RPI", "start", "end", "interval", "open", "close", "high", "low",
+                "volume", "turnover", "confirm", "timestamp", "lastPrice", "prevPrice24h", "price24hPcnt",
+                "highPrice24h", "lowPrice24h", "prevPrice1h", "markPrice", "indexPrice", "usdIndexPrice",
+                "openInterest", "openInterestValue", "turnover24h", "volume24h", "nextFundingTime", "fundingRate",
+                "bid1Price", "bid1Size", "ask1Price", "ask1Size", "tickDirection", "preOpenPrice", "preQty",
+                "curPreListingPhase",
+                // Crypto Scout data
+                "value", "value_classification", "update_time", "risk", "price", "price_risk", "composite_risk",
+                "price_of_price_risk", "price_of_composite_risk", "name", "quote", "quotes", "timeOpen", "timeClose",
+                "timeHigh", "timeLow", "marketCap"
+        };
+        // Error messages
+        static final String ERR_UNKNOWN_CONTENT_TYPE = "No payload codec for content type: ";
+        static final String ERR_NOT_BINARY = "Not a binary payload: ";
+        static final String ERR_UNSUPPORTED_VERSION = "Unsupported binary payload version: ";
+        static final String ERR_UNEXPECTED_KIND = "Unexpected binary payload kind: ";
+        static final String ERR_UNKNOWN_TAG = "Unknown binary value tag: ";
+        static final String ERR_UNKNOWN_KEY = "Unknown binary field index: ";
+        static final String ERR_UNKNOWN_CONSTANT = "Unknown binary enum constant: ";
+        static final String ERR_UNEXPECTED_VALUE = "Unexpected binary value type: ";
+        static final String ERR_UNSUPPORTED_VALUE = "Unsupported value type: ";
+        static final String ERR_TRUNCATED = "Truncated binary payload";
     }
 
     final static class DB {
@@ -68,8 +197,27 @@ final class Constants {
         static final String DB_USER = System.getProperty("test.db.user", "crypto_scout_db");
         static final String DB_PASSWORD = System.getProperty("test.db.password", "crypto_scout_db");
         static final String SELECT_COUNT = "SELECT COUNT(*) FROM %s";
+        static final String SELECT_COUNT_WHERE = "SELECT COUNT(*) FROM %s WHERE %s";
+        static final String SELECT_TABLE_COUNT = "SELECT '%1$s', COUNT(*) FROM %1$s";
         static final String SELECT_ONE = "SELECT 1";
         static final String DELETE_FROM_TABLE = "DELETE FROM %s";
+        static final String SCHEMA = "crypto_scout";
+        static final String SELECT_SCHEMA_TABLES = "SELECT format('%I.%I', schemaname, tablename) FROM pg_tables " +
+                "WHERE schemaname = ? ORDER BY tablename";
+        static final String TRUNCATE_TABLES = "TRUNCATE %s RESTART IDENTITY";
+        static final String TABLE_SEPARATOR = ", ";
+        static final String CHECKPOINT = "CHECKPOINT";
+        static final String SELECT_NON_EMPTY = "SELECT '%1$s' WHERE EXISTS (SELECT 1 FROM %1$s)";
+        static final String UNION_ALL = " UNION ALL ";
+        // Shared connection pool
+        static final int POOL_SIZE = Integer.getInteger("test.db.pool.size", 4);
+        static final Duration POOL_ACQUIRE_TIMEOUT = Duration.ofSeconds(30);
+        static final Duration POOL_VALIDATE_AFTER = Duration.ofSeconds(5);
+        static final int POOL_VALIDATION_TIMEOUT_SEC = 1;
+        // Polling assertions back off exponentially from AWAIT_BACKOFF_INITIAL up to AWAIT_BACKOFF_MAX
+        static final Duration AWAIT_TIMEOUT = Duration.ofSeconds(Long.getLong("test.db.await.timeout.sec", 30L));
+        static final Duration AWAIT_BACKOFF_INITIAL = Duration.ofMillis(5);
+        static final Duration AWAIT_BACKOFF_MAX = Duration.ofMillis(250);
         static final int ZERO_ROWS = 0;
         static final int FIRST_ROW = 1;
         // Crypto scout
@@ -145,6 +293,206 @@ final class Constants {
         static final String JSON_EXTENSION = ".json";
         // Error messages
         static final String ERR_FILE_NOT_FOUND_PREFIX = "File not found: ";
+        static final String ERR_NOT_ORDER_BOOK = "Not an order book type: ";
+    }
+
+    final static class Json {
+        private Json() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final int BUFFER_SIZE = 8192;
+        // Decimals up to this many significant digits fit a double mantissa exactly
+        static final int MAX_EXACT_DIGITS = 15;
+        // Largest power of ten that is exactly representable as a double
+        static final int MAX_EXACT_POW10 = 22;
+        // Error messages
+        static final String ERR_UNEXPECTED_CHAR = "Unexpected character: ";
+        static final String ERR_UNEXPECTED_EOF = "Unexpected end of JSON input";
+        static final String ERR_UNEXPECTED_TOKEN = "Unexpected JSON token: ";
+    }
+
+    final static class OrderBook {
+        private OrderBook() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Bybit order book message fields
+        static final String TOPIC = "topic";
+        static final String TYPE = "type";
+        static final String TS = "ts";
+        static final String CTS = "cts";
+        static final String DATA = "data";
+        static final String SYMBOL = "s";
+        static final String BIDS = "b";
+        static final String ASKS = "a";
+        static final String UPDATE_ID = "u";
+        static final String SEQ = "seq";
+    }
+
+    final static class Generator {
+        private Generator() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Symbol universe with realistic starting prices and tick scales
+        static final String[] BASE_SYMBOLS = {"BTCUSDT", "ETHUSDT", "SOLUSDT", "XRPUSDT", "BNBUSDT", "DOGEUSDT",
+                "ADAUSDT", "TRXUSDT", "LINKUSDT", "AVAXUSDT", "TONUSDT", "LTCUSDT"};
+        static final double[] BASE_PRICES = {103_393.4d, 3_512.35d, 162.84d, 2.3451d, 958.7d, 0.17234d, 0.5632d,
+                0.29871d, 15.432d, 17.356d, 2.143d, 98.54d};
+        static final int[] BASE_PRICE_SCALES = {1, 2, 2, 4, 1, 5, 4, 5, 3, 3, 3, 2};
+        static final String FALLBACK_SYMBOL_FORMAT = "SYM%04dUSDT";
+        static final double FALLBACK_PRICE = 10d;
+        static final int FALLBACK_PRICE_SCALE = 4;
+        static final int SPOT_SIZE_SCALE = 6;
+        static final int LINEAR_SIZE_SCALE = 3;
+        static final double DEFAULT_VOLATILITY = 0.0005d;
+        static final long DEFAULT_START_TS = 1_762_272_000_000L;
+        static final long DEFAULT_STEP_MILLIS = 1L;
+        static final int MAX_TRADES_PER_MESSAGE = 3;
+        // Message values
+        static final String TOPIC_SEPARATOR = ".";
+        static final String KLINE_PREFIX = "kline.";
+        static final String SNAPSHOT = "snapshot";
+        static final String CROSS_SEQUENCE = "cs";
+        static final String BUY = "Buy";
+        static final String SELL = "Sell";
+        static final String PLUS_TICK = "PlusTick";
+        static final String MINUS_TICK = "MinusTick";
+        static final String ZERO_PLUS_TICK = "ZeroPlusTick";
+        static final String EMPTY = "";
+        // Kline fields
+        static final String KLINE_START = "start";
+        static final String KLINE_END = "end";
+        static final String KLINE_INTERVAL = "interval";
+        static final String KLINE_OPEN = "open";
+        static final String KLINE_CLOSE = "close";
+        static final String KLINE_HIGH = "high";
+        static final String KLINE_LOW = "low";
+        static final String KLINE_VOLUME = "volume";
+        static final String KLINE_TURNOVER = "turnover";
+        static final String KLINE_TIMESTAMP = "timestamp";
+        static final String CONFIRM = "confirm";
+        // Ticker fields
+        static final String TICKER_SYMBOL = "symbol";
+        static final String TICKER_TICK_DIRECTION = "tickDirection";
+        static final String TICKER_PRICE_24H_PCNT = "price24hPcnt";
+        static final String TICKER_LAST_PRICE = "lastPrice";
+        static final String TICKER_PREV_PRICE_24H = "prevPrice24h";
+        static final String TICKER_HIGH_PRICE_24H = "highPrice24h";
+        static final String TICKER_LOW_PRICE_24H = "lowPrice24h";
+        static final String TICKER_PREV_PRICE_1H = "prevPrice1h";
+        static final String TICKER_MARK_PRICE = "markPrice";
+        static final String TICKER_INDEX_PRICE = "indexPrice";
+        static final String TICKER_USD_INDEX_PRICE = "usdIndexPrice";
+        static final String TICKER_OPEN_INTEREST = "openInterest";
+        static final String TICKER_OPEN_INTEREST_VALUE = "openInterestValue";
+        static final String TICKER_TURNOVER_24H = "turnover24h";
+        static final String TICKER_VOLUME_24H = "volume24h";
+        static final String TICKER_NEXT_FUNDING_TIME = "nextFundingTime";
+        static final String TICKER_FUNDING_RATE = "fundingRate";
+        static final String TICKER_BID1_PRICE = "bid1Price";
+        static final String TICKER_BID1_SIZE = "bid1Size";
+        static final String TICKER_ASK1_PRICE = "ask1Price";
+        static final String TICKER_ASK1_SIZE = "ask1Size";
+        static final String TICKER_PRE_OPEN_PRICE = "preOpenPrice";
+        static final String TICKER_PRE_QTY = "preQty";
+        static final String TICKER_CUR_PRE_LISTING_PHASE = "curPreListingPhase";
+        // Trade and liquidation fields
+        static final String TRADE_ID = "i";
+        static final String TRADE_TIME = "T";
+        static final String TRADE_PRICE = "p";
+        static final String TRADE_SIZE = "v";
+        static final String TRADE_SIDE = "S";
+        static final String TRADE_TICK_DIRECTION = "L";
+        static final String BLOCK_TRADE = "BT";
+        static final String RPI_TRADE = "RPI";
+        // Order book deltas: push intervals and changed levels per delta for depths 1, 50, 200 and 1000
+        static final String DELTA = "delta";
+        static final long[] SPOT_DELTA_INTERVALS_MS = {10L, 20L, 200L, 200L};
+        static final long[] LINEAR_DELTA_INTERVALS_MS = {10L, 20L, 100L, 200L};
+        static final int[] CHANGES_PER_DELTA = {1, 4, 8, 16};
+        static final double REMOVE_PROBABILITY = 0.2d;
+        static final double INSERT_PROBABILITY = 0.3d;
+        static final int RESNAPSHOT_EVERY = 1_000;
+        static final String REMOVED_SIZE = "0";
+        static final int MAX_PRICE_SCALE = 8;
+        // Error messages
+        static final String ERR_UNSUPPORTED_TYPE = "Unsupported generator type: ";
+        static final String ERR_INVALID_DELTA_OPTIONS = "Delta options must be positive with probabilities in [0, 1]";
+    }
+
+    final static class Replay {
+        private Replay() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Speed value that disables pacing
+        static final double MAX_SPEED = 0d;
+        static final double REAL_TIME = 1d;
+        // Capture message fields
+        static final String TOPIC = "topic";
+        static final String TS = "ts";
+        static final String ERR_MISSING_TIMESTAMP = "Captured message has no numeric ts: ";
+        static final String ERR_ALREADY_STARTED = "Replay already started";
+        static final String ERR_INVALID_SPEED = "Speed must be positive or MAX_SPEED";
+    }
+
+    final static class Capture {
+        private Capture() {
+            throw new UnsupportedOperationException();
+        }
+
+        // File layout: header, blocks, topic table, sparse block index, trailer
+        static final int MAGIC = 0x43534350; // "CSCP"
+        static final int VERSION = 1;
+        static final int HEADER_SIZE = 16;
+        static final int BLOCK_HEADER_SIZE = 28;
+        static final int RECORD_HEADER_SIZE = 16;
+        static final int INDEX_ENTRY_SIZE = 16;
+        static final int TRAILER_SIZE = 28;
+        static final int BLOCK_SIZE = Integer.getInteger("test.capture.block.size", 64 * 1024);
+        static final int ZSTD_LEVEL = Integer.getInteger("test.capture.zstd.level", 3);
+        static final String ERR_NOT_CAPTURE = "Not a capture file: ";
+        static final String ERR_UNSUPPORTED_VERSION = "Unsupported capture version: ";
+        static final String ERR_UNSUPPORTED_COMPRESSION = "Unsupported capture compression: ";
+        static final String ERR_CORRUPTED_BLOCK = "Corrupted capture block at offset ";
+        static final String ERR_WRITER_CLOSED = "Capture writer is closed";
+    }
+
+    final static class Bulk {
+        private Bulk() {
+            throw new UnsupportedOperationException();
+        }
+
+        static final String COPY_BINARY = "COPY %s (%s) FROM STDIN (FORMAT binary)";
+        static final String SELECT_CHUNK_INTERVAL = "SELECT (EXTRACT(EPOCH FROM time_interval) * 1000)::bigint " +
+                "FROM timescaledb_information.dimensions WHERE hypertable_schema = ? AND hypertable_name = ? " +
+                "AND time_interval IS NOT NULL";
+        static final String KLINE_COLUMNS = "symbol, start_time, end_time, open_price, close_price, high_price, " +
+                "low_price, volume, turnover";
+        static final String SPOT_TRADE_COLUMNS = "symbol, trade_time, price, size, taker_side, is_block_trade, " +
+                "is_rpi";
+        static final String LINEAR_TRADE_COLUMNS = SPOT_TRADE_COLUMNS + ", tick_direction";
+        static final String ORDER_BOOK_COLUMNS = "symbol, engine_time, side, price, size";
+        static final String SPOT_TICKER_COLUMNS = "symbol, timestamp, last_price, high_price_24h, low_price_24h, " +
+                "prev_price_24h, volume_24h, turnover_24h, price_24h_pcnt";
+        static final String LIQUIDATION_COLUMNS = "symbol, event_time, position_side, executed_size, " +
+                "bankruptcy_price";
+        static final String BID = "bid";
+        static final String ASK = "ask";
+        // PGCOPY binary framing; timestamps are microseconds since 2000-01-01T00:00:00Z
+        static final byte[] COPY_SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+        static final short COPY_TRAILER = -1;
+        static final long PG_EPOCH_MICROS = 946_684_800_000_000L;
+        static final long DEFAULT_CHUNK_MILLIS = 6 * 3_600_000L;
+        // A COPY is flushed at every chunk boundary or once its buffers reach BATCH_BYTES
+        static final int BATCH_BYTES = Integer.getInteger("test.bulk.batch.bytes", 32 * 1024 * 1024);
+        static final int PARALLELISM = Integer.getInteger("test.bulk.parallelism", DB.POOL_SIZE);
+        static final int SYMBOLS = Integer.getInteger("test.bulk.symbols", 10);
+        static final long SEED = Long.getLong("test.bulk.seed", 42L);
+        static final String ERR_UNSUPPORTED_TABLE = "No bulk loader table for ";
+        static final String ERR_INVALID_OPTIONS = "Bulk load options must be positive";
     }
 
     final static class PodmanCompose {
@@ -165,14 +513,36 @@ final class Constants {
         static final String MQ_USER = System.getProperty("test.mq.user", "crypto_scout_mq");
         static final String MQ_PASSWORD = System.getProperty("test.mq.password", "crypto_scout_mq");
         static final String MQ_STREAM = System.getProperty("test.mq.stream", "bybit-stream");
+        static final int MQ_AMQP_PORT = Integer.parseInt(System.getProperty("test.mq.amqp.port",
+                Integer.toString(5672)));
+        // Keep the stack running across test classes and JVMs, resetting state instead of recreating containers
+        static final boolean REUSE = Boolean.getBoolean("podman.compose.reuse");
         static final Duration UP_TIMEOUT = Duration.ofMinutes(Long.getLong("podman.compose.up.timeout.min",
                 3L));
         static final Duration DOWN_TIMEOUT = Duration.ofMinutes(Long.getLong("podman.compose.down.timeout.min",
                 1L));
         static final Duration READY_RETRY_INTERVAL = Duration.ofSeconds(Long.getLong("podman.compose.ready.interval.sec",
                 2L));
+        // Readiness probes back off exponentially from this delay up to READY_RETRY_INTERVAL
+        static final Duration READY_BACKOFF_INITIAL = Duration.ofMillis(Long.getLong(
+                "podman.compose.ready.backoff.initial.ms", 5L));
+        // Use the compose healthcheck status reported by podman inspect instead of client handshakes
+        static final boolean READY_HEALTH = Boolean.getBoolean("podman.compose.ready.health");
+        static final String PROBE_CLIENT_NAME = "podman-compose-probe";
+        // Restore the initialized database from a committed image keyed by the schema hash
+        static final boolean DB_SNAPSHOT = Boolean.parseBoolean(System.getProperty("podman.compose.db.snapshot",
+                "true"));
+        static final String DB_IMAGE_ENV = "CRYPTO_SCOUT_DB_IMAGE";
+        static final String DB_SNAPSHOT_REPOSITORY = "localhost/crypto-scout-collector-db";
+        static final String DB_SNAPSHOT_IMAGE_PREFIX = DB_SNAPSHOT_REPOSITORY + ":schema-";
+        // Default database image of podman-compose.yml; its local image ID is part of the snapshot key
+        static final String DB_BASE_IMAGE = "timescale/timescaledb:latest-pg17";
+        static final String HASH_ALGORITHM = "SHA-256";
+        static final int HASH_HEX_LENGTH = 16;
         // Thread names
         static final String OUTPUT_THREAD_NAME = "podman-compose-output";
+        // Max time to wait for the output reader to reach end of stream once the process has exited
+        static final Duration OUTPUT_DRAIN_TIMEOUT = Duration.ofSeconds(5);
         // Podman resource files
         static final String SCRIPT_DIR_NAME = "script";
         static final String INIT_SQL = "init.sql";
@@ -197,6 +567,28 @@ final class Constants {
         static final String PS_FORMAT_ARG = "--format";
         static final String PS_NAMES_TEMPLATE = "{{.Names}}";
         static final long PS_TIMEOUT_SEC = 15L;
+        // Podman inspect invocation
+        static final String INSPECT_CMD = "inspect";
+        static final String INSPECT_STATUS_TEMPLATE = "{{.State.Status}}";
+        static final String STATE_RUNNING = "running";
+        static final String INSPECT_HEALTH_TEMPLATE = "{{.State.Health.Status}}";
+        static final String STATE_HEALTHY = "healthy";
+        // Podman image invocations
+        static final String IMAGE_CMD = "image";
+        static final String EXISTS_CMD = "exists";
+        static final String LS_CMD = "ls";
+        static final String RM_CMD = "rm";
+        static final String IMAGE_ID_TEMPLATE = "{{.Id}}";
+        static final String IMAGE_NAME_TEMPLATE = "{{.Repository}}:{{.Tag}}";
+        static final String COMMIT_CMD = "commit";
+        static final String PAUSE_ARG = "--pause=true";
+        static final long IMAGE_TIMEOUT_SEC = 120L;
+        // Startup timeline phases
+        static final String PHASE_COMPOSE_UP = "compose-up";
+        static final String PHASE_DB = "db";
+        static final String PHASE_MQ_AMQP = "mq-amqp";
+        static final String PHASE_MQ_STREAM = "mq-stream";
+        static final String PHASE_DB_SNAPSHOT = "db-snapshot";
         // Misc
         static final String LINE_SPLIT_REGEX = "\\R";
         // Numeric boundaries
@@ -220,5 +612,8 @@ final class Constants {
         static final String ERR_MQ_NOT_READY_PREFIX = "MQ was not ready within ";
         static final String ERR_MQ_NOT_READY_SUFFIX = " seconds";
         static final String ERR_TABLE_ROW_COUNT = "Unexpected row count for table: ";
+        static final String ERR_TABLE_ROW_COUNTS = "Unexpected row counts after ";
+        static final String ERR_MATCHING_ROW_COUNT = "Unexpected matching row count for table: ";
+        static final String ERR_RESET_FAILED = "Failed to reset environment state";
     }
 }
@@ -30,12 +30,26 @@ import org.slf4j.LoggerFactory;
 import javax.sql.DataSource;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Collectors;
 
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.CHECKPOINT;
 import static com.github.akarazhev.cryptoscout.test.Constants.DB.DB_PASSWORD;
 import static com.github.akarazhev.cryptoscout.test.Constants.DB.DB_USER;
 import static com.github.akarazhev.cryptoscout.test.Constants.DB.DELETE_FROM_TABLE;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.FIRST_ROW;
 import static com.github.akarazhev.cryptoscout.test.Constants.DB.JDBC_URL;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.SCHEMA;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.SELECT_NON_EMPTY;
 import static com.github.akarazhev.cryptoscout.test.Constants.DB.SELECT_ONE;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.SELECT_SCHEMA_TABLES;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.TABLE_SEPARATOR;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.TRUNCATE_TABLES;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.UNION_ALL;
 
 public class DBUtils {
     private DBUtils() {
@@ -79,4 +93,120 @@ public class DBUtils {
             return false;
         }
     }
+
+    /**
+     * Returns the shared pooled data source for the configured test database.
+     *
+     * @return a data source whose connections return to a small shared pool when closed
+     */
+    public static DataSource getDataSource() {
+        return ConnectionPool.shared();
+    }
+
+    /**
+     * Empties the given tables with {@code TRUNCATE ... RESTART IDENTITY} using the shared pool.
+     *
+     * @param tables the table names to reset
+     * @return per-table timings and the tables that were already empty
+     * @throws SQLException if a table cannot be probed or truncated
+     * @see #resetTables(DataSource, String...)
+     */
+    public static ResetResult resetTables(final String... tables) throws SQLException {
+        return resetTables(ConnectionPool.shared(), tables);
+    }
+
+    /**
+     * Empties the given tables. A single {@code UNION ALL} of {@code EXISTS} probes finds the tables that hold
+     * rows; only those are truncated, together in one {@code TRUNCATE} statement. Truncating hypertables in
+     * parallel sessions makes them contend for the same catalog locks, while one statement takes the locks once.
+     * Truncating a hypertable drops its chunks instead of deleting rows, and {@code RESTART IDENTITY} resets the
+     * {@code BIGSERIAL} ids.
+     *
+     * @param dataSource the data source to use for connections
+     * @param tables the table names to reset
+     * @return the truncated tables, the tables that were already empty and the timings
+     * @throws SQLException if a table cannot be probed or truncated
+     */
+    public static ResetResult resetTables(final DataSource dataSource, final String... tables) throws SQLException {
+        final var start = System.nanoTime();
+        if (tables.length == 0) {
+            return new ResetResult(List.of(), List.of(), Duration.ZERO, Duration.ZERO);
+        }
+
+        final var nonEmpty = new LinkedHashSet<String>();
+        var truncateTime = Duration.ZERO;
+        try (final var conn = dataSource.getConnection();
+             final var st = conn.createStatement()) {
+            try (final var rs = st.executeQuery(Arrays.stream(tables)
+                    .map(table -> String.format(SELECT_NON_EMPTY, table))
+                    .collect(Collectors.joining(UNION_ALL)))) {
+                while (rs.next()) {
+                    nonEmpty.add(rs.getString(FIRST_ROW));
+                }
+            }
+
+            if (!nonEmpty.isEmpty()) {
+                final var truncateStart = System.nanoTime();
+                st.execute(String.format(TRUNCATE_TABLES, String.join(TABLE_SEPARATOR, nonEmpty)));
+                truncateTime = Duration.ofNanos(System.nanoTime() - truncateStart);
+            }
+        }
+
+        final var truncated = new ArrayList<String>();
+        final var skipped = new ArrayList<String>();
+        for (final var table : tables) {
+            (nonEmpty.contains(table) ? truncated : skipped).add(table);
+        }
+
+        final var result = new ResetResult(List.copyOf(truncated), List.copyOf(skipped), truncateTime,
+                Duration.ofNanos(System.nanoTime() - start));
+        LOGGER.debug("Reset {} tables ({} already empty) in {} ms", truncated.size(), skipped.size(),
+                result.elapsed().toMillis());
+        return result;
+    }
+
+    /**
+     * Resets every table of the {@code crypto_scout} schema.
+     *
+     * @return per-table timings and the tables that were already empty
+     * @throws SQLException if the tables cannot be listed, probed or truncated
+     */
+    public static ResetResult resetSchema() throws SQLException {
+        final var tables = new ArrayList<String>();
+        try (final var conn = ConnectionPool.shared().getConnection();
+             final var ps = conn.prepareStatement(SELECT_SCHEMA_TABLES)) {
+            ps.setString(1, SCHEMA);
+            try (final var rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    tables.add(rs.getString(FIRST_ROW));
+                }
+            }
+        }
+
+        return resetTables(tables.toArray(String[]::new));
+    }
+
+    /**
+     * Forces a checkpoint so that the data files on disk reflect every committed transaction.
+     *
+     * @throws SQLException if the checkpoint fails
+     */
+    static void checkpoint() throws SQLException {
+        try (final var conn = DriverManager.getConnection(JDBC_URL, DB_USER, DB_PASSWORD);
+             final var st = conn.createStatement()) {
+            st.execute(CHECKPOINT);
+        }
+    }
+
+    /**
+     * Outcome of a table reset.
+     *
+     * @param truncated tables that held rows and were truncated, in argument order
+     * @param skipped tables that were already empty
+     * @param truncateTime time spent in the {@code TRUNCATE} statement
+     * @param elapsed total time including the emptiness probe
+     */
+    public record ResetResult(List<String> truncated, List<String> skipped, Duration truncateTime,
+                              Duration elapsed) {
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+/**
+ * Allocation-light decimal formatting for generated prices and sizes.
+ */
+final class Decimals {
+    private static final long[] POW10 = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L,
+            100_000_000L, 1_000_000_000L};
+
+    private Decimals() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Rounds the value to the given number of fraction digits.
+     */
+    static long unscaled(final double value, final int scale) {
+        return Math.round(value * POW10[scale]);
+    }
+
+    static double scaled(final long unscaled, final int scale) {
+        return (double) unscaled / POW10[scale];
+    }
+
+    /**
+     * Formats a fixed-point value with exactly {@code scale} fraction digits, e.g. {@code (1033934, 1) -> "103393.4"}.
+     */
+    static String format(final long unscaled, final int scale) {
+        final var sb = new StringBuilder(24);
+        var value = unscaled;
+        if (value < 0) {
+            sb.append('-');
+            value = -value;
+        }
+
+        if (scale == 0) {
+            return sb.append(value).toString();
+        }
+
+        final var pow = POW10[scale];
+        sb.append(value / pow).append('.');
+        final var fraction = value % pow;
+        for (var p = pow / 10; p > fraction && p > 1; p /= 10) {
+            sb.append('0');
+        }
+
+        return sb.append(fraction).toString();
+    }
+
+    static String format(final double value, final int scale) {
+        return format(unscaled(value, scale), scale);
+    }
+}
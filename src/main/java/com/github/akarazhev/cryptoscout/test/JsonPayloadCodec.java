@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import com.github.akarazhev.jcryptolib.stream.Message;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.util.JsonUtils;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.CONTENT_TYPE_JSON;
+
+/**
+ * The JSON encoding of {@link JsonUtils}, as used by the services under test.
+ */
+final class JsonPayloadCodec implements PayloadCodec {
+    static final JsonPayloadCodec INSTANCE = new JsonPayloadCodec();
+
+    private JsonPayloadCodec() {
+    }
+
+    @Override
+    public String contentType() {
+        return CONTENT_TYPE_JSON;
+    }
+
+    @Override
+    public byte[] encodePayload(final Payload<Map<String, Object>> payload) throws IOException {
+        return JsonUtils.object2Bytes(payload);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Payload<Map<String, Object>> decodePayload(final byte[] body) throws IOException {
+        return (Payload<Map<String, Object>>) JsonUtils.bytes2Object(body, Payload.class);
+    }
+
+    @Override
+    public byte[] encodeMessage(final Message<?> message) throws IOException {
+        return JsonUtils.object2Bytes(message);
+    }
+
+    @Override
+    public Message<?> decodeMessage(final byte[] body) throws IOException {
+        return JsonUtils.bytes2Object(body, Message.class);
+    }
+}
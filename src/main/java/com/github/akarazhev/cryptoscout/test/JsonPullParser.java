@@ -0,0 +1,374 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.Json.BUFFER_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Json.ERR_UNEXPECTED_CHAR;
+import static com.github.akarazhev.cryptoscout.test.Constants.Json.ERR_UNEXPECTED_EOF;
+import static com.github.akarazhev.cryptoscout.test.Constants.Json.ERR_UNEXPECTED_TOKEN;
+import static com.github.akarazhev.cryptoscout.test.Constants.Json.MAX_EXACT_DIGITS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Json.MAX_EXACT_POW10;
+
+/**
+ * Minimal pull parser over a JSON byte stream. Scalar values are kept in a reusable buffer and only
+ * materialized on request, so walking large arrays does not allocate per element.
+ */
+final class JsonPullParser implements AutoCloseable {
+    private static final double[] POW10 = new double[MAX_EXACT_POW10 + 1];
+
+    static {
+        POW10[0] = 1d;
+        for (var i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10d;
+        }
+    }
+
+    enum Token {
+        START_OBJECT, END_OBJECT, START_ARRAY, END_ARRAY, FIELD_NAME, STRING, NUMBER, TRUE, FALSE, NULL
+    }
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private byte[] text = new byte[64];
+    private int textLength;
+    private boolean[] objects = new boolean[16];
+    private int depth;
+    private boolean expectName;
+    private Token token;
+
+    JsonPullParser(final InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Advances to the next token.
+     *
+     * @return the next token or {@code null} at the end of input
+     * @throws IOException if the stream cannot be read or is malformed
+     */
+    Token next() throws IOException {
+        var c = skipSeparators();
+        if (c < 0) {
+            token = null;
+            return null;
+        }
+
+        switch (c) {
+            case '{' -> {
+                push(true);
+                token = Token.START_OBJECT;
+            }
+            case '[' -> {
+                push(false);
+                token = Token.START_ARRAY;
+            }
+            case '}', ']' -> {
+                depth--;
+                expectName = false;
+                token = c == '}' ? Token.END_OBJECT : Token.END_ARRAY;
+            }
+            case '"' -> {
+                readString();
+                if (expectName) {
+                    expectName = false;
+                    if (skipWhitespace() != ':') {
+                        throw new IOException(ERR_UNEXPECTED_CHAR + (char) peek());
+                    }
+
+                    position++;
+                    token = Token.FIELD_NAME;
+                } else {
+                    token = Token.STRING;
+                }
+            }
+            case 't' -> token = literal(Token.TRUE, 4);
+            case 'f' -> token = literal(Token.FALSE, 5);
+            case 'n' -> token = literal(Token.NULL, 4);
+            default -> {
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    readNumber();
+                    token = Token.NUMBER;
+                } else {
+                    throw new IOException(ERR_UNEXPECTED_CHAR + (char) c);
+                }
+            }
+        }
+
+        return token;
+    }
+
+    Token token() {
+        return token;
+    }
+
+    /**
+     * Skips the value following the current field name, or the children of the current container.
+     */
+    void skipValue() throws IOException {
+        var current = token == Token.FIELD_NAME ? next() : token;
+        if (current != Token.START_OBJECT && current != Token.START_ARRAY) {
+            return;
+        }
+
+        var open = 1;
+        while (open > 0) {
+            final var t = next();
+            if (t == null) {
+                throw new IOException(ERR_UNEXPECTED_EOF);
+            }
+
+            if (t == Token.START_OBJECT || t == Token.START_ARRAY) {
+                open++;
+            } else if (t == Token.END_OBJECT || t == Token.END_ARRAY) {
+                open--;
+            }
+        }
+    }
+
+    void expect(final Token expected) throws IOException {
+        final var actual = next();
+        if (actual != expected) {
+            throw new IOException(ERR_UNEXPECTED_TOKEN + actual);
+        }
+    }
+
+    boolean textEquals(final byte[] ascii) {
+        return Arrays.equals(text, 0, textLength, ascii, 0, ascii.length);
+    }
+
+    String text() {
+        return new String(text, 0, textLength, StandardCharsets.UTF_8);
+    }
+
+    long longValue() {
+        var i = 0;
+        var negative = false;
+        if (textLength > 0 && text[0] == '-') {
+            negative = true;
+            i++;
+        }
+
+        var value = 0L;
+        for (; i < textLength; i++) {
+            final var b = text[i];
+            if (b < '0' || b > '9') {
+                return (long) doubleValue();
+            }
+
+            value = value * 10 + (b - '0');
+        }
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses the current string or number token as a double without allocating. Plain decimals with up
+     * to 15 significant digits are converted exactly; anything else falls back to the JDK parser.
+     */
+    double doubleValue() {
+        var i = 0;
+        var negative = false;
+        if (textLength > 0 && (text[0] == '-' || text[0] == '+')) {
+            negative = text[0] == '-';
+            i++;
+        }
+
+        var mantissa = 0L;
+        var digits = 0;
+        var scale = 0;
+        var dot = false;
+        for (; i < textLength; i++) {
+            final var b = text[i];
+            if (b >= '0' && b <= '9') {
+                if (digits > 0 || b != '0') {
+                    digits++;
+                }
+
+                mantissa = mantissa * 10 + (b - '0');
+                if (dot) {
+                    scale++;
+                }
+            } else if (b == '.' && !dot) {
+                dot = true;
+            } else {
+                return fallbackDouble();
+            }
+        }
+
+        if (textLength == 0 || digits > MAX_EXACT_DIGITS || scale > MAX_EXACT_POW10) {
+            return fallbackDouble();
+        }
+
+        final var value = mantissa / POW10[scale];
+        return negative ? -value : value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private double fallbackDouble() {
+        return Double.parseDouble(new String(text, 0, textLength, StandardCharsets.US_ASCII));
+    }
+
+    private void push(final boolean object) {
+        if (depth == objects.length) {
+            objects = Arrays.copyOf(objects, depth * 2);
+        }
+
+        objects[depth++] = object;
+        expectName = object;
+    }
+
+    private int skipSeparators() throws IOException {
+        var c = skipWhitespace();
+        if (c == ',') {
+            position++;
+            expectName = depth > 0 && objects[depth - 1];
+            c = skipWhitespace();
+        }
+
+        if (c >= 0) {
+            position++;
+        }
+
+        return c;
+    }
+
+    private int skipWhitespace() throws IOException {
+        while (true) {
+            final var c = peek();
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+
+            position++;
+        }
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+
+        return buffer[position] & 0xFF;
+    }
+
+    private int read() throws IOException {
+        final var c = peek();
+        if (c < 0) {
+            throw new IOException(ERR_UNEXPECTED_EOF);
+        }
+
+        position++;
+        return c;
+    }
+
+    private boolean fill() throws IOException {
+        final var n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+    private void append(final int b) {
+        if (textLength == text.length) {
+            text = Arrays.copyOf(text, textLength * 2);
+        }
+
+        text[textLength++] = (byte) b;
+    }
+
+    private void readString() throws IOException {
+        textLength = 0;
+        while (true) {
+            final var c = read();
+            if (c == '"') {
+                return;
+            }
+
+            if (c != '\\') {
+                append(c);
+                continue;
+            }
+
+            final var e = read();
+            switch (e) {
+                case 'b' -> append('\b');
+                case 'f' -> append('\f');
+                case 'n' -> append('\n');
+                case 'r' -> append('\r');
+                case 't' -> append('\t');
+                case 'u' -> appendCodePoint();
+                default -> append(e);
+            }
+        }
+    }
+
+    private void appendCodePoint() throws IOException {
+        var cp = 0;
+        for (var i = 0; i < 4; i++) {
+            cp = (cp << 4) | Character.digit(read(), 16);
+        }
+
+        for (final var b : Character.toString(cp).getBytes(StandardCharsets.UTF_8)) {
+            append(b);
+        }
+    }
+
+    private void readNumber() throws IOException {
+        textLength = 0;
+        append(buffer[position - 1]);
+        while (true) {
+            final var c = peek();
+            if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                append(c);
+                position++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private Token literal(final Token literal, final int length) throws IOException {
+        for (var i = 1; i < length; i++) {
+            read();
+        }
+
+        return literal;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import com.rabbitmq.client.ConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.AMQP_ANALYST_QUEUE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.AMQP_BYBIT_ROUTING_KEY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.AMQP_BYBIT_TA_ROUTING_KEY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.AMQP_CHATBOT_QUEUE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.AMQP_COLLECTOR_EXCHANGE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.AMQP_COLLECTOR_QUEUE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.AMQP_CRYPTO_SCOUT_ROUTING_KEY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.AMQP_DLX_QUEUE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.RESET_CLIENT_NAME;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.STREAM_ARGUMENTS;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MQ_AMQP_PORT;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MQ_HOST;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MQ_PASSWORD;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MQ_USER;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.BYBIT_STREAM;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.BYBIT_TA_STREAM;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.CRYPTO_SCOUT_STREAM;
+
+final class MQUtils {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MQUtils.class);
+    private static final String[] CLASSIC_QUEUES = {
+            AMQP_COLLECTOR_QUEUE, AMQP_CHATBOT_QUEUE, AMQP_ANALYST_QUEUE, AMQP_DLX_QUEUE
+    };
+    private static final Map<String, String> STREAM_BINDINGS = Map.of(
+            BYBIT_STREAM, AMQP_BYBIT_ROUTING_KEY,
+            BYBIT_TA_STREAM, AMQP_BYBIT_TA_ROUTING_KEY,
+            CRYPTO_SCOUT_STREAM, AMQP_CRYPTO_SCOUT_ROUTING_KEY);
+
+    private MQUtils() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Brings the broker back to its definitions state: classic queues are purged and streams, which cannot
+     * be purged, are deleted and re-declared with their exchange bindings.
+     *
+     * @throws Exception if the broker cannot be reached or a queue operation fails
+     */
+    static void reset() throws Exception {
+        final var factory = new ConnectionFactory();
+        factory.setHost(MQ_HOST);
+        factory.setPort(MQ_AMQP_PORT);
+        factory.setUsername(MQ_USER);
+        factory.setPassword(MQ_PASSWORD);
+        try (final var connection = factory.newConnection(RESET_CLIENT_NAME);
+             final var channel = connection.createChannel()) {
+            for (final var queue : CLASSIC_QUEUES) {
+                final var purged = channel.queuePurge(queue).getMessageCount();
+                LOGGER.debug("Purged {} messages from {}", purged, queue);
+            }
+
+            for (final var binding : STREAM_BINDINGS.entrySet()) {
+                channel.queueDelete(binding.getKey());
+                channel.queueDeclare(binding.getKey(), true, false, false, STREAM_ARGUMENTS);
+                channel.queueBind(binding.getKey(), AMQP_COLLECTOR_EXCHANGE, binding.getValue());
+            }
+        }
+    }
+}
@@ -26,13 +26,25 @@ package com.github.akarazhev.cryptoscout.test;
 
 import com.github.akarazhev.jcryptolib.util.JsonUtils;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import static com.github.akarazhev.cryptoscout.test.Constants.MockData.ERR_FILE_NOT_FOUND_PREFIX;
 import static com.github.akarazhev.cryptoscout.test.Constants.MockData.JSON_EXTENSION;
 import static com.github.akarazhev.cryptoscout.test.Constants.PATH_SEPARATOR;
 
 public final class MockData {
+    private static final Map<String, Map<String, Object>> CACHE = new ConcurrentHashMap<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder PARSE_NANOS = new LongAdder();
 
     public enum Source {
         CRYPTO_SCOUT(Constants.MockData.CRYPTO_SCOUT),
@@ -72,6 +84,10 @@ public final class MockData {
             this.type = type;
         }
 
+        public String getName() {
+            return type;
+        }
+
         public String getPath(final Source source) {
             return source.source + PATH_SEPARATOR + type + JSON_EXTENSION;
         }
@@ -82,20 +98,138 @@ public final class MockData {
     }
 
     /**
-     * Returns mock data for the specified source and type.
+     * Returns mock data for the specified source and type. Each fixture is parsed once per JVM and the
+     * same deep-immutable snapshot is returned on subsequent calls, so callers must not modify it.
      *
      * @param source the data source (e.g., BYBIT_SPOT, COIN_MARKET_CAP)
      * @param type the data type (e.g., KLINE_1)
-     * @return a Map containing the mock data
+     * @return an immutable Map containing the mock data
      * @throws Exception if the requested data is not found or cannot be read
      */
     public static Map<String, Object> get(final Source source, final Type type) throws Exception {
-        try (final var is = MockData.class.getClassLoader().getResourceAsStream(type.getPath(source))) {
+        final var path = type.getPath(source);
+        final var cached = CACHE.get(path);
+        if (cached != null) {
+            HITS.increment();
+            return cached;
+        }
+
+        MISSES.increment();
+        final var loaded = load(path);
+        final var previous = CACHE.putIfAbsent(path, loaded);
+        return previous != null ? previous : loaded;
+    }
+
+    /**
+     * Returns a mutable deep copy of the mock data for tests that need to modify a fixture.
+     *
+     * @param source the data source
+     * @param type the data type
+     * @return a mutable Map containing the mock data
+     * @throws Exception if the requested data is not found or cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> copyOf(final Source source, final Type type) throws Exception {
+        return (Map<String, Object>) deepCopy(get(source, type));
+    }
+
+    /**
+     * Opens a recorded capture, the multi-message counterpart of the bundled single-message fixtures. Use
+     * {@link CaptureReader#events(long)} to feed it to a {@link ReplayEngine}.
+     *
+     * @param path a capture file written by {@link CaptureWriter}
+     * @return the reader, to be closed by the caller
+     * @throws IOException if the file cannot be mapped
+     */
+    public static CaptureReader capture(final Path path) throws IOException {
+        return CaptureReader.open(path);
+    }
+
+    /**
+     * Returns the fixture cache counters accumulated since start or the last {@link #clearCache()}.
+     *
+     * @return cache statistics
+     */
+    public static CacheStats getCacheStats() {
+        return new CacheStats(HITS.sum(), MISSES.sum(), PARSE_NANOS.sum(), CACHE.size());
+    }
+
+    /**
+     * Drops all cached fixtures and resets the counters.
+     */
+    public static void clearCache() {
+        CACHE.clear();
+        HITS.reset();
+        MISSES.reset();
+        PARSE_NANOS.reset();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> load(final String path) throws Exception {
+        try (final var is = MockData.class.getClassLoader().getResourceAsStream(path)) {
             if (is == null) {
-                throw new IllegalStateException(ERR_FILE_NOT_FOUND_PREFIX + type.getPath(source));
+                throw new IllegalStateException(ERR_FILE_NOT_FOUND_PREFIX + path);
             }
 
-            return JsonUtils.json2Map(is);
+            final var start = System.nanoTime();
+            final var data = (Map<String, Object>) freeze(JsonUtils.json2Map(is));
+            PARSE_NANOS.add(System.nanoTime() - start);
+            return data;
         }
     }
+
+    private static Object freeze(final Object value) {
+        if (value instanceof Map<?, ?> map) {
+            final var copy = new LinkedHashMap<Object, Object>(map.size() * 2);
+            for (final var entry : map.entrySet()) {
+                copy.put(entry.getKey(), freeze(entry.getValue()));
+            }
+
+            return Collections.unmodifiableMap(copy);
+        }
+
+        if (value instanceof List<?> list) {
+            final var copy = new ArrayList<>(list.size());
+            for (final var item : list) {
+                copy.add(freeze(item));
+            }
+
+            return Collections.unmodifiableList(copy);
+        }
+
+        return value;
+    }
+
+    private static Object deepCopy(final Object value) {
+        if (value instanceof Map<?, ?> map) {
+            final var copy = new LinkedHashMap<Object, Object>(map.size() * 2);
+            for (final var entry : map.entrySet()) {
+                copy.put(entry.getKey(), deepCopy(entry.getValue()));
+            }
+
+            return copy;
+        }
+
+        if (value instanceof List<?> list) {
+            final var copy = new ArrayList<>(list.size());
+            for (final var item : list) {
+                copy.add(deepCopy(item));
+            }
+
+            return copy;
+        }
+
+        return value;
+    }
+
+    /**
+     * Fixture cache counters.
+     *
+     * @param hits number of calls served from the cache
+     * @param misses number of calls that had to parse the resource
+     * @param parseNanos total time spent parsing resources
+     * @param size number of cached fixtures
+     */
+    public record CacheStats(long hits, long misses, long parseNanos, int size) {
+    }
 }
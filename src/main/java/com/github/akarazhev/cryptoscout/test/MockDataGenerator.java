@@ -0,0 +1,469 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.BASE_PRICES;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.BASE_SYMBOLS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.BASE_PRICE_SCALES;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.BLOCK_TRADE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.BUY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.CONFIRM;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.CROSS_SEQUENCE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.DEFAULT_START_TS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.DEFAULT_STEP_MILLIS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.DEFAULT_VOLATILITY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.EMPTY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.ERR_UNSUPPORTED_TYPE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.FALLBACK_PRICE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.FALLBACK_PRICE_SCALE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.FALLBACK_SYMBOL_FORMAT;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_CLOSE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_END;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_HIGH;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_INTERVAL;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_LOW;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_OPEN;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_PREFIX;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_START;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_TIMESTAMP;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_TURNOVER;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.KLINE_VOLUME;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.LINEAR_SIZE_SCALE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.MAX_TRADES_PER_MESSAGE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.MINUS_TICK;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.PLUS_TICK;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.RPI_TRADE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.SELL;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.SNAPSHOT;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.SPOT_SIZE_SCALE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_ASK1_PRICE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_ASK1_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_BID1_PRICE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_BID1_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_CUR_PRE_LISTING_PHASE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_FUNDING_RATE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_HIGH_PRICE_24H;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_INDEX_PRICE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_LAST_PRICE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_LOW_PRICE_24H;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_MARK_PRICE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_NEXT_FUNDING_TIME;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_OPEN_INTEREST;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_OPEN_INTEREST_VALUE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_PRE_OPEN_PRICE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_PRE_QTY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_PREV_PRICE_1H;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_PREV_PRICE_24H;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_PRICE_24H_PCNT;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_SYMBOL;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_TICK_DIRECTION;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_TURNOVER_24H;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_USD_INDEX_PRICE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_VOLUME_24H;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TOPIC_SEPARATOR;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TRADE_ID;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TRADE_PRICE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TRADE_SIDE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TRADE_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TRADE_TICK_DIRECTION;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TRADE_TIME;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.ZERO_PLUS_TICK;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.ASKS;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.BIDS;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.CTS;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.DATA;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.SEQ;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.SYMBOL;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.TOPIC;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.TS;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.TYPE;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.UPDATE_ID;
+
+/**
+ * Deterministic, unbounded generator of Bybit-shaped messages for load testing. Messages follow the schema of
+ * the {@link MockData} fixtures of the same source and type, cycle round-robin over the configured symbols,
+ * move prices with a per-symbol random walk and carry monotonic {@code ts}, {@code seq} and {@code u} values.
+ * The same seed always yields the same sequence.
+ */
+public final class MockDataGenerator implements Iterator<Map<String, Object>> {
+    private final MockData.Source source;
+    private final MockData.Type type;
+    private final SplittableRandom random;
+    private final String[] symbols;
+    private final String[] topics;
+    private final int[] priceScales;
+    private final double[] prices;
+    private final double[] openPrices;
+    private final long[] updateIds;
+    private final long stepMillis;
+    private final long intervalMillis;
+    private final String interval;
+    private final int depth;
+    private final int sizeScale;
+    private final boolean linear;
+    private long ts;
+    private long seq;
+    private long tradeId;
+    private long count;
+
+    /**
+     * Creates a generator starting from the default timestamp with one millisecond between symbol rounds.
+     *
+     * @param source BYBIT_SPOT or BYBIT_LINEAR
+     * @param type the message type to generate
+     * @param symbols number of symbols to cycle through
+     * @param seed the random seed
+     * @return the generator
+     */
+    public static MockDataGenerator create(final MockData.Source source, final MockData.Type type,
+                                           final int symbols, final long seed) {
+        return create(source, type, symbols(symbols), seed, DEFAULT_START_TS, DEFAULT_STEP_MILLIS);
+    }
+
+    /**
+     * Creates a generator.
+     *
+     * @param source BYBIT_SPOT or BYBIT_LINEAR
+     * @param type the message type to generate
+     * @param symbols the symbols to cycle through
+     * @param seed the random seed
+     * @param startTs the timestamp of the first message in millis
+     * @param stepMillis the time between two rounds over all symbols; ignored for klines, which advance by
+     *                   their interval
+     * @return the generator
+     */
+    public static MockDataGenerator create(final MockData.Source source, final MockData.Type type,
+                                           final List<String> symbols, final long seed, final long startTs,
+                                           final long stepMillis) {
+        return new MockDataGenerator(source, type, symbols, seed, startTs, stepMillis);
+    }
+
+    /**
+     * Returns the first {@code count} symbols of the default universe, padded with synthetic names.
+     */
+    public static List<String> symbols(final int count) {
+        final var result = new ArrayList<String>(count);
+        for (var i = 0; i < count; i++) {
+            result.add(i < BASE_SYMBOLS.length ? BASE_SYMBOLS[i] : String.format(FALLBACK_SYMBOL_FORMAT, i));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns whether messages of the type can be generated for the source.
+     */
+    public static boolean supports(final MockData.Source source, final MockData.Type type) {
+        return source != MockData.Source.CRYPTO_SCOUT && isSupported(type, source == MockData.Source.BYBIT_LINEAR);
+    }
+
+    private MockDataGenerator(final MockData.Source source, final MockData.Type type, final List<String> symbols,
+                              final long seed, final long startTs, final long stepMillis) {
+        this.source = source;
+        this.type = type;
+        this.linear = source == MockData.Source.BYBIT_LINEAR;
+        if (!supports(source, type)) {
+            throw new IllegalStateException(ERR_UNSUPPORTED_TYPE + source + TOPIC_SEPARATOR + type);
+        }
+
+        this.random = new SplittableRandom(seed);
+        this.symbols = symbols.toArray(String[]::new);
+        this.topics = new String[this.symbols.length];
+        this.priceScales = new int[this.symbols.length];
+        this.prices = new double[this.symbols.length];
+        this.openPrices = new double[this.symbols.length];
+        this.updateIds = new long[this.symbols.length];
+        this.stepMillis = stepMillis;
+        this.intervalMillis = intervalMillis(type);
+        this.interval = intervalMillis > 0 ? type.getName().substring(KLINE_PREFIX.length()) : null;
+        this.depth = isOrderBook(type) ? OrderBookReader.depthOf(type) : 0;
+        this.sizeScale = linear ? LINEAR_SIZE_SCALE : SPOT_SIZE_SCALE;
+        final var prefix = type.getName() + TOPIC_SEPARATOR;
+        for (var i = 0; i < this.symbols.length; i++) {
+            final var base = baseIndex(this.symbols[i]);
+            this.topics[i] = prefix + this.symbols[i];
+            this.priceScales[i] = base >= 0 ? BASE_PRICE_SCALES[base] : FALLBACK_PRICE_SCALE;
+            this.prices[i] = base >= 0 ? BASE_PRICES[base] : FALLBACK_PRICE;
+            this.openPrices[i] = this.prices[i];
+        }
+
+        this.ts = intervalMillis > 0 ? startTs - startTs % intervalMillis : startTs;
+        this.seq = Math.abs(seed % 1_000_000L) * 1_000L + 1L;
+        this.tradeId = seq;
+    }
+
+    public MockData.Source getSource() {
+        return source;
+    }
+
+    public MockData.Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of messages generated so far.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Always {@code true}: the sequence is unbounded, use {@link #stream()} with {@code limit} to bound it.
+     */
+    @Override
+    public boolean hasNext() {
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        final var i = (int) (count % symbols.length);
+        if (i == 0 && count > 0) {
+            ts += intervalMillis > 0 ? intervalMillis : stepMillis;
+        }
+
+        count++;
+        seq += 1 + random.nextInt(4);
+        final var previous = prices[i];
+        prices[i] = walk(previous);
+        return switch (type) {
+            case KLINE_1, KLINE_5, KLINE_15, KLINE_60, KLINE_240, KLINE_D -> kline(i);
+            case TICKERS -> linear ? linearTicker(i, previous) : spotTicker(i);
+            case PUBLIC_TRADE -> trades(i, previous);
+            case ORDER_BOOK_1, ORDER_BOOK_50, ORDER_BOOK_200, ORDER_BOOK_1000 -> orderBook(i);
+            case ALL_LIQUIDATION -> liquidation(i);
+            default -> throw new IllegalStateException(ERR_UNSUPPORTED_TYPE + type);
+        };
+    }
+
+    /**
+     * Returns an unbounded sequential stream over this generator.
+     */
+    public Stream<Map<String, Object>> stream() {
+        return Stream.generate(this::next);
+    }
+
+    private Map<String, Object> kline(final int i) {
+        final var scale = priceScales[i];
+        final var open = openPrices[i];
+        final var close = prices[i];
+        final var spread = Math.abs(close - open) + open * DEFAULT_VOLATILITY * random.nextDouble();
+        final var volume = random.nextDouble() * 100d;
+        final var candle = new HashMap<String, Object>(16);
+        candle.put(KLINE_START, ts);
+        candle.put(KLINE_END, ts + intervalMillis - 1);
+        candle.put(KLINE_INTERVAL, interval);
+        candle.put(KLINE_OPEN, Decimals.format(open, scale));
+        candle.put(KLINE_CLOSE, Decimals.format(close, scale));
+        candle.put(KLINE_HIGH, Decimals.format(Math.max(open, close) + spread * random.nextDouble(), scale));
+        candle.put(KLINE_LOW, Decimals.format(Math.min(open, close) - spread * random.nextDouble(), scale));
+        candle.put(KLINE_VOLUME, Decimals.format(volume, sizeScale));
+        candle.put(KLINE_TURNOVER, Decimals.format(volume * (open + close) / 2d, 4));
+        candle.put(CONFIRM, Boolean.TRUE);
+        candle.put(KLINE_TIMESTAMP, ts + intervalMillis);
+        openPrices[i] = close;
+        return message(i, ts + intervalMillis, List.of(candle));
+    }
+
+    private Map<String, Object> spotTicker(final int i) {
+        final var scale = priceScales[i];
+        final var price = prices[i];
+        final var data = new HashMap<String, Object>(16);
+        data.put(TICKER_SYMBOL, symbols[i]);
+        data.put(TICKER_LAST_PRICE, Decimals.format(price, scale));
+        data.put(TICKER_HIGH_PRICE_24H, Decimals.format(price * 1.02d, scale));
+        data.put(TICKER_LOW_PRICE_24H, Decimals.format(price * 0.98d, scale));
+        data.put(TICKER_PREV_PRICE_24H, Decimals.format(openPrices[i], scale));
+        data.put(TICKER_VOLUME_24H, Decimals.format(10_000d + random.nextDouble() * 1_000d, sizeScale));
+        data.put(TICKER_TURNOVER_24H, Decimals.format(price * 10_000d, 4));
+        data.put(TICKER_PRICE_24H_PCNT, Decimals.format(price / openPrices[i] - 1d, 4));
+        data.put(TICKER_USD_INDEX_PRICE, Decimals.format(price, scale + 2));
+        final var message = message(i, ts, data);
+        message.put(CROSS_SEQUENCE, seq);
+        return message;
+    }
+
+    private Map<String, Object> linearTicker(final int i, final double previous) {
+        final var scale = priceScales[i];
+        final var price = prices[i];
+        final var tick = Decimals.unscaled(price, scale);
+        final var data = new HashMap<String, Object>(32);
+        data.put(TICKER_SYMBOL, symbols[i]);
+        data.put(TICKER_TICK_DIRECTION, tickDirection(previous, price));
+        data.put(TICKER_PRICE_24H_PCNT, Decimals.format(price / openPrices[i] - 1d, 6));
+        data.put(TICKER_LAST_PRICE, Decimals.format(tick, scale));
+        data.put(TICKER_PREV_PRICE_24H, Decimals.format(openPrices[i], scale));
+        data.put(TICKER_HIGH_PRICE_24H, Decimals.format(price * 1.02d, scale));
+        data.put(TICKER_LOW_PRICE_24H, Decimals.format(price * 0.98d, scale));
+        data.put(TICKER_PREV_PRICE_1H, Decimals.format(previous, scale));
+        data.put(TICKER_MARK_PRICE, Decimals.format(tick - 1, scale));
+        data.put(TICKER_INDEX_PRICE, Decimals.format(price, scale));
+        data.put(TICKER_OPEN_INTEREST, Decimals.format(70_000d + random.nextDouble() * 1_000d, LINEAR_SIZE_SCALE));
+        data.put(TICKER_OPEN_INTEREST_VALUE, Decimals.format(price * 70_000d, 2));
+        data.put(TICKER_TURNOVER_24H, Decimals.format(price * 97_000d, 4));
+        data.put(TICKER_VOLUME_24H, Decimals.format(97_000d + random.nextDouble() * 1_000d, 4));
+        data.put(TICKER_NEXT_FUNDING_TIME, Long.toString(ts - ts % 28_800_000L + 28_800_000L));
+        data.put(TICKER_FUNDING_RATE, Decimals.format(random.nextDouble() * 0.0002d - 0.0001d, 6));
+        data.put(TICKER_BID1_PRICE, Decimals.format(tick, scale));
+        data.put(TICKER_BID1_SIZE, Decimals.format(random.nextDouble() * 10d, LINEAR_SIZE_SCALE));
+        data.put(TICKER_ASK1_PRICE, Decimals.format(tick + 1, scale));
+        data.put(TICKER_ASK1_SIZE, Decimals.format(random.nextDouble() * 10d, LINEAR_SIZE_SCALE));
+        data.put(TICKER_PRE_OPEN_PRICE, EMPTY);
+        data.put(TICKER_PRE_QTY, EMPTY);
+        data.put(TICKER_CUR_PRE_LISTING_PHASE, EMPTY);
+        final var message = message(i, ts, data);
+        message.put(CROSS_SEQUENCE, seq);
+        return message;
+    }
+
+    private Map<String, Object> trades(final int i, final double previous) {
+        final var scale = priceScales[i];
+        final var size = 1 + random.nextInt(MAX_TRADES_PER_MESSAGE);
+        final var trades = new ArrayList<Map<String, Object>>(size);
+        for (var t = 0; t < size; t++) {
+            final var trade = new HashMap<String, Object>(16);
+            trade.put(TRADE_ID, Long.toString(tradeId++));
+            trade.put(TRADE_TIME, ts);
+            trade.put(TRADE_PRICE, Decimals.format(prices[i], scale));
+            trade.put(TRADE_SIZE, Decimals.format(random.nextDouble() * 0.5d, sizeScale));
+            trade.put(TRADE_SIDE, prices[i] >= previous ? BUY : SELL);
+            trade.put(SEQ, seq);
+            trade.put(SYMBOL, symbols[i]);
+            trade.put(BLOCK_TRADE, Boolean.FALSE);
+            trade.put(RPI_TRADE, Boolean.FALSE);
+            if (linear) {
+                trade.put(TRADE_TICK_DIRECTION, tickDirection(previous, prices[i]));
+            }
+
+            trades.add(trade);
+        }
+
+        return message(i, ts, trades);
+    }
+
+    private Map<String, Object> orderBook(final int i) {
+        final var scale = priceScales[i];
+        final var mid = Decimals.unscaled(prices[i], scale);
+        final var bids = new ArrayList<List<String>>(depth);
+        final var asks = new ArrayList<List<String>>(depth);
+        var bid = mid;
+        var ask = mid + 1;
+        for (var level = 0; level < depth; level++) {
+            // A deep ladder on a low price runs out of room below one tick; the bid side ends there
+            if (bid > 0) {
+                bids.add(List.of(Decimals.format(bid, scale), Decimals.format(random.nextDouble(), sizeScale)));
+            }
+
+            asks.add(List.of(Decimals.format(ask, scale), Decimals.format(random.nextDouble(), sizeScale)));
+            bid -= 1 + random.nextInt(3);
+            ask += 1 + random.nextInt(3);
+        }
+
+        final var data = new HashMap<String, Object>(8);
+        data.put(SYMBOL, symbols[i]);
+        data.put(BIDS, bids);
+        data.put(ASKS, asks);
+        data.put(UPDATE_ID, ++updateIds[i]);
+        data.put(SEQ, seq);
+        final var message = message(i, ts, data);
+        message.put(CTS, ts - 1);
+        return message;
+    }
+
+    private Map<String, Object> liquidation(final int i) {
+        final var event = new HashMap<String, Object>(8);
+        event.put(TRADE_TIME, ts);
+        event.put(SYMBOL, symbols[i]);
+        event.put(TRADE_SIDE, random.nextBoolean() ? BUY : SELL);
+        event.put(TRADE_SIZE, Decimals.format(random.nextDouble() * 5d, LINEAR_SIZE_SCALE));
+        event.put(TRADE_PRICE, Decimals.format(prices[i], priceScales[i]));
+        return message(i, ts, List.of(event));
+    }
+
+    private Map<String, Object> message(final int i, final long messageTs, final Object data) {
+        final var message = new HashMap<String, Object>(8);
+        message.put(TOPIC, topics[i]);
+        message.put(TYPE, SNAPSHOT);
+        message.put(TS, messageTs);
+        message.put(DATA, data);
+        return message;
+    }
+
+    private double walk(final double price) {
+        return price * (1d + DEFAULT_VOLATILITY * (random.nextDouble() * 2d - 1d));
+    }
+
+    private static String tickDirection(final double previous, final double price) {
+        if (price > previous) {
+            return PLUS_TICK;
+        }
+
+        return price < previous ? MINUS_TICK : ZERO_PLUS_TICK;
+    }
+
+    private static boolean isOrderBook(final MockData.Type type) {
+        return type == MockData.Type.ORDER_BOOK_1 || type == MockData.Type.ORDER_BOOK_50 ||
+                type == MockData.Type.ORDER_BOOK_200 || type == MockData.Type.ORDER_BOOK_1000;
+    }
+
+    private static boolean isSupported(final MockData.Type type, final boolean linear) {
+        return switch (type) {
+            case KLINE_1, KLINE_5, KLINE_15, KLINE_60, KLINE_240, KLINE_D, TICKERS, PUBLIC_TRADE, ORDER_BOOK_1,
+                 ORDER_BOOK_50, ORDER_BOOK_200, ORDER_BOOK_1000 -> true;
+            case ALL_LIQUIDATION -> linear;
+            default -> false;
+        };
+    }
+
+    private static long intervalMillis(final MockData.Type type) {
+        return switch (type) {
+            case KLINE_1 -> 60_000L;
+            case KLINE_5 -> 300_000L;
+            case KLINE_15 -> 900_000L;
+            case KLINE_60 -> 3_600_000L;
+            case KLINE_240 -> 14_400_000L;
+            case KLINE_D -> 86_400_000L;
+            default -> 0L;
+        };
+    }
+
+    private static int baseIndex(final String symbol) {
+        for (var i = 0; i < BASE_SYMBOLS.length; i++) {
+            if (BASE_SYMBOLS[i].equals(symbol)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.Offsets.BATCH_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Offsets.DELETE_OFFSET;
+import static com.github.akarazhev.cryptoscout.test.Constants.Offsets.ERR_INVALID_OPTIONS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Offsets.FLUSH_INTERVAL;
+import static com.github.akarazhev.cryptoscout.test.Constants.Offsets.SELECT_OFFSET;
+import static com.github.akarazhev.cryptoscout.test.Constants.Offsets.UPSERT_OFFSET;
+
+/**
+ * External offset tracking in {@code crypto_scout.stream_offsets}. Handled offsets are buffered per stream and
+ * written back with one batched upsert every {@code batchSize} messages or {@code flushInterval}, whichever comes
+ * first, so a restarted consumer resumes after the last committed offset instead of rereading the stream. Offsets
+ * handled since the last commit are delivered again after a crash.
+ * <p>
+ * Commits run on a flusher thread of the store, so recording an offset never waits on the database; the interval
+ * is checked by that thread too, which commits the tail of a stream that went idle.
+ */
+public final class OffsetStore implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OffsetStore.class);
+    private final DataSource dataSource;
+    private final Options options;
+    private final ScheduledExecutorService flusher;
+    // Guards the upserts and deletes, so a commit never overwrites a newer offset or resurrects a removed stream
+    private final Object writeLock = new Object();
+    // Guarded by this
+    private final Map<String, Long> pending = new LinkedHashMap<>();
+    private int uncommitted;
+    private boolean flushQueued;
+    private long lastFlush = System.nanoTime();
+    private long flushes;
+    private long committed;
+
+    /**
+     * Commit settings.
+     *
+     * @param batchSize number of handled messages after which the offsets are committed
+     * @param flushInterval time after which the offsets are committed, checked by the flusher thread
+     */
+    public record Options(int batchSize, Duration flushInterval) {
+
+        public Options {
+            if (batchSize < 1 || flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+                throw new IllegalArgumentException(ERR_INVALID_OPTIONS);
+            }
+        }
+
+        /**
+         * Returns the {@code test.offset.*} settings.
+         */
+        public static Options defaults() {
+            return new Options(BATCH_SIZE, FLUSH_INTERVAL);
+        }
+    }
+
+    /**
+     * Commit counters.
+     *
+     * @param flushes number of batched upserts
+     * @param committed number of stream offsets written by them
+     */
+    public record Stats(long flushes, long committed) {
+    }
+
+    public static OffsetStore create(final DataSource dataSource) {
+        return new OffsetStore(dataSource, Options.defaults());
+    }
+
+    public static OffsetStore create(final DataSource dataSource, final Options options) {
+        return new OffsetStore(dataSource, options);
+    }
+
+    private OffsetStore(final DataSource dataSource, final Options options) {
+        this.dataSource = dataSource;
+        this.options = options;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().factory());
+        final var interval = options.flushInterval().toNanos();
+        flusher.scheduleWithFixedDelay(this::flushIfDue, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the last committed offset of the stream.
+     *
+     * @param stream the stream name
+     * @return the offset of the last handled message, or empty if the stream was never committed
+     * @throws SQLException if the offset cannot be read
+     */
+    public OptionalLong load(final String stream) throws SQLException {
+        try (final var conn = dataSource.getConnection();
+             final var ps = conn.prepareStatement(SELECT_OFFSET)) {
+            ps.setString(1, stream);
+            try (final var rs = ps.executeQuery()) {
+                return rs.next() ? OptionalLong.of(rs.getLong(1)) : OptionalLong.empty();
+            }
+        }
+    }
+
+    /**
+     * Records a handled message and hands the buffered offsets to the flusher thread once a batch is full; the
+     * caller never waits for the commit.
+     *
+     * @param stream the stream name
+     * @param offset the offset of the handled message
+     */
+    public synchronized void processed(final String stream, final long offset) {
+        pending.merge(stream, offset, Math::max);
+        if (++uncommitted >= options.batchSize() && !flushQueued && !flusher.isShutdown()) {
+            flushQueued = true;
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Commits the buffered offsets of all streams with a single batched upsert and waits for it.
+     *
+     * @throws SQLException if the offsets cannot be committed; they stay buffered for the next attempt
+     */
+    public void flush() throws SQLException {
+        synchronized (writeLock) {
+            final Map<String, Long> batch;
+            synchronized (this) {
+                lastFlush = System.nanoTime();
+                flushQueued = false;
+                if (pending.isEmpty()) {
+                    return;
+                }
+
+                batch = new LinkedHashMap<>(pending);
+                pending.clear();
+                uncommitted = 0;
+            }
+
+            try (final var conn = dataSource.getConnection();
+                 final var ps = conn.prepareStatement(UPSERT_OFFSET)) {
+                for (final var entry : batch.entrySet()) {
+                    ps.setString(1, entry.getKey());
+                    ps.setLong(2, entry.getValue());
+                    ps.addBatch();
+                }
+
+                ps.executeBatch();
+            } catch (final SQLException e) {
+                synchronized (this) {
+                    batch.forEach((stream, offset) -> pending.merge(stream, offset, Math::max));
+                }
+
+                throw e;
+            }
+
+            synchronized (this) {
+                flushes++;
+                committed += batch.size();
+            }
+        }
+    }
+
+    /**
+     * Drops the committed and buffered offset of the stream, so the next consumer starts from the beginning.
+     *
+     * @param stream the stream name
+     * @throws SQLException if the offset cannot be deleted
+     */
+    public void remove(final String stream) throws SQLException {
+        synchronized (writeLock) {
+            synchronized (this) {
+                pending.remove(stream);
+            }
+
+            try (final var conn = dataSource.getConnection();
+                 final var ps = conn.prepareStatement(DELETE_OFFSET)) {
+                ps.setString(1, stream);
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(flushes, committed);
+    }
+
+    /**
+     * Stops the flusher thread and commits what is still buffered.
+     *
+     * @throws SQLException if the remaining offsets cannot be committed
+     */
+    @Override
+    public void close() throws SQLException {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    private void flushIfDue() {
+        final boolean due;
+        synchronized (this) {
+            due = !pending.isEmpty() && System.nanoTime() - lastFlush >= options.flushInterval().toNanos();
+        }
+
+        if (due) {
+            flushQuietly();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (final SQLException e) {
+            LOGGER.warn("Failed to commit stream offsets: {}", e.getMessage());
+        }
+    }
+}
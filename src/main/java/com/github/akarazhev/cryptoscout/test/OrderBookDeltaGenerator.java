@@ -0,0 +1,370 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.CHANGES_PER_DELTA;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.DELTA;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.ERR_INVALID_DELTA_OPTIONS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.INSERT_PROBABILITY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.LINEAR_DELTA_INTERVALS_MS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.LINEAR_SIZE_SCALE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.MAX_PRICE_SCALE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.REMOVED_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.REMOVE_PROBABILITY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.RESNAPSHOT_EVERY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.SNAPSHOT;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.SPOT_DELTA_INTERVALS_MS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.SPOT_SIZE_SCALE;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.ASKS;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.BIDS;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.CTS;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.DATA;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.SEQ;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.SYMBOL;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.TOPIC;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.TS;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.TYPE;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.UPDATE_ID;
+
+/**
+ * Deterministic, unbounded generator of Bybit order book traffic: one {@code snapshot} seeded from the
+ * {@link MockData} order book fixture, then {@code delta} messages carrying level updates, insertions and
+ * zero-size removals with increasing {@code u} and {@code seq}, and a fresh snapshot every
+ * {@link Options#resnapshotEvery()} messages. The book is kept in primitive sorted arrays of fixed-point prices
+ * and sizes, so applying every message in order to an empty book always reproduces {@link #snapshot()}: levels
+ * pushed out of the depth are removed explicitly and the best bid stays below the best ask.
+ */
+public final class OrderBookDeltaGenerator implements Iterator<Map<String, Object>> {
+    private final SplittableRandom random;
+    private final Options options;
+    private final String topic;
+    private final String symbol;
+    private final int depth;
+    private final int priceScale;
+    private final int sizeScale;
+    private final long sizeUnit;
+    private final Side bids;
+    private final Side asks;
+    private long ts;
+    private long updateId;
+    private long seq;
+    private long count;
+
+    /**
+     * Delta generation settings.
+     *
+     * @param intervalMillis time between two messages
+     * @param changesPerDelta number of level changes drawn per delta, before evictions and refills
+     * @param removeProbability probability that a change removes a level
+     * @param insertProbability probability that a change inserts a new price level
+     * @param resnapshotEvery number of messages between two snapshots
+     */
+    public record Options(long intervalMillis, int changesPerDelta, double removeProbability,
+                          double insertProbability, int resnapshotEvery) {
+
+        public Options {
+            if (intervalMillis < 1 || changesPerDelta < 1 || resnapshotEvery < 1 || removeProbability < 0d ||
+                    insertProbability < 0d || removeProbability + insertProbability > 1d) {
+                throw new IllegalArgumentException(ERR_INVALID_DELTA_OPTIONS);
+            }
+        }
+
+        /**
+         * Returns Bybit's push interval and a proportional change count for the order book depth.
+         */
+        public static Options of(final MockData.Source source, final MockData.Type type) {
+            final var i = switch (OrderBookReader.depthOf(type)) {
+                case 1 -> 0;
+                case 50 -> 1;
+                case 200 -> 2;
+                default -> 3;
+            };
+            final var intervals = source == MockData.Source.BYBIT_LINEAR ? LINEAR_DELTA_INTERVALS_MS :
+                    SPOT_DELTA_INTERVALS_MS;
+            return new Options(intervals[i], CHANGES_PER_DELTA[i], REMOVE_PROBABILITY, INSERT_PROBABILITY,
+                    RESNAPSHOT_EVERY);
+        }
+    }
+
+    /**
+     * Creates a generator with the default options for the depth.
+     *
+     * @param source BYBIT_SPOT or BYBIT_LINEAR
+     * @param type one of the ORDER_BOOK_* types
+     * @param seed the random seed
+     * @return the generator
+     * @throws IOException if the fixture cannot be read
+     */
+    public static OrderBookDeltaGenerator create(final MockData.Source source, final MockData.Type type,
+                                                 final long seed) throws IOException {
+        return create(source, type, seed, Options.of(source, type));
+    }
+
+    /**
+     * Creates a generator.
+     *
+     * @param source BYBIT_SPOT or BYBIT_LINEAR
+     * @param type one of the ORDER_BOOK_* types
+     * @param seed the random seed
+     * @param options the delta settings
+     * @return the generator
+     * @throws IOException if the fixture cannot be read
+     */
+    public static OrderBookDeltaGenerator create(final MockData.Source source, final MockData.Type type,
+                                                 final long seed, final Options options) throws IOException {
+        return new OrderBookDeltaGenerator(OrderBookReader.read(source, type), OrderBookReader.depthOf(type),
+                source == MockData.Source.BYBIT_LINEAR ? LINEAR_SIZE_SCALE : SPOT_SIZE_SCALE, seed, options);
+    }
+
+    private OrderBookDeltaGenerator(final OrderBookReader.Snapshot snapshot, final int depth, final int sizeScale,
+                                    final long seed, final Options options) {
+        this.random = new SplittableRandom(seed);
+        this.options = options;
+        this.topic = snapshot.topic();
+        this.symbol = snapshot.symbol();
+        this.depth = depth;
+        this.priceScale = Math.max(scaleOf(snapshot.bids()), scaleOf(snapshot.asks()));
+        this.sizeScale = sizeScale;
+        this.sizeUnit = Decimals.unscaled(1d, sizeScale);
+        this.bids = new Side(true, depth);
+        this.asks = new Side(false, depth);
+        load(bids, snapshot.bids());
+        load(asks, snapshot.asks());
+        this.ts = snapshot.ts();
+        this.updateId = snapshot.updateId();
+        this.seq = snapshot.seq();
+    }
+
+    /**
+     * Returns the number of messages generated so far.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Always {@code true}: the sequence is unbounded, use {@link #stream()} with {@code limit} to bound it.
+     */
+    @Override
+    public boolean hasNext() {
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (count > 0) {
+            ts += options.intervalMillis();
+        }
+
+        updateId++;
+        seq += 1 + random.nextInt(4);
+        final var resnapshot = count++ % options.resnapshotEvery() == 0;
+        if (resnapshot) {
+            return snapshot();
+        }
+
+        final var bidChanges = new TreeMap<Long, Long>(Comparator.reverseOrder());
+        final var askChanges = new TreeMap<Long, Long>();
+        for (var c = 0; c < options.changesPerDelta(); c++) {
+            if (random.nextBoolean()) {
+                change(bids, asks, bidChanges);
+            } else {
+                change(asks, bids, askChanges);
+            }
+        }
+
+        refill(bids, bidChanges);
+        refill(asks, askChanges);
+        return message(DELTA, levels(bidChanges), levels(askChanges));
+    }
+
+    /**
+     * Returns the current book as a snapshot message without advancing the sequence.
+     */
+    public Map<String, Object> snapshot() {
+        return message(SNAPSHOT, levels(bids), levels(asks));
+    }
+
+    /**
+     * Returns an unbounded sequential stream over this generator.
+     */
+    public Stream<Map<String, Object>> stream() {
+        return Stream.generate(this::next);
+    }
+
+    private void change(final Side side, final Side other, final Map<Long, Long> changes) {
+        final var r = random.nextDouble();
+        final var index = (int) (side.count * r * random.nextDouble());
+        if (r < options.removeProbability() && side.count > 1) {
+            changes.put(side.price(index), 0L);
+            side.remove(index);
+            return;
+        }
+
+        final var size = randomSize();
+        if (r < options.removeProbability() + options.insertProbability()) {
+            // One tick better than the chosen level; a better best must not cross the other side
+            final var price = side.bid ? side.price(index) + 1 : side.price(index) - 1;
+            final var crosses = other.count > 0 && (side.bid ? price >= other.price(0) : price <= other.price(0));
+            if (!crosses && side.indexOf(price) < 0) {
+                side.insert(price, size);
+                changes.put(price, size);
+                if (side.count > depth) {
+                    changes.put(side.price(side.count - 1), 0L);
+                    side.remove(side.count - 1);
+                }
+
+                return;
+            }
+        }
+
+        side.sizes[index] = size;
+        changes.put(side.price(index), size);
+    }
+
+    private void refill(final Side side, final Map<Long, Long> changes) {
+        while (side.count < depth && side.count > 0) {
+            final var worst = side.price(side.count - 1);
+            final var price = side.bid ? worst - 1 - random.nextInt(3) : worst + 1 + random.nextInt(3);
+            final var size = randomSize();
+            side.insert(price, size);
+            changes.put(price, size);
+        }
+    }
+
+    private long randomSize() {
+        return 1L + random.nextLong(sizeUnit * 2L);
+    }
+
+    private List<List<String>> levels(final Map<Long, Long> changes) {
+        final var levels = new ArrayList<List<String>>(changes.size());
+        for (final var entry : changes.entrySet()) {
+            final var size = entry.getValue();
+            levels.add(List.of(Decimals.format(entry.getKey(), priceScale),
+                    size == 0L ? REMOVED_SIZE : Decimals.format(size, sizeScale)));
+        }
+
+        return levels;
+    }
+
+    private List<List<String>> levels(final Side side) {
+        final var levels = new ArrayList<List<String>>(side.count);
+        for (var i = 0; i < side.count; i++) {
+            levels.add(List.of(Decimals.format(side.price(i), priceScale), Decimals.format(side.sizes[i],
+                    sizeScale)));
+        }
+
+        return levels;
+    }
+
+    private Map<String, Object> message(final String type, final List<List<String>> bidLevels,
+                                        final List<List<String>> askLevels) {
+        final var data = new HashMap<String, Object>(8);
+        data.put(SYMBOL, symbol);
+        data.put(BIDS, bidLevels);
+        data.put(ASKS, askLevels);
+        data.put(UPDATE_ID, updateId);
+        data.put(SEQ, seq);
+        final var message = new HashMap<String, Object>(8);
+        message.put(TOPIC, topic);
+        message.put(TYPE, type);
+        message.put(TS, ts);
+        message.put(CTS, ts - 1);
+        message.put(DATA, data);
+        return message;
+    }
+
+    private void load(final Side side, final double[] levels) {
+        for (var i = 0; i + 1 < levels.length && side.count < depth; i += 2) {
+            final var price = Decimals.unscaled(levels[i], priceScale);
+            if (side.indexOf(price) < 0) {
+                side.insert(price, Math.max(1L, Decimals.unscaled(levels[i + 1], sizeScale)));
+            }
+        }
+    }
+
+    private static int scaleOf(final double[] levels) {
+        var scale = 0;
+        for (var i = 0; i < levels.length; i += 2) {
+            while (scale < MAX_PRICE_SCALE &&
+                    Math.abs(Decimals.scaled(Decimals.unscaled(levels[i], scale), scale) - levels[i]) > 1e-9) {
+                scale++;
+            }
+        }
+
+        return scale;
+    }
+
+    /**
+     * One side of the book as sorted keys: {@code -price} for bids so both sides keep the best level first.
+     */
+    private static final class Side {
+        private final boolean bid;
+        private final long[] keys;
+        private final long[] sizes;
+        private int count;
+
+        private Side(final boolean bid, final int depth) {
+            this.bid = bid;
+            this.keys = new long[depth + 1];
+            this.sizes = new long[depth + 1];
+        }
+
+        private long price(final int index) {
+            return bid ? -keys[index] : keys[index];
+        }
+
+        private int indexOf(final long price) {
+            return Arrays.binarySearch(keys, 0, count, bid ? -price : price);
+        }
+
+        private void insert(final long price, final long size) {
+            final var index = -indexOf(price) - 1;
+            System.arraycopy(keys, index, keys, index + 1, count - index);
+            System.arraycopy(sizes, index, sizes, index + 1, count - index);
+            keys[index] = bid ? -price : price;
+            sizes[index] = size;
+            count++;
+        }
+
+        private void remove(final int index) {
+            System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+            System.arraycopy(sizes, index + 1, sizes, index, count - index - 1);
+            count--;
+        }
+    }
+}
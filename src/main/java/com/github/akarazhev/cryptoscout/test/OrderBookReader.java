@@ -0,0 +1,302 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.MockData.ERR_FILE_NOT_FOUND_PREFIX;
+import static com.github.akarazhev.cryptoscout.test.Constants.MockData.ERR_NOT_ORDER_BOOK;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.ASKS;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.BIDS;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.CTS;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.DATA;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.SEQ;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.SYMBOL;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.TOPIC;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.TS;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.TYPE;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.UPDATE_ID;
+
+/**
+ * Streaming reader for Bybit order book messages. Unlike {@link MockData#get(MockData.Source, MockData.Type)}
+ * it walks the bids/asks arrays with a pull parser and exposes levels as primitive doubles, without building
+ * the intermediate map of string pairs.
+ */
+public final class OrderBookReader {
+    private static final byte[] DATA_FIELD = ascii(DATA);
+    private static final byte[] BIDS_FIELD = ascii(BIDS);
+    private static final byte[] ASKS_FIELD = ascii(ASKS);
+    private static final byte[] SYMBOL_FIELD = ascii(SYMBOL);
+    private static final byte[] UPDATE_ID_FIELD = ascii(UPDATE_ID);
+    private static final byte[] SEQ_FIELD = ascii(SEQ);
+    private static final byte[] TS_FIELD = ascii(TS);
+    private static final byte[] CTS_FIELD = ascii(CTS);
+    private static final byte[] TOPIC_FIELD = ascii(TOPIC);
+    private static final byte[] TYPE_FIELD = ascii(TYPE);
+
+    public enum Side {
+        BID, ASK
+    }
+
+    /**
+     * Callback receiving order book levels in message order.
+     */
+    @FunctionalInterface
+    public interface LevelVisitor {
+        void onLevel(Side side, int index, double price, double size);
+    }
+
+    /**
+     * Order book header fields plus levels as flat arrays of interleaved {@code price, size} pairs.
+     *
+     * @param topic the message topic
+     * @param type the message type ({@code snapshot} or {@code delta})
+     * @param symbol the instrument symbol
+     * @param ts the message timestamp in millis
+     * @param cts the matching engine timestamp in millis
+     * @param updateId the update id ({@code u})
+     * @param seq the cross sequence
+     * @param bids bid levels as {@code [p0, s0, p1, s1, ...]}
+     * @param asks ask levels as {@code [p0, s0, p1, s1, ...]}
+     */
+    public record Snapshot(String topic, String type, String symbol, long ts, long cts, long updateId, long seq,
+                           double[] bids, double[] asks) {
+
+        public int bidCount() {
+            return bids.length / 2;
+        }
+
+        public int askCount() {
+            return asks.length / 2;
+        }
+    }
+
+    private OrderBookReader() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Reads an order book fixture into primitive arrays.
+     *
+     * @param source the data source (BYBIT_SPOT or BYBIT_LINEAR)
+     * @param type one of the ORDER_BOOK_* types
+     * @return the parsed order book
+     * @throws IOException if the resource cannot be read or is malformed
+     */
+    public static Snapshot read(final MockData.Source source, final MockData.Type type) throws IOException {
+        try (final var is = open(source, type)) {
+            return read(is, depthOf(type));
+        }
+    }
+
+    /**
+     * Reads a single order book message from the stream into primitive arrays.
+     *
+     * @param is the JSON input, closed by the caller
+     * @param depthHint expected number of levels per side, used to presize the arrays
+     * @return the parsed order book
+     * @throws IOException if the stream cannot be read or is malformed
+     */
+    public static Snapshot read(final InputStream is, final int depthHint) throws IOException {
+        final var collector = new Collector(depthHint);
+        final var header = parse(new JsonPullParser(is), collector);
+        return new Snapshot(header.topic, header.type, header.symbol, header.ts, header.cts, header.updateId,
+                header.seq, collector.bids(), collector.asks());
+    }
+
+    /**
+     * Streams the levels of an order book fixture to the visitor without materializing them.
+     *
+     * @param source the data source (BYBIT_SPOT or BYBIT_LINEAR)
+     * @param type one of the ORDER_BOOK_* types
+     * @param visitor the level callback
+     * @return the total number of levels visited
+     * @throws IOException if the resource cannot be read or is malformed
+     */
+    public static int visit(final MockData.Source source, final MockData.Type type, final LevelVisitor visitor)
+            throws IOException {
+        try (final var is = open(source, type)) {
+            return visit(is, visitor);
+        }
+    }
+
+    /**
+     * Streams the levels of a single order book message to the visitor without materializing them.
+     *
+     * @param is the JSON input, closed by the caller
+     * @param visitor the level callback
+     * @return the total number of levels visited
+     * @throws IOException if the stream cannot be read or is malformed
+     */
+    public static int visit(final InputStream is, final LevelVisitor visitor) throws IOException {
+        final var counter = new int[1];
+        parse(new JsonPullParser(is), (side, index, price, size) -> {
+            counter[0]++;
+            visitor.onLevel(side, index, price, size);
+        });
+        return counter[0];
+    }
+
+    static int depthOf(final MockData.Type type) {
+        return switch (type) {
+            case ORDER_BOOK_1 -> 1;
+            case ORDER_BOOK_50 -> 50;
+            case ORDER_BOOK_200 -> 200;
+            case ORDER_BOOK_1000 -> 1000;
+            default -> throw new IllegalStateException(ERR_NOT_ORDER_BOOK + type);
+        };
+    }
+
+    private static InputStream open(final MockData.Source source, final MockData.Type type) {
+        depthOf(type);
+        final var path = type.getPath(source);
+        final var is = OrderBookReader.class.getClassLoader().getResourceAsStream(path);
+        if (is == null) {
+            throw new IllegalStateException(ERR_FILE_NOT_FOUND_PREFIX + path);
+        }
+
+        return is;
+    }
+
+    private static Header parse(final JsonPullParser parser, final LevelVisitor visitor) throws IOException {
+        final var header = new Header();
+        parser.expect(JsonPullParser.Token.START_OBJECT);
+        while (parser.next() == JsonPullParser.Token.FIELD_NAME) {
+            if (parser.textEquals(DATA_FIELD)) {
+                parseData(parser, header, visitor);
+            } else if (parser.textEquals(TOPIC_FIELD)) {
+                parser.next();
+                header.topic = parser.text();
+            } else if (parser.textEquals(TYPE_FIELD)) {
+                parser.next();
+                header.type = parser.text();
+            } else if (parser.textEquals(TS_FIELD)) {
+                parser.next();
+                header.ts = parser.longValue();
+            } else if (parser.textEquals(CTS_FIELD)) {
+                parser.next();
+                header.cts = parser.longValue();
+            } else {
+                parser.skipValue();
+            }
+        }
+
+        return header;
+    }
+
+    private static void parseData(final JsonPullParser parser, final Header header, final LevelVisitor visitor)
+            throws IOException {
+        parser.expect(JsonPullParser.Token.START_OBJECT);
+        while (parser.next() == JsonPullParser.Token.FIELD_NAME) {
+            if (parser.textEquals(BIDS_FIELD)) {
+                parseLevels(parser, Side.BID, visitor);
+            } else if (parser.textEquals(ASKS_FIELD)) {
+                parseLevels(parser, Side.ASK, visitor);
+            } else if (parser.textEquals(SYMBOL_FIELD)) {
+                parser.next();
+                header.symbol = parser.text();
+            } else if (parser.textEquals(UPDATE_ID_FIELD)) {
+                parser.next();
+                header.updateId = parser.longValue();
+            } else if (parser.textEquals(SEQ_FIELD)) {
+                parser.next();
+                header.seq = parser.longValue();
+            } else {
+                parser.skipValue();
+            }
+        }
+    }
+
+    private static void parseLevels(final JsonPullParser parser, final Side side, final LevelVisitor visitor)
+            throws IOException {
+        parser.expect(JsonPullParser.Token.START_ARRAY);
+        var index = 0;
+        while (parser.next() == JsonPullParser.Token.START_ARRAY) {
+            parser.next();
+            final var price = parser.doubleValue();
+            parser.next();
+            final var size = parser.doubleValue();
+            parser.expect(JsonPullParser.Token.END_ARRAY);
+            visitor.onLevel(side, index++, price, size);
+        }
+    }
+
+    private static byte[] ascii(final String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final class Header {
+        private String topic;
+        private String type;
+        private String symbol;
+        private long ts;
+        private long cts;
+        private long updateId;
+        private long seq;
+    }
+
+    private static final class Collector implements LevelVisitor {
+        private double[] bids;
+        private double[] asks;
+        private int bidLength;
+        private int askLength;
+
+        private Collector(final int depthHint) {
+            final var capacity = Math.max(2, depthHint * 2);
+            this.bids = new double[capacity];
+            this.asks = new double[capacity];
+        }
+
+        @Override
+        public void onLevel(final Side side, final int index, final double price, final double size) {
+            if (side == Side.BID) {
+                if (bidLength == bids.length) {
+                    bids = Arrays.copyOf(bids, bidLength * 2);
+                }
+
+                bids[bidLength++] = price;
+                bids[bidLength++] = size;
+            } else {
+                if (askLength == asks.length) {
+                    asks = Arrays.copyOf(asks, askLength * 2);
+                }
+
+                asks[askLength++] = price;
+                asks[askLength++] = size;
+            }
+        }
+
+        private double[] bids() {
+            return bidLength == bids.length ? bids : Arrays.copyOf(bids, bidLength);
+        }
+
+        private double[] asks() {
+            return askLength == asks.length ? asks : Arrays.copyOf(asks, askLength);
+        }
+    }
+}
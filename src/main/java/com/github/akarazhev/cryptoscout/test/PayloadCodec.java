@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import com.github.akarazhev.jcryptolib.stream.Message;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.DEFAULT_CONTENT_TYPE;
+
+/**
+ * Body encoding of the test publishers and consumers. Publishers tag every message with the content type of their
+ * codec and consumers pick the codec per message from that tag, so streams and queues may carry a mix of encodings.
+ * Besides the built-in {@link #json()} and {@link #binary()} codecs, implementations registered with
+ * {@link java.util.ServiceLoader} are selectable by their content type.
+ */
+public interface PayloadCodec {
+
+    /**
+     * Returns the content type set on the messages this codec encodes.
+     *
+     * @return the content type, unique among the registered codecs
+     */
+    String contentType();
+
+    byte[] encodePayload(Payload<Map<String, Object>> payload) throws IOException;
+
+    Payload<Map<String, Object>> decodePayload(byte[] body) throws IOException;
+
+    byte[] encodeMessage(Message<?> message) throws IOException;
+
+    Message<?> decodeMessage(byte[] body) throws IOException;
+
+    /**
+     * Returns the JSON codec, which reads and writes the same bodies as the services under test.
+     */
+    static PayloadCodec json() {
+        return JsonPayloadCodec.INSTANCE;
+    }
+
+    /**
+     * Returns the compact binary codec, which sends decimal strings such as prices and sizes as fixed-point numbers
+     * and known field names as indexes.
+     */
+    static PayloadCodec binary() {
+        return BinaryPayloadCodec.INSTANCE;
+    }
+
+    /**
+     * Returns the codec used by publishers created without one, selected by the {@code test.payload.codec}
+     * content type and JSON by default.
+     */
+    static PayloadCodec defaults() {
+        return forContentType(DEFAULT_CONTENT_TYPE);
+    }
+
+    /**
+     * Returns the codec for a message's content type. Messages without one or with one no codec is registered for,
+     * e.g. published by the services under test, are JSON; parameters such as {@code ; charset=utf-8} are ignored.
+     *
+     * @param contentType the content type, or {@code null}
+     * @return the codec
+     * @throws IllegalStateException if the content type names an unregistered {@code application/vnd.crypto-scout.*}
+     *                               format
+     */
+    static PayloadCodec forContentType(final String contentType) {
+        return PayloadCodecs.get(contentType);
+    }
+}
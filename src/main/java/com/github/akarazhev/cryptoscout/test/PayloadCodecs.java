@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.CONTENT_TYPE_PARAMETER_SEPARATOR;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.CONTENT_TYPE_VENDOR_PREFIX;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.ERR_UNKNOWN_CONTENT_TYPE;
+
+/**
+ * Registry of the payload codecs by content type: the built-in ones first, then those found by
+ * {@link ServiceLoader}, which cannot replace a built-in content type.
+ */
+final class PayloadCodecs {
+    private static final Map<String, PayloadCodec> CODECS = new ConcurrentHashMap<>();
+
+    static {
+        register(JsonPayloadCodec.INSTANCE);
+        register(BinaryPayloadCodec.INSTANCE);
+        for (final var codec : ServiceLoader.load(PayloadCodec.class)) {
+            register(codec);
+        }
+    }
+
+    private PayloadCodecs() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the codec registered for the content type, ignoring its parameters. Bodies without a content type or
+     * with one no codec is registered for are JSON, as published by the services under test, except for an
+     * unregistered content type of this library's own formats, which JSON cannot read.
+     */
+    static PayloadCodec get(final String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return JsonPayloadCodec.INSTANCE;
+        }
+
+        final var codec = CODECS.get(contentType);
+        if (codec != null) {
+            return codec;
+        }
+
+        final var separator = contentType.indexOf(CONTENT_TYPE_PARAMETER_SEPARATOR);
+        final var mediaType = (separator < 0 ? contentType : contentType.substring(0, separator)).trim();
+        final var parameterless = CODECS.get(mediaType);
+        if (parameterless != null) {
+            return parameterless;
+        }
+
+        if (mediaType.startsWith(CONTENT_TYPE_VENDOR_PREFIX)) {
+            throw new IllegalStateException(ERR_UNKNOWN_CONTENT_TYPE + contentType);
+        }
+
+        return JsonPayloadCodec.INSTANCE;
+    }
+
+    private static void register(final PayloadCodec codec) {
+        CODECS.putIfAbsent(codec.contentType(), codec);
+    }
+}
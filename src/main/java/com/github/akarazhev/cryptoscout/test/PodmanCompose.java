@@ -28,19 +28,45 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.DriverManager;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
 import com.rabbitmq.stream.Environment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.COMMIT_CMD;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.DB_IMAGE_ENV;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.DB_BASE_IMAGE;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.DB_SNAPSHOT;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.DB_SNAPSHOT_IMAGE_PREFIX;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.DB_SNAPSHOT_REPOSITORY;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.EXISTS_CMD;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.HASH_ALGORITHM;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.HASH_HEX_LENGTH;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.IMAGE_CMD;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.IMAGE_TIMEOUT_SEC;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.PAUSE_ARG;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.PHASE_DB_SNAPSHOT;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.BYBIT_LINEAR_TABLES_SQL;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.BYBIT_SPOT_TABLES_SQL;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.CRYPTO_SCOUT_TABLES_SQL;
@@ -63,29 +89,49 @@ import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.ERR_
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.ERR_MQ_NOT_READY_PREFIX;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.ERR_MQ_NOT_READY_SUFFIX;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.ERR_OUTPUT_PREFIX;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.ERR_RESET_FAILED;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.ERR_PARTIAL_OUTPUT_PREFIX;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.ERR_RESOURCE_NOT_FOUND;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.ERR_RUN_CMD_PREFIX;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.FILE_ARG;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.INIT_SQL;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.INSPECT_HEALTH_TEMPLATE;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.INSPECT_CMD;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.INSPECT_STATUS_TEMPLATE;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.IMAGE_ID_TEMPLATE;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.IMAGE_NAME_TEMPLATE;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.LINE_SPLIT_REGEX;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.LS_CMD;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MIN_MILLIS;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MIN_SECONDS;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MQ_AMQP_PORT;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MQ_HOST;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MQ_PASSWORD;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MQ_PORT;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MQ_STREAM;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MQ_USER;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MQ_CONTAINER_NAME;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.OUTPUT_DRAIN_TIMEOUT;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.OUTPUT_THREAD_NAME;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.PHASE_COMPOSE_UP;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.PHASE_DB;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.PHASE_MQ_AMQP;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.PHASE_MQ_STREAM;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.PODMAN_CMD;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.PODMAN_COMPOSE_CMD;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.PROBE_CLIENT_NAME;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.PS_ALL_ARG;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.PS_CMD;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.PS_FORMAT_ARG;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.PS_NAMES_TEMPLATE;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.PS_TIMEOUT_SEC;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.READY_BACKOFF_INITIAL;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.READY_HEALTH;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.READY_RETRY_INTERVAL;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.REUSE;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.RM_CMD;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.STATE_HEALTHY;
+import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.STATE_RUNNING;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.UP_CMD;
 import static com.github.akarazhev.cryptoscout.test.Constants.PATH_SEPARATOR;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.PROTOCOL_FILE;
@@ -101,6 +147,28 @@ import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.UP_T
 public final class PodmanCompose {
     private static final Logger LOGGER = LoggerFactory.getLogger(PodmanCompose.class);
     private static final Path COMPOSE_DIR;
+    // Number of outstanding up() calls in reuse mode
+    private static int references;
+    private static volatile Startup lastStartup;
+
+    public enum Mode {
+        // Containers were started by this call
+        COLD,
+        // A healthy stack left running by a previous JVM was adopted and reset
+        REUSED,
+        // The stack was already acquired in this JVM and only reset
+        SHARED
+    }
+
+    /**
+     * Outcome of the last {@link #up()} call.
+     *
+     * @param mode how the environment was obtained
+     * @param elapsed wall-clock time spent in {@code up()}
+     * @param phases time from the start of {@code up()} to the end of each startup phase, empty unless cold
+     */
+    public record Startup(Mode mode, Duration elapsed, Map<String, Duration> phases) {
+    }
 
     static {
         final var resourcePath = COMPOSE_FILE_LOCATION + PATH_SEPARATOR + COMPOSE_FILE_NAME;
@@ -133,16 +201,196 @@ public final class PodmanCompose {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Starts the environment. With {@code -Dpodman.compose.reuse=true} an already running healthy stack is
+     * adopted instead, and its tables, queues and streams are reset so each caller starts from a clean state.
+     */
     public static void up() {
-        // Start containers
-        runCommand(COMPOSE_DIR, UP_TIMEOUT, PODMAN_COMPOSE_CMD, FILE_ARG, COMPOSE_FILE_NAME, UP_CMD, DETACHED_ARG);
-        // Wait for DB readiness
-        waitForDatabaseReady(UP_TIMEOUT);
-        // Wait for MQ readiness
-        waitForMqReady(UP_TIMEOUT);
+        final var start = System.nanoTime();
+        if (!REUSE) {
+            report(Mode.COLD, start, start(start));
+            return;
+        }
+
+        synchronized (PodmanCompose.class) {
+            final Mode mode;
+            var phases = Map.<String, Duration>of();
+            if (references > 0) {
+                mode = Mode.SHARED;
+                reset();
+            } else if (isStackRunning()) {
+                mode = Mode.REUSED;
+                reset();
+            } else {
+                mode = Mode.COLD;
+                phases = start(start);
+            }
+
+            references++;
+            report(mode, start, phases);
+        }
     }
 
+    /**
+     * Stops the environment. In reuse mode this only releases the caller's reference and leaves the stack
+     * running for the next test class or run; use {@link #forceDown()} to remove it.
+     */
     public static void down() {
+        if (!REUSE) {
+            stop();
+            return;
+        }
+
+        synchronized (PodmanCompose.class) {
+            references = Math.max(0, references - 1);
+            LOGGER.info("Keeping podman compose stack running for reuse ({} references left)", references);
+        }
+    }
+
+    /**
+     * Stops and removes the containers and volumes regardless of the reuse mode.
+     */
+    public static void forceDown() {
+        synchronized (PodmanCompose.class) {
+            references = 0;
+            stop();
+        }
+    }
+
+    /**
+     * Returns how the environment was obtained by the last {@link #up()} call.
+     *
+     * @return the last startup, or {@code null} if {@link #up()} was not called
+     */
+    public static Startup getLastStartup() {
+        return lastStartup;
+    }
+
+    private static Map<String, Duration> start(final long start) {
+        final var phases = Collections.synchronizedMap(new LinkedHashMap<String, Duration>());
+        // Restore the initialized schema from a snapshot image instead of replaying the init scripts
+        final var snapshot = DB_SNAPSHOT ? snapshotImage() : null;
+        final var restore = snapshot != null && imageExists(snapshot);
+        final var env = restore ? Map.of(DB_IMAGE_ENV, snapshot) : Map.<String, String>of();
+        if (restore) {
+            LOGGER.info("Restoring database from snapshot image {}", snapshot);
+        }
+
+        // Start containers
+        runCommand(COMPOSE_DIR, UP_TIMEOUT, env, PODMAN_COMPOSE_CMD, FILE_ARG, COMPOSE_FILE_NAME, UP_CMD,
+                DETACHED_ARG);
+        phases.put(PHASE_COMPOSE_UP, Duration.ofNanos(System.nanoTime() - start));
+        // Wait for DB and MQ readiness concurrently
+        waitForReady(UP_TIMEOUT, start, phases);
+        if (DB_SNAPSHOT && !restore) {
+            // The base image may only have been pulled by compose up, so the key can be missing until now
+            final var image = snapshot != null ? snapshot : snapshotImage();
+            if (image != null) {
+                createSnapshot(image);
+                phases.put(PHASE_DB_SNAPSHOT, Duration.ofNanos(System.nanoTime() - start));
+            }
+        }
+
+        return Collections.unmodifiableMap(new LinkedHashMap<>(phases));
+    }
+
+    /**
+     * Names the snapshot image after a hash of everything that shapes the initialized database: the init
+     * scripts, the compose file and the ID of the local base image, so any schema change or newly pulled
+     * base image produces a new image.
+     *
+     * @return the image name, or {@code null} if the base image is not present yet or hashing failed
+     */
+    private static String snapshotImage() {
+        final var baseImageId = imageId(DB_BASE_IMAGE);
+        if (baseImageId == null) {
+            return null;
+        }
+
+        try {
+            final var digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            digest.update(baseImageId.getBytes(StandardCharsets.UTF_8));
+            digest.update(Files.readAllBytes(COMPOSE_DIR.resolve(COMPOSE_FILE_NAME)));
+            for (final var script : new String[]{INIT_SQL, BYBIT_SPOT_TABLES_SQL, BYBIT_LINEAR_TABLES_SQL,
+                    CRYPTO_SCOUT_TABLES_SQL}) {
+                digest.update(Files.readAllBytes(COMPOSE_DIR.resolve(SCRIPT_DIR_NAME).resolve(script)));
+            }
+
+            final var hash = HexFormat.of().formatHex(digest.digest());
+            return DB_SNAPSHOT_IMAGE_PREFIX + hash.substring(0, HASH_HEX_LENGTH);
+        } catch (final IOException | NoSuchAlgorithmException e) {
+            LOGGER.warn("Failed to hash database scripts, snapshot disabled: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String imageId(final String image) {
+        try {
+            final var id = runAndCapture(COMPOSE_DIR, Duration.ofSeconds(PS_TIMEOUT_SEC), PODMAN_CMD, IMAGE_CMD,
+                    INSPECT_CMD, PS_FORMAT_ARG, IMAGE_ID_TEMPLATE, image).trim();
+            return id.isEmpty() ? null : id;
+        } catch (final IllegalStateException e) {
+            LOGGER.info("Base image {} is not present yet, database snapshot deferred", image);
+            return null;
+        }
+    }
+
+    private static boolean imageExists(final String image) {
+        try {
+            runAndCapture(COMPOSE_DIR, Duration.ofSeconds(PS_TIMEOUT_SEC), PODMAN_CMD, IMAGE_CMD, EXISTS_CMD, image);
+            return true;
+        } catch (final IllegalStateException e) {
+            // podman image exists exits with 1 when the image is missing
+            return false;
+        }
+    }
+
+    private static void createSnapshot(final String image) {
+        try {
+            // Flush everything to the data files so the committed layer needs no WAL replay of the init scripts
+            DBUtils.checkpoint();
+            runCommand(COMPOSE_DIR, Duration.ofSeconds(IMAGE_TIMEOUT_SEC), PODMAN_CMD, COMMIT_CMD, PAUSE_ARG,
+                    DB_CONTAINER_NAME, image);
+            LOGGER.info("Committed database snapshot image {}", image);
+            pruneSnapshots(image);
+        } catch (final Exception e) {
+            // The environment is usable without a snapshot; the next cold start simply re-runs the scripts
+            LOGGER.warn("Failed to create database snapshot image {}: {}", image, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the snapshot images superseded by the current one, e.g. after a schema change or a base image
+     * update. Images still in use by a container are kept.
+     */
+    private static void pruneSnapshots(final String current) {
+        final String out;
+        try {
+            out = runAndCapture(COMPOSE_DIR, Duration.ofSeconds(PS_TIMEOUT_SEC), PODMAN_CMD, IMAGE_CMD, LS_CMD,
+                    PS_FORMAT_ARG, IMAGE_NAME_TEMPLATE, DB_SNAPSHOT_REPOSITORY);
+        } catch (final IllegalStateException e) {
+            LOGGER.warn("Failed to list database snapshot images: {}", e.getMessage());
+            return;
+        }
+
+        for (final var line : out.split(LINE_SPLIT_REGEX)) {
+            final var image = line.trim();
+            if (!image.startsWith(DB_SNAPSHOT_IMAGE_PREFIX) || image.equals(current)) {
+                continue;
+            }
+
+            try {
+                runCommand(COMPOSE_DIR, Duration.ofSeconds(IMAGE_TIMEOUT_SEC), PODMAN_CMD, IMAGE_CMD, RM_CMD, image);
+                LOGGER.info("Removed superseded database snapshot image {}", image);
+            } catch (final IllegalStateException e) {
+                LOGGER.warn("Failed to remove database snapshot image {}: {}", image, e.getMessage());
+            }
+        }
+    }
+
+    private static void stop() {
+        // Pooled connections would point at the removed database
+        ConnectionPool.shared().closeIdle();
         // Stop and remove containers + volumes (prevents stale DB state across test runs)
         runCommand(COMPOSE_DIR, DOWN_TIMEOUT, PODMAN_COMPOSE_CMD, FILE_ARG, COMPOSE_FILE_NAME, DOWN_CMD, DOWN_VOLUMES_ARG);
         // Wait until containers are removed
@@ -150,34 +398,131 @@ public final class PodmanCompose {
         waitForContainerRemoval(MQ_CONTAINER_NAME, DOWN_TIMEOUT);
     }
 
-    private static void waitForDatabaseReady(final Duration timeout) {
+    private static void reset() {
+        try {
+            final var tables = DBUtils.resetSchema();
+            MQUtils.reset();
+            LOGGER.debug("Reset {} tables ({} already empty), queues and streams", tables.truncated().size(),
+                    tables.skipped().size());
+        } catch (final Exception e) {
+            throw new IllegalStateException(ERR_RESET_FAILED, e);
+        }
+    }
+
+    private static void report(final Mode mode, final long start, final Map<String, Duration> phases) {
+        final var startup = new Startup(mode, Duration.ofNanos(System.nanoTime() - start), phases);
+        lastStartup = startup;
+        final var timeline = new StringBuilder();
+        phases.forEach((phase, at) -> timeline.append(' ').append(phase).append('=').append(at.toMillis())
+                .append("ms"));
+        LOGGER.info("Podman compose environment ready: mode={}, elapsed={} ms, timeline:{}", mode,
+                startup.elapsed().toMillis(), timeline);
+    }
+
+    private static boolean isStackRunning() {
+        return isContainerRunning(DB_CONTAINER_NAME) && isContainerRunning(MQ_CONTAINER_NAME) &&
+                canConnectToDb() && canConnectToMq();
+    }
+
+    private static boolean isContainerRunning(final String containerName) {
+        try {
+            final var out = runAndCapture(COMPOSE_DIR, Duration.ofSeconds(PS_TIMEOUT_SEC), PODMAN_CMD, INSPECT_CMD,
+                    PS_FORMAT_ARG, INSPECT_STATUS_TEMPLATE, containerName);
+            return STATE_RUNNING.equals(out.trim());
+        } catch (final IllegalStateException e) {
+            // podman inspect fails when the container does not exist
+            return false;
+        }
+    }
+
+    private static void waitForReady(final Duration timeout, final long start, final Map<String, Duration> phases) {
         final var deadline = System.nanoTime() + timeout.toNanos();
         final var loginTimeoutSec = (int) Math.max(MIN_SECONDS, READY_RETRY_INTERVAL.getSeconds());
         DriverManager.setLoginTimeout(loginTimeoutSec);
+        try (final var probes = Executors.newVirtualThreadPerTaskExecutor()) {
+            final var completion = new ExecutorCompletionService<Void>(probes);
+            final var db = completion.submit(() -> {
+                final BooleanSupplier probe = READY_HEALTH ? () -> isContainerHealthy(DB_CONTAINER_NAME) :
+                        PodmanCompose::canConnectToDb;
+                if (!awaitReady(deadline, probe)) {
+                    throw new IllegalStateException(ERR_DB_NOT_READY_PREFIX + timeout.toSeconds() +
+                            ERR_DB_NOT_READY_SUFFIX);
+                }
 
-        while (System.nanoTime() < deadline) {
-            if (canConnectToDb()) {
-                return;
+                phases.put(PHASE_DB, Duration.ofNanos(System.nanoTime() - start));
+                return null;
+            });
+            final var mq = completion.submit(() -> {
+                if (READY_HEALTH) {
+                    if (!awaitReady(deadline, () -> isContainerHealthy(MQ_CONTAINER_NAME))) {
+                        throw new IllegalStateException(ERR_MQ_NOT_READY_PREFIX + timeout.toSeconds() +
+                                ERR_MQ_NOT_READY_SUFFIX);
+                    }
+                } else {
+                    try (final var probe = new AmqpProbe()) {
+                        if (!awaitReady(deadline, probe)) {
+                            throw new IllegalStateException(ERR_MQ_NOT_READY_PREFIX + timeout.toSeconds() +
+                                    ERR_MQ_NOT_READY_SUFFIX);
+                        }
+                    }
+                }
+
+                phases.put(PHASE_MQ_AMQP, Duration.ofNanos(System.nanoTime() - start));
+                // The stream listener comes up with the broker, so this normally succeeds on the first attempt
+                if (!awaitReady(deadline, PodmanCompose::canConnectToMq)) {
+                    throw new IllegalStateException(ERR_MQ_NOT_READY_PREFIX + timeout.toSeconds() +
+                            ERR_MQ_NOT_READY_SUFFIX);
+                }
+
+                phases.put(PHASE_MQ_STREAM, Duration.ofNanos(System.nanoTime() - start));
+                return null;
+            });
+            try {
+                // Whichever probe fails first fails the start; the other one is cancelled instead of polling on
+                for (var i = 0; i < 2; i++) {
+                    completion.take().get();
+                }
+            } finally {
+                db.cancel(true);
+                mq.cancel(true);
+            }
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IllegalStateException ise) {
+                throw ise;
             }
 
-            sleep(READY_RETRY_INTERVAL);
+            throw new IllegalStateException(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for readiness", e);
         }
-
-        throw new IllegalStateException(ERR_DB_NOT_READY_PREFIX + timeout.toSeconds() + ERR_DB_NOT_READY_SUFFIX);
     }
 
-    private static void waitForMqReady(final Duration timeout) {
-        final var deadline = System.nanoTime() + timeout.toNanos();
-
-        while (System.nanoTime() < deadline) {
-            if (canConnectToMq()) {
-                return;
+    private static boolean awaitReady(final long deadline, final BooleanSupplier probe) {
+        var backoff = READY_BACKOFF_INITIAL;
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            if (probe.getAsBoolean()) {
+                return true;
             }
 
-            sleep(READY_RETRY_INTERVAL);
+            sleep(backoff);
+            backoff = backoff.multipliedBy(2);
+            if (backoff.compareTo(READY_RETRY_INTERVAL) > 0) {
+                backoff = READY_RETRY_INTERVAL;
+            }
         }
 
-        throw new IllegalStateException(ERR_MQ_NOT_READY_PREFIX + timeout.toSeconds() + ERR_MQ_NOT_READY_SUFFIX);
+        return false;
+    }
+
+    private static boolean isContainerHealthy(final String containerName) {
+        try {
+            final var out = runAndCapture(COMPOSE_DIR, Duration.ofSeconds(PS_TIMEOUT_SEC), PODMAN_CMD, INSPECT_CMD,
+                    PS_FORMAT_ARG, INSPECT_HEALTH_TEMPLATE, containerName);
+            return STATE_HEALTHY.equals(out.trim());
+        } catch (final IllegalStateException e) {
+            return false;
+        }
     }
 
     private static boolean canConnectToDb() {
@@ -229,7 +574,12 @@ public final class PodmanCompose {
     }
 
     private static void runCommand(final Path dir, final Duration timeout, final String... command) {
-        final var output = runAndCapture(dir, timeout, command);
+        runCommand(dir, timeout, Map.of(), command);
+    }
+
+    private static void runCommand(final Path dir, final Duration timeout, final Map<String, String> env,
+                                   final String... command) {
+        final var output = runAndCapture(dir, timeout, env, command);
         // best-effort to show output on success in debug scenarios
         if (!output.isEmpty()) {
             LOGGER.info(output);
@@ -237,9 +587,15 @@ public final class PodmanCompose {
     }
 
     private static String runAndCapture(final Path dir, final Duration timeout, final String... command) {
+        return runAndCapture(dir, timeout, Map.of(), command);
+    }
+
+    private static String runAndCapture(final Path dir, final Duration timeout, final Map<String, String> env,
+                                        final String... command) {
         final var cmd = Arrays.asList(command);
         final var pb = new ProcessBuilder(cmd);
         pb.directory(dir.toFile());
+        pb.environment().putAll(env);
         pb.redirectErrorStream(true);
         try {
             final var p = pb.start();
@@ -261,6 +617,14 @@ public final class PodmanCompose {
             final var finished = p.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS);
             if (!finished) {
                 p.destroyForcibly();
+            }
+
+            // The process exiting does not mean its output was read: wait for the reader to drain the pipe
+            if (!reader.join(OUTPUT_DRAIN_TIMEOUT)) {
+                LOGGER.warn("Output of command {} was not fully read", String.join(" ", cmd));
+            }
+
+            if (!finished) {
                 throw new IllegalStateException(ERR_CMD_TIMEOUT_PREFIX + String.join(" ", cmd) +
                         ERR_PARTIAL_OUTPUT_PREFIX + out);
             }
@@ -366,4 +730,51 @@ public final class PodmanCompose {
             LOGGER.warn("Sleep interrupted", e);
         }
     }
+
+    /**
+     * AMQP readiness probe that keeps its connection between attempts, so once the broker accepts
+     * connections each further check is a single passive declare of the stream queue.
+     */
+    private static final class AmqpProbe implements BooleanSupplier, AutoCloseable {
+        private final ConnectionFactory factory = new ConnectionFactory();
+        private Connection connection;
+
+        private AmqpProbe() {
+            factory.setHost(MQ_HOST);
+            factory.setPort(MQ_AMQP_PORT);
+            factory.setUsername(MQ_USER);
+            factory.setPassword(MQ_PASSWORD);
+            factory.setAutomaticRecoveryEnabled(false);
+        }
+
+        @Override
+        public boolean getAsBoolean() {
+            try {
+                if (connection == null || !connection.isOpen()) {
+                    connection = factory.newConnection(PROBE_CLIENT_NAME);
+                }
+
+                try (final var channel = connection.createChannel()) {
+                    // Fails until definitions.json has been imported
+                    channel.queueDeclarePassive(MQ_STREAM);
+                }
+
+                return true;
+            } catch (final Exception e) {
+                LOGGER.debug("MQ not ready yet: {}", e.getMessage());
+                return false;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (connection != null && connection.isOpen()) {
+                try {
+                    connection.close();
+                } catch (final Exception e) {
+                    LOGGER.debug("Error closing MQ probe connection", e);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,329 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+import com.github.akarazhev.jcryptolib.util.JsonUtils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.Replay.ERR_ALREADY_STARTED;
+import static com.github.akarazhev.cryptoscout.test.Constants.Replay.ERR_INVALID_SPEED;
+import static com.github.akarazhev.cryptoscout.test.Constants.Replay.ERR_MISSING_TIMESTAMP;
+import static com.github.akarazhev.cryptoscout.test.Constants.Replay.MAX_SPEED;
+import static com.github.akarazhev.cryptoscout.test.Constants.Replay.REAL_TIME;
+import static com.github.akarazhev.cryptoscout.test.Constants.Replay.TOPIC;
+import static com.github.akarazhev.cryptoscout.test.Constants.Replay.TS;
+
+/**
+ * Replays a recorded session of Bybit messages with their original spacing, compressed by a speed factor.
+ * Events are emitted strictly in capture order from a single pacing iterator, so the order within every topic
+ * is preserved; plug it into {@link StreamTestPublisher#publishAll(Iterator)} via {@link #payloads} or into
+ * {@link AmqpTestPublisher#publishAll} via {@link #paced}. An event that cannot be sent on time is sent as soon
+ * as possible and the delay is recorded as scheduling lag.
+ * <p>
+ * A capture file holds one JSON message per line, as received from the websocket, with its {@code topic} and
+ * millisecond {@code ts}.
+ */
+public final class ReplayEngine implements AutoCloseable {
+    private final Iterator<Event> events;
+    private final Closeable resource;
+    private final Options options;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final LatencyHistogram lag = LatencyHistogram.create();
+    private final Map<String, Long> topics = new LinkedHashMap<>();
+    private volatile ReplayStats stats;
+    private long count;
+    private long firstTs;
+    private long lastTs;
+    private long startNanos;
+    private long endNanos;
+
+    /**
+     * Replay speed.
+     *
+     * @param speed time compression factor: {@code 1} replays in real time, {@code 10} ten times faster and
+     *              {@code 0} as fast as the publisher accepts
+     */
+    public record Options(double speed) {
+
+        public Options {
+            if (speed < 0d || Double.isNaN(speed) || Double.isInfinite(speed)) {
+                throw new IllegalArgumentException(ERR_INVALID_SPEED);
+            }
+        }
+
+        public static Options realTime() {
+            return new Options(REAL_TIME);
+        }
+
+        public static Options speed(final double speed) {
+            return new Options(speed);
+        }
+
+        public static Options maxSpeed() {
+            return new Options(MAX_SPEED);
+        }
+
+        public boolean isMaxSpeed() {
+            return speed == MAX_SPEED;
+        }
+    }
+
+    /**
+     * A captured message.
+     *
+     * @param topic the Bybit topic, e.g. {@code orderbook.50.BTCUSDT}
+     * @param timestamp the capture timestamp in millis
+     * @param message the message
+     */
+    public record Event(String topic, long timestamp, Map<String, Object> message) {
+
+        /**
+         * Creates an event from a Bybit message using its {@code topic} and {@code ts} fields.
+         *
+         * @param message the message
+         * @return the event
+         */
+        public static Event of(final Map<String, Object> message) {
+            if (!(message.get(TS) instanceof Number ts)) {
+                throw new IllegalStateException(ERR_MISSING_TIMESTAMP + message.get(TOPIC));
+            }
+
+            return new Event((String) message.get(TOPIC), ts.longValue(), message);
+        }
+    }
+
+    /**
+     * Outcome of a replay.
+     *
+     * @param events number of events emitted
+     * @param topics number of events per topic, in order of first appearance
+     * @param capturedMillis time span covered by the replayed events
+     * @param speed the requested speed, {@code 0} for max speed
+     * @param elapsedNanos time from the first to the last emitted event
+     * @param lag delay of emitted events behind their schedule; empty at max speed
+     */
+    public record ReplayStats(long events, Map<String, Long> topics, long capturedMillis, double speed,
+                              long elapsedNanos, LatencyHistogram.Summary lag) {
+
+        /**
+         * Returns the rate implied by the capture and the speed, or infinity at max speed.
+         */
+        public double requestedRate() {
+            if (speed == MAX_SPEED) {
+                return Double.POSITIVE_INFINITY;
+            }
+
+            return capturedMillis == 0 ? 0d : events * speed * 1_000d / capturedMillis;
+        }
+
+        public double achievedRate() {
+            return elapsedNanos == 0 ? 0d : events * 1_000_000_000d / elapsedNanos;
+        }
+    }
+
+    /**
+     * Creates an engine over captured events in capture order.
+     *
+     * @param events the events
+     * @param options the replay speed
+     * @return the engine
+     */
+    public static ReplayEngine create(final Iterator<Event> events, final Options options) {
+        return new ReplayEngine(events, null, options);
+    }
+
+    /**
+     * Creates an engine reading a capture file with one JSON message per line. The file is read lazily while
+     * replaying and closed by {@link #close()}.
+     *
+     * @param capture the capture file
+     * @param options the replay speed
+     * @return the engine
+     * @throws IOException if the file cannot be opened
+     */
+    public static ReplayEngine create(final Path capture, final Options options) throws IOException {
+        final var reader = Files.newBufferedReader(capture, StandardCharsets.UTF_8);
+        return new ReplayEngine(new LineIterator(reader), reader, options);
+    }
+
+    private ReplayEngine(final Iterator<Event> events, final Closeable resource, final Options options) {
+        this.events = events;
+        this.resource = resource;
+        this.options = options;
+    }
+
+    /**
+     * Returns a pacing iterator of stream payloads for {@link StreamTestPublisher#publishAll(Iterator)}.
+     *
+     * @param provider the payload provider
+     * @param source the payload source
+     * @return the paced payloads
+     */
+    public Iterator<Payload<Map<String, Object>>> payloads(final Provider provider, final Source source) {
+        return paced(event -> Payload.of(provider, source, event.message()));
+    }
+
+    /**
+     * Returns a pacing iterator that maps every event when it is due. {@code next()} blocks until the event's
+     * scheduled time, so the iterator must be drained by a single thread, as the publishers' {@code publishAll}
+     * do. The replay can only be started once.
+     *
+     * @param mapper converts an event into what the publisher sends
+     * @param <T> the published type
+     * @return the paced iterator
+     */
+    public <T> Iterator<T> paced(final Function<Event, T> mapper) {
+        if (!started.compareAndSet(false, true)) {
+            throw new IllegalStateException(ERR_ALREADY_STARTED);
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                if (events.hasNext()) {
+                    return true;
+                }
+
+                complete();
+                return false;
+            }
+
+            @Override
+            public T next() {
+                final var event = events.next();
+                final var now = await(event);
+                topics.merge(event.topic(), 1L, Long::sum);
+                endNanos = now;
+                return mapper.apply(event);
+            }
+        };
+    }
+
+    /**
+     * Returns the statistics once the paced iterator is exhausted, or {@code null} before.
+     *
+     * @return the replay statistics
+     */
+    public ReplayStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (resource != null) {
+            resource.close();
+        }
+    }
+
+    private long await(final Event event) {
+        if (count++ == 0) {
+            firstTs = event.timestamp();
+            lastTs = firstTs;
+            startNanos = System.nanoTime();
+        }
+
+        lastTs = Math.max(lastTs, event.timestamp());
+        var now = System.nanoTime();
+        if (options.isMaxSpeed()) {
+            return now;
+        }
+
+        // Events recorded slightly out of order across topics are sent immediately, keeping capture order
+        final var due = startNanos + (long) (Math.max(0L, event.timestamp() - firstTs) * 1_000_000d /
+                options.speed());
+        while (now < due) {
+            LockSupport.parkNanos(due - now);
+            now = System.nanoTime();
+        }
+
+        lag.record(now - due);
+        return now;
+    }
+
+    private void complete() {
+        if (stats == null) {
+            stats = new ReplayStats(count, Collections.unmodifiableMap(new LinkedHashMap<>(topics)),
+                    count == 0 ? 0L : lastTs - firstTs, options.speed(), endNanos - startNanos, lag.getSummary());
+        }
+    }
+
+    private static final class LineIterator implements Iterator<Event> {
+        private final BufferedReader reader;
+        private Event next;
+
+        private LineIterator(final BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        next = Event.of(JsonUtils.json2Map(line));
+                        return true;
+                    }
+                }
+
+                return false;
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public Event next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final var event = next;
+            next = null;
+            return event;
+        }
+    }
+}
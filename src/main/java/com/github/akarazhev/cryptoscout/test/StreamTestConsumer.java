@@ -25,9 +25,10 @@
 package com.github.akarazhev.cryptoscout.test;
 
 import com.github.akarazhev.jcryptolib.stream.Payload;
-import com.github.akarazhev.jcryptolib.util.JsonUtils;
 import com.rabbitmq.stream.Consumer;
+import com.rabbitmq.stream.ConsumerUpdateListener;
 import com.rabbitmq.stream.Environment;
+import com.rabbitmq.stream.Message;
 import com.rabbitmq.stream.OffsetSpecification;
 import io.activej.async.service.ReactiveService;
 import io.activej.promise.Promise;
@@ -38,29 +39,161 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.zip.CRC32C;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.COLLECTOR_NAME_SUFFIX;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.COLLECT_TIMEOUT;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.DECODE_QUEUE_CAPACITY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.DECODE_THREADS;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.PUBLISH_TS_PROPERTY;
 
 public final class StreamTestConsumer extends AbstractReactive implements ReactiveService {
     private static final Logger LOGGER = LoggerFactory.getLogger(StreamTestConsumer.class);
     private final Executor executor;
     private final Environment environment;
     private final String stream;
+    private final CollectOptions collectOptions;
+    private final OffsetStore offsets;
+    private final String group;
     private final AtomicReference<SettablePromise<Payload<Map<String, Object>>>> resultRef = new AtomicReference<>();
+    private final AtomicReference<Collector> collectorRef = new AtomicReference<>();
+    // Offset per partition stream below which every message is handled, so a partition handed back to this member
+    // resumes after it
+    private final Map<String, Long> lastHandled = new ConcurrentHashMap<>();
+    private final Set<String> active = ConcurrentHashMap.newKeySet();
     private volatile Consumer consumer;
 
+    /**
+     * Settings of the collecting mode.
+     *
+     * @param expected number of messages to collect, or {@code 0} to collect until the predicate or timeout
+     * @param timeout max time to wait; collection completes with what was received when it expires
+     * @param until stop condition; collection completes once a decoded payload matches it
+     * @param retainPayloads whether decoded payloads are kept, or only counts and checksums
+     * @param decodeThreads number of decode workers
+     * @param queueCapacity max number of messages waiting for a decode worker before the client thread blocks
+     */
+    public record CollectOptions(int expected, Duration timeout, Predicate<Payload<Map<String, Object>>> until,
+                                 boolean retainPayloads, int decodeThreads, int queueCapacity) {
+
+        public CollectOptions {
+            if (expected < 0 || decodeThreads < 1 || queueCapacity < 1) {
+                throw new IllegalArgumentException("Invalid collect options");
+            }
+        }
+
+        public static CollectOptions of(final int expected) {
+            return new CollectOptions(expected, COLLECT_TIMEOUT, _ -> false, true, DECODE_THREADS,
+                    DECODE_QUEUE_CAPACITY);
+        }
+
+        public static CollectOptions lean(final int expected) {
+            return new CollectOptions(expected, COLLECT_TIMEOUT, _ -> false, false, DECODE_THREADS,
+                    DECODE_QUEUE_CAPACITY);
+        }
+    }
+
+    /**
+     * Outcome of a collecting run.
+     *
+     * @param payloads decoded payloads in stream order, empty unless payloads are retained
+     * @param count number of successfully decoded messages, excluding {@code decodeErrors}
+     * @param bytes total body bytes received
+     * @param checksum order-independent sum of the CRC32C of every message body
+     * @param decodeErrors number of bodies that could not be decoded; together with {@code count} they make up the
+     *                     messages received for the collection
+     * @param unstamped number of messages without a publish timestamp
+     * @param redelivered number of messages at or below an offset already collected from their partition, which
+     *                    are skipped and not counted
+     * @param complete whether the expected count or predicate was reached
+     * @param timedOut whether the timeout expired before the expected count or predicate was reached; a
+     *                 collection ended by {@link #stop()} is neither complete nor timed out
+     * @param elapsedNanos time from the first received message to completion
+     * @param latency publish-to-receive latency summary
+     */
+    public record CollectResult(List<Payload<Map<String, Object>>> payloads, long count, long bytes, long checksum,
+                                long decodeErrors, long unstamped, long redelivered, boolean complete,
+                                boolean timedOut, long elapsedNanos, LatencyHistogram.Summary latency) {
+
+        public double messagesPerSecond() {
+            return elapsedNanos == 0 ? 0d : count * 1_000_000_000d / elapsedNanos;
+        }
+    }
+
     public static StreamTestConsumer create(final NioReactor reactor, final Executor executor,
                                             final Environment environment, final String stream) {
-        return new StreamTestConsumer(reactor, executor, environment, stream);
+        return new StreamTestConsumer(reactor, executor, environment, stream, null, null, null);
     }
 
-    private StreamTestConsumer(final NioReactor reactor, final Executor executor,
-                               final Environment environment, final String stream) {
+    /**
+     * Creates a consumer in collecting mode: every message is accumulated according to the options and the
+     * outcome is available from {@link #getCollected()}.
+     */
+    public static StreamTestConsumer create(final NioReactor reactor, final Executor executor,
+                                            final Environment environment, final String stream,
+                                            final CollectOptions options) {
+        return new StreamTestConsumer(reactor, executor, environment, stream, options, null, null);
+    }
+
+    /**
+     * Creates a consumer that resumes after the offset committed for the stream, or from the first message if none
+     * is, and commits the offsets of the messages it handles back to the store. In collecting mode an offset is
+     * committed only once the message and every earlier one of its partition are decoded. Pass {@code null} options
+     * for the first-result mode.
+     */
+    public static StreamTestConsumer create(final NioReactor reactor, final Executor executor,
+                                            final Environment environment, final String stream,
+                                            final CollectOptions options, final OffsetStore offsets) {
+        return new StreamTestConsumer(reactor, executor, environment, stream, options, offsets, null);
+    }
+
+    /**
+     * Creates a member of a single active consumer group on a super stream: each partition is consumed by one
+     * member of the group at a time and another member takes over when it stops. With an offset store, offsets
+     * are committed per partition stream and the member that becomes active on a partition resumes after them;
+     * {@code offsets} may be {@code null}, in which case a member that gets a partition back resumes after the last
+     * offset it handled there and starts other partitions from the first message.
+     */
+    public static StreamTestConsumer createSuperStream(final NioReactor reactor, final Executor executor,
+                                                       final Environment environment, final String superStream,
+                                                       final String group, final CollectOptions options,
+                                                       final OffsetStore offsets) {
+        return new StreamTestConsumer(reactor, executor, environment, superStream, options, offsets, group);
+    }
+
+    private StreamTestConsumer(final NioReactor reactor, final Executor executor, final Environment environment,
+                               final String stream, final CollectOptions collectOptions, final OffsetStore offsets,
+                               final String group) {
         super(reactor);
         this.executor = executor;
         this.environment = environment;
         this.stream = stream;
+        this.collectOptions = collectOptions;
+        this.offsets = offsets;
+        this.group = group;
     }
 
     @SuppressWarnings("unchecked")
@@ -71,21 +204,43 @@ public final class StreamTestConsumer extends AbstractReactive implements Reacti
             if (!resultRef.compareAndSet(null, result)) {
                 throw new IllegalStateException("Consumer already started");
             }
-            consumer = environment.consumerBuilder()
-                    .name(stream)
-                    .stream(stream)
-                    .offset(OffsetSpecification.first())
+
+            final var collector = collectOptions != null ? new Collector(collectOptions) : null;
+            collectorRef.set(collector);
+            final var builder = environment.consumerBuilder();
+            if (group != null) {
+                builder.superStream(stream)
+                        .singleActiveConsumer()
+                        .name(group)
+                        .consumerUpdateListener(this::update);
+            } else {
+                // The collecting mode gets a name of its own so it never shares one with a tracking consumer
+                builder.name(collector != null ? stream + COLLECTOR_NAME_SUFFIX : stream)
+                        .stream(stream)
+                        .offset(startOffset(stream));
+            }
+
+            consumer = builder
                     .manualTrackingStrategy().
                     builder()
-                    .messageHandler((_, message) -> {
+                    .messageHandler((context, message) -> {
+                        if (collector != null) {
+                            // Committed by the decode worker once the message and every one before it are decoded
+                            collector.accept(context.stream(), context.offset(), message);
+                            return;
+                        }
+
                         final var promise = resultRef.get();
                         if (promise != null && !promise.isComplete()) {
                             try {
-                                promise.set(JsonUtils.bytes2Object(message.getBodyAsBinary(), Payload.class));
-                            } catch (final IOException e) {
+                                promise.set(PayloadCodec.forContentType(contentType(message))
+                                        .decodePayload(message.getBodyAsBinary()));
+                            } catch (final IOException | RuntimeException e) {
                                 promise.setException(e);
                             }
                         }
+
+                        commit(context.stream(), context.offset());
                     })
                     .build();
         });
@@ -99,6 +254,19 @@ public final class StreamTestConsumer extends AbstractReactive implements Reacti
         return result;
     }
 
+    /**
+     * Returns the outcome of the collecting mode.
+     *
+     * @return a promise completed once the expected count, the predicate or the timeout is reached
+     */
+    public Promise<CollectResult> getCollected() {
+        final var collector = collectorRef.get();
+        if (collector == null) {
+            return Promise.ofException(new IllegalStateException("Consumer not started in collecting mode"));
+        }
+        return collector.promise;
+    }
+
     @Override
     public Promise<Void> stop() {
         return Promise.ofBlocking(executor, () -> {
@@ -107,11 +275,288 @@ public final class StreamTestConsumer extends AbstractReactive implements Reacti
                     consumer.close();
                     consumer = null;
                 }
+
+                if (offsets != null) {
+                    offsets.flush();
+                }
             } catch (final Exception ex) {
                 LOGGER.warn("Error closing stream consumer", ex);
             } finally {
+                final var collector = collectorRef.getAndSet(null);
+                if (collector != null) {
+                    collector.finish(End.STOPPED);
+                }
+
                 resultRef.set(null);
             }
         });
     }
+
+    /**
+     * Returns the partition streams this member is currently the active consumer of; a plain stream consumer is not
+     * reported.
+     */
+    public Set<String> getActivePartitions() {
+        return Set.copyOf(active);
+    }
+
+    /**
+     * Returns where to start on a stream: after its committed offset or the last offset handled by this consumer,
+     * whichever is further, or at the first message.
+     */
+    private OffsetSpecification startOffset(final String partition) throws SQLException {
+        final var committed = offsets != null ? offsets.load(partition) : OptionalLong.empty();
+        final var last = Math.max(committed.orElse(-1L), lastHandled.getOrDefault(partition, -1L));
+        return last >= 0 ? OffsetSpecification.offset(last + 1) : OffsetSpecification.first();
+    }
+
+    private OffsetSpecification update(final ConsumerUpdateListener.Context context) {
+        try {
+            if (context.isActive()) {
+                active.add(context.stream());
+                return startOffset(context.stream());
+            }
+
+            active.remove(context.stream());
+
+            // Hand the partition over with everything handled so far committed; the returned value is ignored
+            if (offsets != null) {
+                offsets.flush();
+            }
+        } catch (final SQLException e) {
+            LOGGER.warn("Failed to read or commit offsets of stream {}: {}", context.stream(), e.getMessage());
+        }
+
+        return OffsetSpecification.first();
+    }
+
+    private void commit(final String partition, final long offset) {
+        lastHandled.merge(partition, offset, Math::max);
+        if (offsets == null) {
+            return;
+        }
+
+        offsets.processed(partition, offset);
+    }
+
+    /**
+     * Returns the content type the publisher set, which selects the codec; {@code null} decodes as JSON.
+     */
+    private static String contentType(final Message message) {
+        return message.getProperties() != null ? message.getProperties().getContentType() : null;
+    }
+
+    private enum End {
+        COMPLETED, TIMED_OUT, STOPPED
+    }
+
+    private final class Collector {
+        private final CollectOptions options;
+        private final SettablePromise<CollectResult> promise = new SettablePromise<>();
+        private final ThreadPoolExecutor decoders;
+        private final ConcurrentLinkedQueue<Received> received = new ConcurrentLinkedQueue<>();
+        private final LatencyHistogram latency = LatencyHistogram.create();
+        private final AtomicLong arrived = new AtomicLong();
+        private final AtomicLong decoded = new AtomicLong();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder checksum = new LongAdder();
+        private final LongAdder decodeErrors = new LongAdder();
+        private final LongAdder unstamped = new LongAdder();
+        private final LongAdder redelivered = new LongAdder();
+        private final Map<String, Progress> progress = new ConcurrentHashMap<>();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final CompletableFuture<Boolean> deadline = new CompletableFuture<>();
+        private volatile long firstArrival;
+
+        private Collector(final CollectOptions options) {
+            this.options = options;
+            // A full queue blocks the client thread, which in turn stops granting credits to the broker
+            this.decoders = new ThreadPoolExecutor(options.decodeThreads(), options.decodeThreads(), 0L,
+                    TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(options.queueCapacity()), (task, pool) -> {
+                if (pool.isShutdown()) {
+                    throw new RejectedExecutionException("Decode pool is shut down");
+                }
+
+                try {
+                    pool.getQueue().put(task);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException(e);
+                }
+            });
+            // Completing the deadline early in finish() cancels the pending timeout task
+            deadline.completeOnTimeout(true, options.timeout().toNanos(), TimeUnit.NANOSECONDS)
+                    .thenAccept(expired -> {
+                        if (expired) {
+                            finish(End.TIMED_OUT);
+                        }
+                    });
+        }
+
+        /**
+         * Hands the message to a decode worker unless its offset was already collected from the partition.
+         */
+        private void accept(final String partition, final long offset, final Message message) {
+            final var receivedAt = Timestamps.epochNanos();
+            if (closed.get()) {
+                return;
+            }
+
+            final var tracked = progress.computeIfAbsent(partition,
+                    _ -> new Progress(lastHandled.getOrDefault(partition, -1L)));
+            if (offset <= tracked.accepted()) {
+                redelivered.increment();
+                return;
+            }
+
+            final var index = arrived.getAndIncrement();
+            if (options.expected() > 0 && index >= options.expected()) {
+                return;
+            }
+
+            if (index == 0) {
+                firstArrival = System.nanoTime();
+            }
+
+            final var publishedAt = message.getApplicationProperties() != null ?
+                    message.getApplicationProperties().get(PUBLISH_TS_PROPERTY) : null;
+            final var body = message.getBodyAsBinary();
+            final var contentType = contentType(message);
+            tracked.accept(offset);
+            try {
+                decoders.execute(() -> decode(partition, offset, index, body, contentType, publishedAt, receivedAt));
+            } catch (final RejectedExecutionException e) {
+                tracked.cancel(offset);
+                LOGGER.debug("Dropped message {} after collection completed", index);
+            }
+        }
+
+        private void decode(final String partition, final long offset, final long index, final byte[] body,
+                            final String contentType, final Object publishedAt, final long receivedAt) {
+            if (publishedAt instanceof Number ts) {
+                latency.record(receivedAt - ts.longValue());
+            } else {
+                unstamped.increment();
+            }
+
+            final var crc = new CRC32C();
+            crc.update(body);
+            checksum.add(crc.getValue());
+            bytes.add(body.length);
+            try {
+                final var payload = PayloadCodec.forContentType(contentType).decodePayload(body);
+                if (options.retainPayloads()) {
+                    received.add(new Received(index, payload));
+                }
+
+                if (index == 0) {
+                    final var first = resultRef.get();
+                    if (first != null) {
+                        reactor.execute(() -> first.trySet(payload));
+                    }
+                }
+
+                if (options.until().test(payload)) {
+                    finish(End.COMPLETED);
+                }
+            } catch (final IOException | RuntimeException e) {
+                decodeErrors.increment();
+                LOGGER.warn("Failed to decode stream message {}: {}", index, e.getMessage());
+            }
+
+            // A failed decode would fail again when redelivered, so it is handled too
+            final var watermark = progress.get(partition).complete(offset);
+            if (watermark >= 0) {
+                commit(partition, watermark);
+            }
+
+            if (decoded.incrementAndGet() == options.expected()) {
+                finish(End.COMPLETED);
+            }
+        }
+
+        private void finish(final End end) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+
+            deadline.complete(false);
+            final var completedAt = System.nanoTime();
+            // Let in-flight decodes land before snapshotting; never block a decode worker on its own pool
+            executor.execute(() -> {
+                decoders.shutdown();
+                try {
+                    if (!decoders.awaitTermination(options.timeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                        LOGGER.warn("Decode workers did not finish in time");
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                final var payloads = new ArrayList<Received>(received);
+                payloads.sort(Comparator.comparingLong(Received::index));
+                final var errors = decodeErrors.sum();
+                final var result = new CollectResult(payloads.stream().map(Received::payload).toList(),
+                        decoded.get() - errors, bytes.sum(), checksum.sum(), errors, unstamped.sum(),
+                        redelivered.sum(), end == End.COMPLETED, end == End.TIMED_OUT,
+                        firstArrival == 0 ? 0L : completedAt - firstArrival, latency.getSummary());
+                if (end == End.TIMED_OUT) {
+                    LOGGER.warn("Collected {} of {} messages from stream {} before timeout", result.count(),
+                            options.expected(), stream);
+                } else if (end == End.STOPPED) {
+                    LOGGER.warn("Collected {} of {} messages from stream {} before stop", result.count(),
+                            options.expected(), stream);
+                }
+
+                reactor.execute(() -> promise.trySet(result));
+            });
+        }
+    }
+
+    private record Received(long index, Payload<Map<String, Object>> payload) {
+    }
+
+    /**
+     * Offsets of one partition handed to the decode workers. Workers finish out of order, so only the offset below
+     * which every accepted message is decoded may be committed; anything above it is delivered again after a crash.
+     */
+    private static final class Progress {
+        // Accepted offsets in stream order that are not yet below the watermark
+        private final ArrayDeque<Long> inFlight = new ArrayDeque<>();
+        private final Set<Long> done = new HashSet<>();
+        private long accepted;
+
+        private Progress(final long accepted) {
+            this.accepted = accepted;
+        }
+
+        private synchronized long accepted() {
+            return accepted;
+        }
+
+        private synchronized void accept(final long offset) {
+            accepted = offset;
+            inFlight.addLast(offset);
+        }
+
+        private synchronized void cancel(final long offset) {
+            inFlight.remove(offset);
+        }
+
+        /**
+         * Marks the offset decoded.
+         *
+         * @return the highest offset below which every accepted message is decoded, or {@code -1} if it did not
+         * move
+         */
+        private synchronized long complete(final long offset) {
+            done.add(offset);
+            var watermark = -1L;
+            while (!inFlight.isEmpty() && done.remove(inFlight.peekFirst())) {
+                watermark = inFlight.removeFirst();
+            }
+
+            return watermark;
+        }
+    }
 }
@@ -25,9 +25,10 @@
 package com.github.akarazhev.cryptoscout.test;
 
 import com.github.akarazhev.jcryptolib.stream.Payload;
-import com.github.akarazhev.jcryptolib.util.JsonUtils;
 import com.rabbitmq.stream.Environment;
+import com.rabbitmq.stream.Message;
 import com.rabbitmq.stream.Producer;
+import com.rabbitmq.stream.compression.Compression;
 import io.activej.async.service.ReactiveService;
 import io.activej.promise.Promise;
 import io.activej.reactor.AbstractReactive;
@@ -35,37 +36,247 @@ import io.activej.reactor.nio.NioReactor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static com.github.akarazhev.cryptoscout.test.Constants.Generator.TICKER_SYMBOL;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.DATA;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.SYMBOL;
+import static com.github.akarazhev.cryptoscout.test.Constants.OrderBook.TOPIC;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.BATCH_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.COMPRESSED_SUB_ENTRY_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.CONFIRM_TIMEOUT;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.COMPRESSION_DEFAULT;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.COMPRESSION_PROPERTY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.ERR_CONFIRM_TIMEOUT;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.ERR_UNKNOWN_COMPRESSION;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.MAX_UNCONFIRMED_MESSAGES;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.PUBLISH_TS_PROPERTY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.ROUTING_KEY_PROPERTY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.SUB_ENTRY_SIZE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Stream.TOPIC_SEPARATOR;
+
 public final class StreamTestPublisher extends AbstractReactive implements ReactiveService {
     private static final Logger LOGGER = LoggerFactory.getLogger(StreamTestPublisher.class);
     private final Executor executor;
     private final Environment environment;
     private final String stream;
+    // Producer name the broker deduplicates publishing ids by, or null to publish without deduplication
+    private final String name;
+    private final Options options;
+    private final boolean superStream;
+    private final PayloadCodec codec;
     private final AtomicReference<Producer> producerRef = new AtomicReference<>();
 
+    /**
+     * Producer tuning knobs.
+     *
+     * @param batchSize max number of messages accumulated before a publish frame is sent
+     * @param subEntrySize number of messages packed into one sub-entry; values above 1 enable sub-entry batching
+     * @param maxUnconfirmedMessages max number of in-flight messages; {@code send} blocks once reached
+     * @param compression codec applied to each sub-entry, which requires sub-entry batching; consumers decompress
+     *                    transparently as long as the codec library is on their classpath
+     */
+    public record Options(int batchSize, int subEntrySize, int maxUnconfirmedMessages, Compression compression) {
+
+        public Options {
+            if (batchSize < 1 || subEntrySize < 1 || maxUnconfirmedMessages < 1) {
+                throw new IllegalArgumentException("Options values must be positive");
+            }
+
+            if (compression == null) {
+                throw new IllegalArgumentException("compression must not be null");
+            }
+
+            if (compression != Compression.NONE && subEntrySize < 2) {
+                throw new IllegalArgumentException("Compression requires a sub-entry size above 1");
+            }
+        }
+
+        public Options(final int batchSize, final int subEntrySize, final int maxUnconfirmedMessages) {
+            this(batchSize, subEntrySize, maxUnconfirmedMessages, Compression.NONE);
+        }
+
+        /**
+         * Returns the {@code test.stream.*} settings; a codec other than {@code NONE} raises a sub-entry size of 1
+         * to {@code 100}.
+         *
+         * @throws IllegalArgumentException if {@code test.stream.compression} names no codec
+         */
+        public static Options defaults() {
+            final var compression = compression(System.getProperty(COMPRESSION_PROPERTY, COMPRESSION_DEFAULT));
+            final var subEntrySize = compression != Compression.NONE && SUB_ENTRY_SIZE < 2 ?
+                    COMPRESSED_SUB_ENTRY_SIZE : SUB_ENTRY_SIZE;
+            return new Options(BATCH_SIZE, subEntrySize, MAX_UNCONFIRMED_MESSAGES, compression);
+        }
+
+        private static Compression compression(final String name) {
+            try {
+                return Compression.valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (final IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format(ERR_UNKNOWN_COMPRESSION, name,
+                        Arrays.toString(Compression.values())), e);
+            }
+        }
+    }
+
+    /**
+     * Outcome of a {@link #publishAll(Iterator)} call.
+     *
+     * @param messages number of messages sent
+     * @param confirmed number of messages confirmed by the broker
+     * @param failed number of messages rejected or timed out
+     * @param bytes total payload bytes sent
+     * @param elapsedNanos time from the first send to the last confirmation
+     * @param confirmLatency send-to-confirm latency summary, excluding the wait for a free in-flight slot
+     */
+    public record PublishStats(long messages, long confirmed, long failed, long bytes, long elapsedNanos,
+                               LatencyHistogram.Summary confirmLatency) {
+
+        public double messagesPerSecond() {
+            return elapsedNanos == 0 ? 0d : messages * 1_000_000_000d / elapsedNanos;
+        }
+
+        public double bytesPerSecond() {
+            return elapsedNanos == 0 ? 0d : bytes * 1_000_000_000d / elapsedNanos;
+        }
+    }
+
     public static StreamTestPublisher create(final NioReactor reactor, final Executor executor,
                                              final Environment environment, final String stream) {
-        return new StreamTestPublisher(reactor, executor, environment, stream);
+        return new StreamTestPublisher(reactor, executor, environment, stream, stream, Options.defaults(), false,
+                PayloadCodec.defaults());
     }
 
-    private StreamTestPublisher(final NioReactor reactor, final Executor executor,
-                                final Environment environment, final String stream) {
+    public static StreamTestPublisher create(final NioReactor reactor, final Executor executor,
+                                             final Environment environment, final String stream,
+                                             final Options options) {
+        return new StreamTestPublisher(reactor, executor, environment, stream, stream, options, false,
+                PayloadCodec.defaults());
+    }
+
+    /**
+     * Creates a publisher that encodes payloads with the given codec and sets its content type on every message.
+     */
+    public static StreamTestPublisher create(final NioReactor reactor, final Executor executor,
+                                             final Environment environment, final String stream,
+                                             final Options options, final PayloadCodec codec) {
+        return create(reactor, executor, environment, stream, options, codec, stream);
+    }
+
+    /**
+     * Creates a publisher whose producer is named {@code name}. The broker deduplicates messages by producer name,
+     * so publishers writing to the same stream at the same time need distinct names; a {@code null} name publishes
+     * without deduplication.
+     */
+    public static StreamTestPublisher create(final NioReactor reactor, final Executor executor,
+                                             final Environment environment, final String stream,
+                                             final Options options, final PayloadCodec codec, final String name) {
+        return new StreamTestPublisher(reactor, executor, environment, stream, name, options, false, codec);
+    }
+
+    /**
+     * Creates a publisher to a super stream. Each message is routed by hashing the symbol of its payload, so all
+     * messages of a symbol land in the same partition and keep their order.
+     *
+     * @see #routingKey(Payload)
+     */
+    public static StreamTestPublisher createSuperStream(final NioReactor reactor, final Executor executor,
+                                                        final Environment environment, final String superStream,
+                                                        final Options options) {
+        return createSuperStream(reactor, executor, environment, superStream, options, PayloadCodec.defaults());
+    }
+
+    public static StreamTestPublisher createSuperStream(final NioReactor reactor, final Executor executor,
+                                                        final Environment environment, final String superStream,
+                                                        final Options options, final PayloadCodec codec) {
+        return new StreamTestPublisher(reactor, executor, environment, superStream, superStream, options, true,
+                codec);
+    }
+
+    private StreamTestPublisher(final NioReactor reactor, final Executor executor, final Environment environment,
+                                final String stream, final String name, final Options options,
+                                final boolean superStream, final PayloadCodec codec) {
         super(reactor);
         this.executor = executor;
         this.environment = environment;
         this.stream = stream;
+        this.name = name;
+        this.options = options;
+        this.superStream = superStream;
+        this.codec = codec;
+    }
+
+    /**
+     * Returns the symbol a payload is routed on: the {@code s} or {@code symbol} field of its {@code data}
+     * object, or of the first element of its {@code data} array, falling back to the last segment of the
+     * {@code topic} for messages such as klines that carry no symbol field.
+     *
+     * @param payload the payload
+     * @return the symbol, or an empty string if the payload has none
+     */
+    public static String routingKey(final Payload<Map<String, Object>> payload) {
+        final var message = payload.getData();
+        if (message == null) {
+            return "";
+        }
+
+        var data = message.get(DATA);
+        if (data instanceof List<?> list && !list.isEmpty()) {
+            data = list.getFirst();
+        }
+
+        if (data instanceof Map<?, ?> map) {
+            if (map.get(SYMBOL) instanceof String symbol) {
+                return symbol;
+            }
+
+            if (map.get(TICKER_SYMBOL) instanceof String symbol) {
+                return symbol;
+            }
+        }
+
+        if (message.get(TOPIC) instanceof String topic) {
+            return topic.substring(topic.lastIndexOf(TOPIC_SEPARATOR) + 1);
+        }
+
+        return "";
     }
 
     @Override
     public Promise<Void> start() {
         return Promise.ofBlocking(executor, () -> {
             try {
-                final var producer = environment.producerBuilder()
-                        .name(stream)
-                        .stream(stream)
+                final var builder = environment.producerBuilder();
+                if (name != null) {
+                    builder.name(name);
+                }
+
+                if (superStream) {
+                    builder.superStream(stream)
+                            .routing(message -> (String) message.getApplicationProperties().get(ROUTING_KEY_PROPERTY))
+                            .hash();
+                } else {
+                    builder.stream(stream);
+                }
+
+                if (options.compression() != Compression.NONE) {
+                    builder.compression(options.compression());
+                }
+
+                final var producer = builder
+                        .batchSize(options.batchSize())
+                        .subEntrySize(options.subEntrySize())
+                        .maxUnconfirmedMessages(options.maxUnconfirmedMessages())
                         .build();
                 if (!producerRef.compareAndSet(null, producer)) {
                     producer.close();
@@ -99,9 +310,7 @@ public final class StreamTestPublisher extends AbstractReactive implements React
                 throw new IllegalStateException("Publisher not started. Call start() before publish().");
             }
             try {
-                final var message = producer.messageBuilder()
-                        .addData(JsonUtils.object2Bytes(payload))
-                        .build();
+                final var message = message(producer, payload, codec.encodePayload(payload));
                 producer.send(message, _ -> {
                 });
             } catch (final Exception ex) {
@@ -110,4 +319,102 @@ public final class StreamTestPublisher extends AbstractReactive implements React
             }
         });
     }
+
+    public Promise<PublishStats> publishAll(final Iterable<Payload<Map<String, Object>>> payloads) {
+        return publishAll(payloads.iterator());
+    }
+
+    /**
+     * Sends every payload through the producer's batching pipeline, keeping at most
+     * {@link Options#maxUnconfirmedMessages()} messages in flight. The iterator is drained on the executor.
+     *
+     * @param payloads the payloads to publish
+     * @return a promise completed once every sent message has been confirmed or failed, or completed
+     * exceptionally if that takes longer than {@code test.stream.confirm.timeout.sec} after the last send
+     */
+    public Promise<PublishStats> publishAll(final Iterator<Payload<Map<String, Object>>> payloads) {
+        return Promise.ofBlocking(executor, () -> {
+            final var producer = producerRef.get();
+            if (producer == null) {
+                throw new IllegalStateException("Publisher not started. Call start() before publishAll().");
+            }
+
+            final var latency = LatencyHistogram.create();
+            final var confirmed = new AtomicLong();
+            final var failed = new AtomicLong();
+            final var done = new AtomicLong();
+            final var drained = new CompletableFuture<Long>();
+            final var total = new AtomicLong(-1L);
+            var sent = 0L;
+            var bytes = 0L;
+            final var start = System.nanoTime();
+            try {
+                while (payloads.hasNext()) {
+                    final var payload = payloads.next();
+                    final var data = codec.encodePayload(payload);
+                    final var message = message(producer, payload, data);
+                    // Stamped once send returns so that the back-pressure wait is not counted as confirm latency;
+                    // a confirm that beats the stamp claims it and records zero
+                    final var sentAt = new AtomicLong();
+                    producer.send(message, status -> {
+                        final var now = System.nanoTime();
+                        final var stamp = sentAt.compareAndExchange(0L, now);
+                        latency.record(stamp == 0L ? 0L : now - stamp);
+                        if (status.isConfirmed()) {
+                            confirmed.incrementAndGet();
+                        } else {
+                            failed.incrementAndGet();
+                        }
+
+                        if (done.incrementAndGet() == total.get()) {
+                            drained.complete(now);
+                        }
+                    });
+                    sentAt.compareAndSet(0L, System.nanoTime());
+                    sent++;
+                    bytes += data.length;
+                }
+            } catch (final Exception ex) {
+                LOGGER.error("Failed to publish payloads to stream: {}", ex.getMessage(), ex);
+                throw new IllegalStateException("Failed to publish payloads to stream", ex);
+            } finally {
+                total.set(sent);
+                if (done.get() == sent) {
+                    drained.complete(System.nanoTime());
+                }
+            }
+
+            final long end;
+            try {
+                end = drained.get(CONFIRM_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) {
+                throw new IllegalStateException(ERR_CONFIRM_TIMEOUT + CONFIRM_TIMEOUT + ": " + done.get() + " of " +
+                        sent + " settled", e);
+            }
+
+            final var stats = new PublishStats(sent, confirmed.get(), failed.get(), bytes, end - start,
+                    latency.getSummary());
+            if (stats.failed() > 0) {
+                LOGGER.warn("{} of {} messages were not confirmed by stream {}", stats.failed(), sent, stream);
+            }
+
+            return stats;
+        });
+    }
+
+    private Message message(final Producer producer, final Payload<Map<String, Object>> payload, final byte[] data) {
+        final var properties = producer.messageBuilder()
+                .properties()
+                .contentType(codec.contentType())
+                .messageBuilder()
+                .applicationProperties()
+                .entry(PUBLISH_TS_PROPERTY, Timestamps.epochNanos());
+        if (superStream) {
+            properties.entry(ROUTING_KEY_PROPERTY, routingKey(payload));
+        }
+
+        return properties.messageBuilder()
+                .addData(data)
+                .build();
+    }
 }
@@ -32,24 +32,34 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.AMQP_ANALYST_QUEUE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.AMQP_ANALYST_ROUTING_KEY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.AMQP_CHATBOT_QUEUE;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.AMQP_CHATBOT_ROUTING_KEY;
 import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.AMQP_COLLECTOR_EXCHANGE;
 import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.AMQP_COLLECTOR_QUEUE;
 import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.AMQP_COLLECTOR_ROUTING_KEY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Amqp.QUEUE_MAX_LENGTH;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MQ_HOST;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MQ_PASSWORD;
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MQ_USER;
 import static com.rabbitmq.client.ConnectionFactory.DEFAULT_AMQP_PORT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 final class AmqpConsumerPublisherTest {
     private static ExecutorService executor;
     private static Eventloop reactor;
     private static AmqpTestPublisher publisher;
+    private static AmqpTestPublisher asyncPublisher;
     private static AmqpTestConsumer consumer;
+    private static ConnectionFactory factory;
     private static final String SOURCE = "test-source";
     private static final String METHOD = "test-method";
 
@@ -58,15 +68,17 @@ final class AmqpConsumerPublisherTest {
         PodmanCompose.up();
         executor = Executors.newVirtualThreadPerTaskExecutor();
         reactor = Eventloop.builder().withCurrentThread().build();
-        final var factory = new ConnectionFactory();
+        factory = new ConnectionFactory();
         factory.setHost(MQ_HOST);
         factory.setPort(DEFAULT_AMQP_PORT);
         factory.setUsername(MQ_USER);
         factory.setPassword(MQ_PASSWORD);
 
         publisher = AmqpTestPublisher.create(reactor, executor, factory, AMQP_COLLECTOR_QUEUE);
+        asyncPublisher = AmqpTestPublisher.create(reactor, executor, factory, AMQP_ANALYST_QUEUE,
+                AmqpTestPublisher.Options.defaults());
         consumer = AmqpTestConsumer.create(reactor, executor, factory, AMQP_COLLECTOR_QUEUE);
-        TestUtils.await(publisher.start());
+        TestUtils.await(publisher.start(), asyncPublisher.start());
     }
 
     @Test
@@ -86,11 +98,104 @@ final class AmqpConsumerPublisherTest {
         // Consumer cleanup handled in @AfterAll
     }
 
+    @Test
+    void testPublishAllReportsOverflow() throws Exception {
+        final var data = MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.KLINE_1);
+        final var total = QUEUE_MAX_LENGTH + 500;
+        final var messages = Stream.generate(() -> Message.of(Message.Command.of(Message.Type.REQUEST, SOURCE, METHOD),
+                data)).limit(total).iterator();
+        final var stats = TestUtils.await(asyncPublisher.publishAll(AMQP_COLLECTOR_EXCHANGE, AMQP_ANALYST_ROUTING_KEY,
+                messages));
+        assertEquals(total, stats.messages());
+        assertEquals(total, stats.acked() + stats.nacked());
+        assertEquals(QUEUE_MAX_LENGTH, stats.acked());
+        assertTrue(stats.overflowEvents() >= 1);
+        assertEquals(total, stats.confirmLatency().count());
+    }
+
+    @Test
+    void testStreamingConsumerDrainsQueue() throws Exception {
+        final var data = MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.KLINE_1);
+        final var total = 2_000;
+        final var messages = Stream.generate(() -> Message.of(Message.Command.of(Message.Type.REQUEST, SOURCE, METHOD),
+                data)).limit(total).iterator();
+        final var published = TestUtils.await(asyncPublisher.publishAll(AMQP_COLLECTOR_EXCHANGE,
+                AMQP_CHATBOT_ROUTING_KEY, messages));
+        assertEquals(total, published.acked());
+
+        final var streaming = AmqpTestConsumer.create(reactor, executor, factory, AMQP_CHATBOT_QUEUE,
+                new AmqpTestConsumer.Options(200, 50, true, total));
+        TestUtils.await(streaming.start());
+        try {
+            final var stats = TestUtils.await(streaming.getDrained());
+            assertEquals(total, stats.delivered());
+            assertEquals(total, stats.decoded());
+            assertEquals(0, stats.decodeErrors());
+            assertEquals(total / 50, stats.ackFrames());
+            assertTrue(stats.messagesPerSecond() > 0);
+        } finally {
+            TestUtils.await(streaming.stop());
+        }
+    }
+
+    @Test
+    void testStreamingConsumerAcksTailBelowBatch() throws Exception {
+        final var data = MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.KLINE_1);
+        final var total = 30;
+        final var messages = Stream.generate(() -> Message.of(Message.Command.of(Message.Type.REQUEST, SOURCE, METHOD),
+                data)).limit(total).iterator();
+        assertEquals(total, TestUtils.await(asyncPublisher.publishAll(AMQP_COLLECTOR_EXCHANGE,
+                AMQP_CHATBOT_ROUTING_KEY, messages)).acked());
+
+        // No expected count and fewer messages than one ack batch: only the idle flush can ack them
+        final var streaming = AmqpTestConsumer.create(reactor, executor, factory, AMQP_CHATBOT_QUEUE,
+                new AmqpTestConsumer.Options(200, 50, false, 0));
+        TestUtils.await(streaming.start());
+        try {
+            final var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (streaming.getDrainStats().ackFrames() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+
+            final var stats = streaming.getDrainStats();
+            assertEquals(total, stats.delivered());
+            assertTrue(stats.ackFrames() >= 1);
+        } finally {
+            TestUtils.await(streaming.stop());
+        }
+
+        try (final var connection = factory.newConnection(); final var channel = connection.createChannel()) {
+            assertEquals(0, channel.queueDeclarePassive(AMQP_CHATBOT_QUEUE).getMessageCount());
+        }
+    }
+
+    @Test
+    void testBinaryCodecPublishConsume() throws Exception {
+        final var data = MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.ORDER_BOOK_200);
+        final var binaryPublisher = AmqpTestPublisher.create(reactor, executor, factory, AMQP_COLLECTOR_QUEUE, null,
+                PayloadCodec.binary());
+        final var binaryConsumer = AmqpTestConsumer.create(reactor, executor, factory, AMQP_COLLECTOR_QUEUE);
+        TestUtils.await(binaryPublisher.start());
+        try {
+            TestUtils.await(binaryPublisher.publish(AMQP_COLLECTOR_EXCHANGE, AMQP_COLLECTOR_ROUTING_KEY,
+                            Message.of(Message.Command.of(Message.Type.REQUEST, SOURCE, METHOD), data))
+                    .whenComplete(binaryConsumer::start));
+            final var message = TestUtils.await(binaryConsumer.getMessage());
+            assertEquals(Message.Type.REQUEST, message.command().type());
+            assertEquals(SOURCE, message.command().source());
+            assertEquals(METHOD, message.command().method());
+            assertEquals(data, message.value());
+        } finally {
+            TestUtils.await(binaryConsumer.stop(), binaryPublisher.stop());
+        }
+    }
+
     @AfterAll
     static void cleanup() {
         reactor.post(() -> consumer.stop()
                 .whenComplete(() -> publisher.stop()
-                        .whenComplete(() -> reactor.breakEventloop())));
+                        .whenComplete(() -> asyncPublisher.stop()
+                                .whenComplete(() -> reactor.breakEventloop()))));
         reactor.run();
         executor.shutdown();
         PodmanCompose.down();
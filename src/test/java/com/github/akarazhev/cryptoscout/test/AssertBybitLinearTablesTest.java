@@ -28,6 +28,10 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_ALL_LIQUIDATION;
 import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_ORDER_BOOK_1;
 import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_ORDER_BOOK_1000;
@@ -42,8 +46,15 @@ import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_KL
 import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_KLINE_240M;
 import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_KLINE_1D;
 import static com.github.akarazhev.cryptoscout.test.Constants.DB.ZERO_ROWS;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 final class AssertBybitLinearTablesTest {
+    private static final long DELAYED_ROWS = 3L;
+    private static final Duration INSERT_DELAY = Duration.ofMillis(500);
+    private static final String INSERT_TICKERS = "INSERT INTO " + BYBIT_LINEAR_TICKERS +
+            " (symbol, timestamp) SELECT 'BTCUSDT', now() - make_interval(secs => g) FROM generate_series(1, " +
+            DELAYED_ROWS + ") g";
 
     @BeforeAll
     static void setup() {
@@ -119,4 +130,35 @@ final class AssertBybitLinearTablesTest {
     void shouldBybitLinearAllLiquidationTableCountReturnZero() throws Exception {
         Assertions.assertTableCount(BYBIT_LINEAR_ALL_LIQUIDATION, ZERO_ROWS);
     }
+
+    @Test
+    void shouldBybitLinearTablesCountsConvergeToZero() throws Exception {
+        assertNotNull(Assertions.awaitTableCounts(Map.of(
+                BYBIT_LINEAR_TICKERS, (long) ZERO_ROWS,
+                BYBIT_LINEAR_PUBLIC_TRADE, (long) ZERO_ROWS,
+                BYBIT_LINEAR_ORDER_BOOK_1, (long) ZERO_ROWS,
+                BYBIT_LINEAR_ALL_LIQUIDATION, (long) ZERO_ROWS)));
+    }
+
+    @Test
+    void shouldAwaitRowsInsertedAfterDelay() throws Exception {
+        final var insert = CompletableFuture.runAsync(() -> {
+            try (final var conn = DBUtils.getDataSource().getConnection();
+                 final var st = conn.createStatement()) {
+                Thread.sleep(INSERT_DELAY);
+                st.execute(INSERT_TICKERS);
+            } catch (final Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        try {
+            // The count is zero on the first polls, so convergence can only come from the retry path
+            final var waited = Assertions.awaitTableCount(BYBIT_LINEAR_TICKERS, DELAYED_ROWS);
+            assertTrue(waited.compareTo(INSERT_DELAY.dividedBy(2)) >= 0);
+            assertNotNull(Assertions.awaitRows(BYBIT_LINEAR_TICKERS, "symbol = 'BTCUSDT'", DELAYED_ROWS));
+        } finally {
+            insert.join();
+            DBUtils.resetTables(BYBIT_LINEAR_TICKERS);
+        }
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_ALL_LIQUIDATION;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_KLINE_1M;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_LINEAR_PUBLIC_TRADE;
+import static com.github.akarazhev.cryptoscout.test.Constants.DB.BYBIT_SPOT_ORDER_BOOK_50;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class BulkLoaderTest {
+    private static final long ROWS = 10_000L;
+
+    @BeforeAll
+    static void setup() {
+        PodmanCompose.up();
+    }
+
+    @AfterAll
+    static void cleanup() {
+        PodmanCompose.down();
+    }
+
+    @Test
+    void shouldBulkLoaderSeedTablesInParallel() throws Exception {
+        DBUtils.resetTables(BYBIT_LINEAR_PUBLIC_TRADE, BYBIT_SPOT_ORDER_BOOK_50, BYBIT_LINEAR_KLINE_1M,
+                BYBIT_LINEAR_ALL_LIQUIDATION);
+        final var result = BulkLoader.load(BulkLoader.target(MockData.Source.BYBIT_LINEAR,
+                        MockData.Type.PUBLIC_TRADE, ROWS),
+                BulkLoader.target(MockData.Source.BYBIT_SPOT, MockData.Type.ORDER_BOOK_50, ROWS),
+                BulkLoader.target(MockData.Source.BYBIT_LINEAR, MockData.Type.KLINE_1, ROWS),
+                BulkLoader.target(MockData.Source.BYBIT_LINEAR, MockData.Type.ALL_LIQUIDATION, ROWS));
+        assertEquals(4 * ROWS, result.rows());
+        assertEquals(List.of(BYBIT_LINEAR_PUBLIC_TRADE, BYBIT_SPOT_ORDER_BOOK_50, BYBIT_LINEAR_KLINE_1M,
+                BYBIT_LINEAR_ALL_LIQUIDATION), result.tables().stream().map(BulkLoader.TableResult::table).toList());
+        assertTrue(result.bytes() > 0 && result.rowsPerSecond() > 0d);
+        Assertions.awaitTableCounts(Map.of(BYBIT_LINEAR_PUBLIC_TRADE, ROWS, BYBIT_SPOT_ORDER_BOOK_50, ROWS,
+                BYBIT_LINEAR_KLINE_1M, ROWS, BYBIT_LINEAR_ALL_LIQUIDATION, ROWS));
+        DBUtils.resetTables(BYBIT_LINEAR_PUBLIC_TRADE, BYBIT_SPOT_ORDER_BOOK_50, BYBIT_LINEAR_KLINE_1M,
+                BYBIT_LINEAR_ALL_LIQUIDATION);
+    }
+
+    @Test
+    void shouldBulkLoaderRejectUnsupportedTarget() {
+        assertThrows(IllegalStateException.class,
+                () -> BulkLoader.target(MockData.Source.BYBIT_SPOT, MockData.Type.ALL_LIQUIDATION, ROWS));
+        assertThrows(IllegalStateException.class,
+                () -> BulkLoader.target(MockData.Source.BYBIT_LINEAR, MockData.Type.TICKERS, ROWS));
+        assertThrows(IllegalArgumentException.class,
+                () -> BulkLoader.target(MockData.Source.BYBIT_LINEAR, MockData.Type.PUBLIC_TRADE, 0L));
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class CaptureTest {
+    private static final String[] TOPICS = {"tickers.BTCUSDT", "publicTrade.BTCUSDT", "orderbook.50.BTCUSDT"};
+    private static final long START_TS = 1_762_272_000_000L;
+    private static final int RECORDS = 5_000;
+    private static final int BLOCK_SIZE = 4 * 1024;
+
+    @TempDir
+    Path dir;
+
+    private static byte[] payload(final int i) {
+        return ("{\"seq\":" + i + ",\"data\":\"" + "x".repeat(i % 97) + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Path write(final CaptureWriter.Compression compression) throws Exception {
+        final var file = dir.resolve("session-" + compression + ".cap");
+        try (final var writer = CaptureWriter.create(file, compression, BLOCK_SIZE)) {
+            for (var i = 0; i < RECORDS; i++) {
+                writer.write(TOPICS[i % TOPICS.length], START_TS + i, payload(i));
+            }
+
+            assertEquals(RECORDS, writer.getRecords());
+        }
+
+        return file;
+    }
+
+    @ParameterizedTest
+    @EnumSource(CaptureWriter.Compression.class)
+    void shouldRoundTripRecords(final CaptureWriter.Compression compression) throws Exception {
+        try (final var reader = MockData.capture(write(compression))) {
+            assertEquals(compression, reader.getCompression());
+            assertEquals(RECORDS, reader.getRecords());
+            assertEquals(List.of(TOPICS), reader.getTopics());
+            assertTrue(reader.getBlocks() > 1);
+            var i = 0;
+            for (final var record : reader) {
+                assertEquals(TOPICS[i % TOPICS.length], record.topic());
+                assertEquals(START_TS + i, record.timestamp());
+                assertArrayEquals(payload(i), record.bytes());
+                i++;
+            }
+
+            assertEquals(RECORDS, i);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(CaptureWriter.Compression.class)
+    void shouldSeekByTimestamp(final CaptureWriter.Compression compression) throws Exception {
+        try (final var reader = CaptureReader.open(write(compression))) {
+            final var from = RECORDS / 2 + 7;
+            final var records = reader.records(START_TS + from);
+            final var timestamps = new ArrayList<Long>();
+            records.forEachRemaining(record -> timestamps.add(record.timestamp()));
+            assertEquals(RECORDS - from, timestamps.size());
+            assertEquals(START_TS + from, timestamps.getFirst());
+            assertFalse(reader.records(START_TS + RECORDS).hasNext());
+            assertEquals(START_TS, reader.records(Long.MIN_VALUE).next().timestamp());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(CaptureWriter.Compression.class)
+    void shouldKeepLateRecordsAfterSeek(final CaptureWriter.Compression compression) throws Exception {
+        // Every tenth record arrives late, stamped before the ones captured just ahead of it
+        final var file = dir.resolve("late-" + compression + ".cap");
+        final var timestamps = new long[RECORDS];
+        try (final var writer = CaptureWriter.create(file, compression, BLOCK_SIZE)) {
+            for (var i = 0; i < RECORDS; i++) {
+                timestamps[i] = START_TS + (i % 10 == 9 ? i - 50 : i);
+                writer.write(TOPICS[i % TOPICS.length], timestamps[i], payload(i));
+            }
+        }
+
+        try (final var reader = CaptureReader.open(file)) {
+            final var from = START_TS + RECORDS / 2 + 3;
+            var first = 0;
+            while (timestamps[first] < from) {
+                first++;
+            }
+
+            final var records = reader.records(from);
+            for (var i = first; i < RECORDS; i++) {
+                final var record = records.next();
+                assertEquals(timestamps[i], record.timestamp());
+                assertArrayEquals(payload(i), record.bytes());
+            }
+
+            assertFalse(records.hasNext());
+        }
+    }
+
+    @Test
+    void shouldRejectForeignFile() throws Exception {
+        final var file = Files.write(dir.resolve("fixture.json"), new byte[64]);
+        assertThrows(IllegalStateException.class, () -> CaptureReader.open(file));
+    }
+
+    @Test
+    void shouldRejectUnknownCompression() throws Exception {
+        final var file = write(CaptureWriter.Compression.NONE);
+        final var bytes = Files.readAllBytes(file);
+        // The codec ordinal follows the magic and the version in the header; all ones read as -1 in either order
+        Arrays.fill(bytes, 2 * Integer.BYTES, 3 * Integer.BYTES, (byte) 0xFF);
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> CaptureReader.open(file));
+    }
+}
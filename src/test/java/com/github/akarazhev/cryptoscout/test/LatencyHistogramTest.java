@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class LatencyHistogramTest {
+
+    @Test
+    void shouldReportExactValuesForSmallLatencies() {
+        final var histogram = LatencyHistogram.create();
+        for (var i = 0; i < 10; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(4, histogram.getPercentile(50d));
+        assertEquals(9, histogram.getPercentile(100d));
+        assertEquals(9, histogram.getMax());
+        assertEquals(4.5d, histogram.getMean());
+    }
+
+    @Test
+    void shouldKeepPercentilesWithinBucketPrecision() {
+        final var histogram = LatencyHistogram.create();
+        IntStream.rangeClosed(1, 100_000).parallel().forEach(i -> histogram.record(i * 1_000L));
+        final var summary = histogram.getSummary();
+        assertEquals(100_000, summary.count());
+        assertWithin(50_000_000L, summary.p50());
+        assertWithin(90_000_000L, summary.p90());
+        assertWithin(99_000_000L, summary.p99());
+        assertWithin(99_900_000L, summary.p999());
+        assertEquals(100_000_000L, summary.max());
+    }
+
+    @Test
+    void shouldMapEveryValueIntoItsBucket() {
+        for (var value = 0L; value < 1L << 40; value = value * 3 / 2 + 1) {
+            final var index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.upperBoundOf(index) >= value);
+            assertTrue(index == 0 || LatencyHistogram.upperBoundOf(index - 1) < value);
+        }
+
+        assertTrue(LatencyHistogram.indexOf(Long.MAX_VALUE) < Constants.Histogram.BUCKET_COUNT);
+    }
+
+    @Test
+    void shouldMergeAndReset() {
+        final var first = LatencyHistogram.create();
+        final var second = LatencyHistogram.create();
+        first.record(100L);
+        second.record(200L);
+        second.record(-5L);
+        first.add(second);
+        assertEquals(3, first.getCount());
+        assertEquals(200L, first.getMax());
+        first.reset();
+        assertEquals(0, first.getCount());
+        assertEquals(0L, first.getPercentile(99d));
+    }
+
+    private static void assertWithin(final long expected, final long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / Constants.Histogram.SUB_BUCKET_COUNT,
+                () -> "expected ~" + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings("unchecked")
+final class MockDataCacheTest {
+    private static final String DATA = "data";
+    private static final String BIDS = "b";
+
+    @BeforeEach
+    void setUp() {
+        MockData.clearCache();
+    }
+
+    @Test
+    void shouldCacheReturnSameSnapshot() throws Exception {
+        final var first = MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.ORDER_BOOK_1000);
+        final var second = MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.ORDER_BOOK_1000);
+        assertSame(first, second);
+        final var stats = MockData.getCacheStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+        assertTrue(stats.parseNanos() > 0);
+    }
+
+    @Test
+    void shouldCacheSnapshotBeDeepImmutable() throws Exception {
+        final var data = MockData.get(MockData.Source.BYBIT_LINEAR, MockData.Type.ORDER_BOOK_50);
+        final var book = (Map<String, Object>) data.get(DATA);
+        final var bids = (List<List<String>>) book.get(BIDS);
+        assertThrows(UnsupportedOperationException.class, () -> data.put(DATA, null));
+        assertThrows(UnsupportedOperationException.class, () -> book.remove(BIDS));
+        assertThrows(UnsupportedOperationException.class, () -> bids.getFirst().set(0, "0"));
+    }
+
+    @Test
+    void shouldCopyOfReturnMutableCopy() throws Exception {
+        final var data = MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.KLINE_1);
+        final var copy = MockData.copyOf(MockData.Source.BYBIT_SPOT, MockData.Type.KLINE_1);
+        assertNotSame(data, copy);
+        assertEquals(data, copy);
+        copy.put(DATA, List.of());
+        assertEquals(List.of(), copy.get(DATA));
+        assertTrue(((List<Object>) data.get(DATA)).size() > 0);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings("unchecked")
+final class MockDataGeneratorTest {
+    private static final String DATA = "data";
+    private static final String TS = "ts";
+    private static final String SEQ = "seq";
+    private static final String BIDS = "b";
+    private static final String ASKS = "a";
+    private static final long SEED = 42L;
+    private static final int SYMBOLS = 3;
+    private static final int MESSAGES = 1_000;
+
+    static Stream<Arguments> generatorTypes() {
+        return Stream.of(MockData.Source.BYBIT_SPOT, MockData.Source.BYBIT_LINEAR)
+                .flatMap(source -> Stream.of(MockData.Type.KLINE_1, MockData.Type.KLINE_5, MockData.Type.KLINE_15,
+                                MockData.Type.KLINE_60, MockData.Type.KLINE_240, MockData.Type.KLINE_D,
+                                MockData.Type.TICKERS, MockData.Type.PUBLIC_TRADE, MockData.Type.ORDER_BOOK_1,
+                                MockData.Type.ORDER_BOOK_50, MockData.Type.ORDER_BOOK_200,
+                                MockData.Type.ORDER_BOOK_1000, MockData.Type.ALL_LIQUIDATION)
+                        .filter(type -> source == MockData.Source.BYBIT_LINEAR ||
+                                type != MockData.Type.ALL_LIQUIDATION)
+                        .map(type -> Arguments.of(source, type)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("generatorTypes")
+    void shouldRouteGeneratedMessagesBySymbol(final MockData.Source source, final MockData.Type type) {
+        final var generator = MockDataGenerator.create(source, type, SYMBOLS, SEED);
+        for (final var symbol : MockDataGenerator.symbols(SYMBOLS)) {
+            assertEquals(symbol, StreamTestPublisher.routingKey(Payload.of(Provider.BYBIT, Source.PM,
+                    generator.next())));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("generatorTypes")
+    void shouldGeneratedMessageMatchFixtureSchema(final MockData.Source source, final MockData.Type type)
+            throws Exception {
+        final var fixture = MockData.get(source, type);
+        final var message = MockDataGenerator.create(source, type, SYMBOLS, SEED).next();
+        assertEquals(fixture.keySet(), message.keySet());
+        final var expected = fixture.get(DATA);
+        final var actual = message.get(DATA);
+        if (expected instanceof List<?> list) {
+            assertEquals(((Map<String, Object>) list.getFirst()).keySet(),
+                    ((Map<String, Object>) ((List<?>) actual).getFirst()).keySet());
+        } else {
+            assertEquals(((Map<String, Object>) expected).keySet(), ((Map<String, Object>) actual).keySet());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("generatorTypes")
+    void shouldGeneratorBeDeterministicBySeed(final MockData.Source source, final MockData.Type type) {
+        final var first = MockDataGenerator.create(source, type, SYMBOLS, SEED).stream().limit(10).toList();
+        final var second = MockDataGenerator.create(source, type, SYMBOLS, SEED).stream().limit(10).toList();
+        final var other = MockDataGenerator.create(source, type, SYMBOLS, SEED + 1).stream().limit(10).toList();
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    void shouldGeneratorEmitMonotonicTimestampsAndSequences() {
+        final var generator = MockDataGenerator.create(MockData.Source.BYBIT_SPOT, MockData.Type.ORDER_BOOK_1,
+                SYMBOLS, SEED);
+        var lastTs = Long.MIN_VALUE;
+        var lastSeq = Long.MIN_VALUE;
+        for (var i = 0; i < MESSAGES; i++) {
+            final var message = generator.next();
+            final var ts = (long) message.get(TS);
+            final var seq = (long) ((Map<String, Object>) message.get(DATA)).get(SEQ);
+            assertTrue(ts >= lastTs);
+            assertTrue(seq > lastSeq);
+            lastTs = ts;
+            lastSeq = seq;
+        }
+
+        assertEquals(MESSAGES, generator.getCount());
+    }
+
+    @Test
+    void shouldGeneratorKeepDeepBidsAboveZero() {
+        // A 1000-level ladder spans up to 3000 ticks, more than TONUSDT has below its mid
+        final var generator = MockDataGenerator.create(MockData.Source.BYBIT_SPOT, MockData.Type.ORDER_BOOK_1000,
+                12, SEED);
+        for (var i = 0; i < 120; i++) {
+            final var data = (Map<String, Object>) generator.next().get(DATA);
+            final var bids = (List<List<String>>) data.get(BIDS);
+            assertEquals(1_000, ((List<?>) data.get(ASKS)).size());
+            assertTrue(bids.size() <= 1_000);
+            for (final var level : bids) {
+                assertTrue(new BigDecimal(level.get(0)).signum() > 0, level::toString);
+            }
+        }
+    }
+
+    @Test
+    void shouldGeneratorRejectUnsupportedType() {
+        assertThrows(IllegalStateException.class,
+                () -> MockDataGenerator.create(MockData.Source.BYBIT_SPOT, MockData.Type.ALL_LIQUIDATION, 1, SEED));
+        assertThrows(IllegalStateException.class,
+                () -> MockDataGenerator.create(MockData.Source.CRYPTO_SCOUT, MockData.Type.FGI, 1, SEED));
+    }
+}
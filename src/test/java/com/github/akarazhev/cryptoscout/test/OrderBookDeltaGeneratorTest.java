@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings("unchecked")
+final class OrderBookDeltaGeneratorTest {
+    private static final String DATA = "data";
+    private static final String TYPE = "type";
+    private static final String TS = "ts";
+    private static final String BIDS = "b";
+    private static final String ASKS = "a";
+    private static final String UPDATE_ID = "u";
+    private static final String SEQ = "seq";
+    private static final String SNAPSHOT = "snapshot";
+    private static final String DELTA = "delta";
+    private static final long SEED = 42L;
+    private static final int MESSAGES = 2_000;
+    private static final int RESNAPSHOT_EVERY = 500;
+
+    static Stream<Arguments> orderBookTypes() {
+        return Stream.of(MockData.Source.BYBIT_SPOT, MockData.Source.BYBIT_LINEAR)
+                .flatMap(source -> Stream.of(MockData.Type.ORDER_BOOK_1, MockData.Type.ORDER_BOOK_50,
+                                MockData.Type.ORDER_BOOK_200, MockData.Type.ORDER_BOOK_1000)
+                        .map(type -> Arguments.of(source, type)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("orderBookTypes")
+    void shouldAppliedDeltasReproduceSnapshot(final MockData.Source source, final MockData.Type type)
+            throws Exception {
+        final var defaults = OrderBookDeltaGenerator.Options.of(source, type);
+        final var options = new OrderBookDeltaGenerator.Options(defaults.intervalMillis(),
+                defaults.changesPerDelta(), defaults.removeProbability(), defaults.insertProbability(),
+                RESNAPSHOT_EVERY);
+        final var generator = OrderBookDeltaGenerator.create(source, type, SEED, options);
+        final var depth = OrderBookReader.depthOf(type);
+        final var bids = new TreeMap<BigDecimal, BigDecimal>(Comparator.reverseOrder());
+        final var asks = new TreeMap<BigDecimal, BigDecimal>();
+        var snapshots = 0;
+        for (var i = 0; i < MESSAGES; i++) {
+            final var message = generator.next();
+            final var data = (Map<String, Object>) message.get(DATA);
+            if (SNAPSHOT.equals(message.get(TYPE))) {
+                bids.clear();
+                asks.clear();
+                snapshots++;
+            } else {
+                assertEquals(DELTA, message.get(TYPE));
+            }
+
+            apply(bids, (List<List<String>>) data.get(BIDS));
+            apply(asks, (List<List<String>>) data.get(ASKS));
+            assertTrue(bids.size() <= depth && asks.size() <= depth);
+            assertTrue(bids.firstKey().compareTo(asks.firstKey()) < 0);
+        }
+
+        assertEquals(MESSAGES / RESNAPSHOT_EVERY, snapshots);
+        final var expected = (Map<String, Object>) generator.snapshot().get(DATA);
+        assertEquals(book((List<List<String>>) expected.get(BIDS), true), bids);
+        assertEquals(book((List<List<String>>) expected.get(ASKS), false), asks);
+    }
+
+    @Test
+    void shouldGeneratorEmitIncreasingUpdateIdsAndSequences() throws Exception {
+        final var generator = OrderBookDeltaGenerator.create(MockData.Source.BYBIT_LINEAR,
+                MockData.Type.ORDER_BOOK_50, SEED);
+        var lastTs = Long.MIN_VALUE;
+        var lastUpdateId = Long.MIN_VALUE;
+        var lastSeq = Long.MIN_VALUE;
+        for (var i = 0; i < MESSAGES; i++) {
+            final var message = generator.next();
+            final var data = (Map<String, Object>) message.get(DATA);
+            final var ts = (long) message.get(TS);
+            final var updateId = (long) data.get(UPDATE_ID);
+            final var seq = (long) data.get(SEQ);
+            assertTrue(ts >= lastTs);
+            assertEquals(lastUpdateId == Long.MIN_VALUE ? updateId : lastUpdateId + 1, updateId);
+            assertTrue(seq > lastSeq);
+            lastTs = ts;
+            lastUpdateId = updateId;
+            lastSeq = seq;
+        }
+
+        assertEquals(MESSAGES, generator.getCount());
+    }
+
+    @Test
+    void shouldGeneratorBeDeterministicBySeed() throws Exception {
+        final var first = OrderBookDeltaGenerator.create(MockData.Source.BYBIT_SPOT, MockData.Type.ORDER_BOOK_200,
+                SEED).stream().limit(10).toList();
+        final var second = OrderBookDeltaGenerator.create(MockData.Source.BYBIT_SPOT, MockData.Type.ORDER_BOOK_200,
+                SEED).stream().limit(10).toList();
+        final var other = OrderBookDeltaGenerator.create(MockData.Source.BYBIT_SPOT, MockData.Type.ORDER_BOOK_200,
+                SEED + 1).stream().limit(10).toList();
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    void shouldGeneratorRejectInvalidOptions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new OrderBookDeltaGenerator.Options(10L, 1, 0.6d, 0.6d, RESNAPSHOT_EVERY));
+        assertThrows(IllegalStateException.class,
+                () -> OrderBookDeltaGenerator.create(MockData.Source.BYBIT_SPOT, MockData.Type.TICKERS, SEED));
+    }
+
+    private static void apply(final Map<BigDecimal, BigDecimal> side, final List<List<String>> levels) {
+        for (final var level : levels) {
+            final var price = new BigDecimal(level.get(0));
+            final var size = new BigDecimal(level.get(1));
+            if (size.signum() == 0) {
+                side.remove(price);
+            } else {
+                side.put(price, size);
+            }
+        }
+    }
+
+    private static Map<BigDecimal, BigDecimal> book(final List<List<String>> levels, final boolean bid) {
+        final var book = new TreeMap<BigDecimal, BigDecimal>(bid ? Comparator.reverseOrder() :
+                Comparator.naturalOrder());
+        apply(book, levels);
+        return book;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SuppressWarnings("unchecked")
+final class OrderBookReaderTest {
+    private static final String DATA = "data";
+    private static final String BIDS = "b";
+    private static final String ASKS = "a";
+    private static final String SYMBOL = "s";
+    private static final String SEQ = "seq";
+    private static final String TS = "ts";
+
+    static Stream<Arguments> orderBooks() {
+        return Stream.of(MockData.Source.BYBIT_SPOT, MockData.Source.BYBIT_LINEAR)
+                .flatMap(source -> Stream.of(MockData.Type.ORDER_BOOK_1, MockData.Type.ORDER_BOOK_50,
+                                MockData.Type.ORDER_BOOK_200, MockData.Type.ORDER_BOOK_1000)
+                        .map(type -> Arguments.of(source, type)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("orderBooks")
+    void shouldReadOrderBookMatchMockData(final MockData.Source source, final MockData.Type type) throws Exception {
+        final var expected = MockData.get(source, type);
+        final var data = (Map<String, Object>) expected.get(DATA);
+        final var book = OrderBookReader.read(source, type);
+        assertEquals(data.get(SYMBOL), book.symbol());
+        assertEquals(((Number) data.get(SEQ)).longValue(), book.seq());
+        assertEquals(((Number) expected.get(TS)).longValue(), book.ts());
+        assertLevels((List<List<String>>) data.get(BIDS), book.bids());
+        assertLevels((List<List<String>>) data.get(ASKS), book.asks());
+    }
+
+    @ParameterizedTest
+    @MethodSource("orderBooks")
+    void shouldVisitOrderBookLevels(final MockData.Source source, final MockData.Type type) throws Exception {
+        final var book = OrderBookReader.read(source, type);
+        final var visited = OrderBookReader.visit(source, type, (side, index, price, size) -> {
+            final var levels = side == OrderBookReader.Side.BID ? book.bids() : book.asks();
+            assertEquals(levels[index * 2], price);
+            assertEquals(levels[index * 2 + 1], size);
+        });
+        assertEquals(book.bidCount() + book.askCount(), visited);
+    }
+
+    @Test
+    void shouldReadRejectNonOrderBookType() {
+        assertThrows(IllegalStateException.class,
+                () -> OrderBookReader.read(MockData.Source.BYBIT_SPOT, MockData.Type.TICKERS));
+    }
+
+    private static void assertLevels(final List<List<String>> expected, final double[] actual) {
+        assertEquals(expected.size() * 2, actual.length);
+        for (var i = 0; i < expected.size(); i++) {
+            assertEquals(Double.parseDouble(expected.get(i).get(0)), actual[i * 2]);
+            assertEquals(Double.parseDouble(expected.get(i).get(1)), actual[i * 2 + 1]);
+        }
+    }
+}
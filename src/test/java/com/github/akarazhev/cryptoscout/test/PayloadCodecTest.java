@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import com.github.akarazhev.jcryptolib.stream.Message;
+import com.github.akarazhev.jcryptolib.stream.Payload;
+import com.github.akarazhev.jcryptolib.stream.Provider;
+import com.github.akarazhev.jcryptolib.stream.Source;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.CONTENT_TYPE_BINARY;
+import static com.github.akarazhev.cryptoscout.test.Constants.Codec.CONTENT_TYPE_JSON;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class PayloadCodecTest {
+    private static final String SOURCE = "test-source";
+    private static final String METHOD = "test-method";
+
+    static Stream<Arguments> fixtures() {
+        return Arrays.stream(MockData.Source.values())
+                .flatMap(source -> Arrays.stream(MockData.Type.values())
+                        .filter(type -> PayloadCodecTest.class.getClassLoader()
+                                .getResource(type.getPath(source)) != null)
+                        .flatMap(type -> Stream.of(PayloadCodec.json(), PayloadCodec.binary())
+                                .map(codec -> Arguments.of(source, type, codec.contentType()))));
+    }
+
+    static Stream<Arguments> orderBooks() {
+        return Stream.of(MockData.Source.BYBIT_SPOT, MockData.Source.BYBIT_LINEAR)
+                .flatMap(source -> Stream.of(MockData.Type.ORDER_BOOK_1, MockData.Type.ORDER_BOOK_50,
+                                MockData.Type.ORDER_BOOK_200, MockData.Type.ORDER_BOOK_1000)
+                        .map(type -> Arguments.of(source, type)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fixtures")
+    void shouldRoundTripPayload(final MockData.Source source, final MockData.Type type, final String contentType)
+            throws Exception {
+        final var codec = PayloadCodec.forContentType(contentType);
+        final var data = MockData.get(source, type);
+        final var decoded = codec.decodePayload(codec.encodePayload(Payload.of(Provider.BYBIT, Source.PM, data)));
+        assertEquals(Provider.BYBIT, decoded.getProvider());
+        assertEquals(Source.PM, decoded.getSource());
+        assertEquals(data, decoded.getData());
+    }
+
+    @ParameterizedTest
+    @MethodSource("fixtures")
+    void shouldRoundTripMessage(final MockData.Source source, final MockData.Type type, final String contentType)
+            throws Exception {
+        final var codec = PayloadCodec.forContentType(contentType);
+        final var data = MockData.get(source, type);
+        final var decoded = codec.decodeMessage(codec.encodeMessage(
+                Message.of(Message.Command.of(Message.Type.REQUEST, SOURCE, METHOD), data)));
+        assertEquals(Message.Type.REQUEST, decoded.command().type());
+        assertEquals(SOURCE, decoded.command().source());
+        assertEquals(METHOD, decoded.command().method());
+        assertEquals(data, decoded.value());
+    }
+
+    @ParameterizedTest
+    @MethodSource("orderBooks")
+    void shouldEncodeOrderBookCompactly(final MockData.Source source, final MockData.Type type) throws Exception {
+        final var payload = Payload.of(Provider.BYBIT, Source.PM, MockData.get(source, type));
+        final var json = PayloadCodec.json().encodePayload(payload).length;
+        final var binary = PayloadCodec.binary().encodePayload(payload).length;
+        assertTrue(binary < json, () -> type + ": " + binary + " >= " + json);
+    }
+
+    @Test
+    void shouldKeepNonCanonicalDecimalsAsStrings() throws Exception {
+        final var data = new LinkedHashMap<String, Object>();
+        data.put("values", List.of("-0.0", "007", ".5", "1.", "-1.50", "1e5", "", "12345678901234567890",
+                "0.0000000001", "-0", "0", "0.073054", "103377.80"));
+        data.put("levels", List.of(List.of("103377.9", "0.073"), List.of("103378.0", "-2")));
+        data.put("mixed", List.of(List.of("1.0", "x")));
+        data.put("unknownKey", Long.MIN_VALUE);
+        data.put("unknownKeyAgain", List.of(new LinkedHashMap<>(data)));
+        final var codec = PayloadCodec.binary();
+        assertEquals(data, codec.decodePayload(codec.encodePayload(Payload.of(Provider.BYBIT, Source.PM, data)))
+                .getData());
+    }
+
+    @Test
+    void shouldSelectCodecByContentType() {
+        assertSame(PayloadCodec.json(), PayloadCodec.forContentType(null));
+        assertSame(PayloadCodec.json(), PayloadCodec.forContentType(CONTENT_TYPE_JSON));
+        assertSame(PayloadCodec.json(), PayloadCodec.forContentType(CONTENT_TYPE_JSON + "; charset=utf-8"));
+        assertSame(PayloadCodec.binary(), PayloadCodec.forContentType(CONTENT_TYPE_BINARY));
+        assertSame(PayloadCodec.json(), PayloadCodec.forContentType(""));
+        assertSame(PayloadCodec.json(), PayloadCodec.forContentType("text/plain"));
+        assertSame(PayloadCodec.binary(), PayloadCodec.forContentType(CONTENT_TYPE_BINARY + "; v=1"));
+        assertThrows(IllegalStateException.class,
+                () -> PayloadCodec.forContentType("application/vnd.crypto-scout.unknown"));
+    }
+
+    @Test
+    void shouldRejectForeignBodies() throws Exception {
+        final var codec = PayloadCodec.binary();
+        final var json = PayloadCodec.json().encodePayload(Payload.of(Provider.BYBIT, Source.PM,
+                MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.KLINE_1)));
+        assertThrows(IOException.class, () -> codec.decodePayload(json));
+        final var message = codec.encodeMessage(Message.of(Message.Command.of(Message.Type.REQUEST, SOURCE, METHOD),
+                List.of()));
+        assertThrows(IOException.class, () -> codec.decodePayload(message));
+        assertThrows(IOException.class, () -> codec.decodeMessage(Arrays.copyOf(message, message.length - 1)));
+    }
+
+    @Test
+    void shouldRejectCorruptedBodies() throws Exception {
+        final var codec = PayloadCodec.binary();
+        final var body = codec.encodePayload(Payload.of(Provider.BYBIT, Source.PM,
+                MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.KLINE_1)));
+        // Header is magic, version and kind; the provider name follows as a STRING value: tag, length, bytes
+        final var provider = Provider.BYBIT.name().getBytes(StandardCharsets.US_ASCII);
+        assertEquals(provider.length, body[4]);
+        final var wrongTag = body.clone();
+        wrongTag[3] = 3;
+        assertThrows(IOException.class, () -> codec.decodePayload(wrongTag));
+        final var unknownEnum = body.clone();
+        unknownEnum[5] = 'X';
+        assertThrows(IOException.class, () -> codec.decodePayload(unknownEnum));
+        final var message = codec.encodeMessage(Message.of(Message.Command.of(Message.Type.REQUEST, SOURCE, METHOD),
+                List.of()));
+        // The command marker is TRUE, then the type name as a STRING value
+        final var unknownType = message.clone();
+        unknownType[6] = 'X';
+        assertThrows(IOException.class, () -> codec.decodeMessage(unknownType));
+    }
+}
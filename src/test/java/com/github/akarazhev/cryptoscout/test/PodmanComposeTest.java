@@ -26,11 +26,16 @@ package com.github.akarazhev.cryptoscout.test;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
 final class PodmanComposeTest {
 
     @Test
     void shouldPodmanComposeUpDown() {
         PodmanCompose.up();
+        final var startup = PodmanCompose.getLastStartup();
+        assertNotNull(startup);
+        assertNotNull(startup.mode());
         PodmanCompose.down();
     }
 }
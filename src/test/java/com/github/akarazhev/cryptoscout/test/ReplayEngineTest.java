@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 Andrey Karazhev
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.akarazhev.cryptoscout.test;
+
+import com.github.akarazhev.jcryptolib.util.JsonUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ReplayEngineTest {
+    private static final long SEED = 42L;
+    private static final long START_TS = 1_762_272_000_000L;
+    private static final long STEP_MILLIS = 10L;
+
+    private static List<ReplayEngine.Event> capture(final int rounds) {
+        final var symbols = MockDataGenerator.symbols(2);
+        final var tickers = MockDataGenerator.create(MockData.Source.BYBIT_LINEAR, MockData.Type.TICKERS, symbols,
+                SEED, START_TS, STEP_MILLIS);
+        final var trades = MockDataGenerator.create(MockData.Source.BYBIT_LINEAR, MockData.Type.PUBLIC_TRADE,
+                symbols, SEED, START_TS, STEP_MILLIS);
+        final var events = new ArrayList<ReplayEngine.Event>();
+        for (var i = 0; i < rounds * symbols.size(); i++) {
+            events.add(ReplayEngine.Event.of(tickers.next()));
+            events.add(ReplayEngine.Event.of(trades.next()));
+        }
+
+        return events;
+    }
+
+    private static List<ReplayEngine.Event> drain(final ReplayEngine engine) {
+        final var replayed = new ArrayList<ReplayEngine.Event>();
+        engine.paced(event -> event).forEachRemaining(replayed::add);
+        return replayed;
+    }
+
+    @Test
+    void shouldPreserveCaptureOrderAtMaxSpeed() {
+        final var events = capture(50);
+        final var engine = ReplayEngine.create(events.iterator(), ReplayEngine.Options.maxSpeed());
+        assertNull(engine.getStats());
+        assertEquals(events, drain(engine));
+        final var stats = engine.getStats();
+        assertEquals(events.size(), stats.events());
+        assertEquals(4, stats.topics().size());
+        assertEquals(49 * STEP_MILLIS, stats.capturedMillis());
+        assertEquals(0, stats.lag().count());
+        assertEquals(Double.POSITIVE_INFINITY, stats.requestedRate());
+    }
+
+    @Test
+    void shouldCompressCapturedTime() {
+        final var events = capture(21);
+        final var engine = ReplayEngine.create(events.iterator(), ReplayEngine.Options.speed(4d));
+        assertEquals(events, drain(engine));
+        final var stats = engine.getStats();
+        // 200 ms of capture replayed at 4x
+        assertEquals(20 * STEP_MILLIS, stats.capturedMillis());
+        assertTrue(stats.elapsedNanos() >= Duration.ofMillis(50).toNanos() - Duration.ofMillis(1).toNanos());
+        assertEquals(events.size(), stats.lag().count());
+        assertEquals(events.size() * 4d * 1_000d / stats.capturedMillis(), stats.requestedRate(), 1e-9);
+        assertTrue(stats.achievedRate() > 0d);
+    }
+
+    @Test
+    void shouldReadCaptureFile(@TempDir final Path dir) throws Exception {
+        final var events = capture(5);
+        final var lines = new ArrayList<String>();
+        for (final var event : events) {
+            lines.add(JsonUtils.object2Json(event.message()));
+        }
+
+        final var file = Files.write(dir.resolve("session.jsonl"), lines);
+        try (final var engine = ReplayEngine.create(file, ReplayEngine.Options.maxSpeed())) {
+            final var replayed = drain(engine);
+            assertEquals(events.size(), replayed.size());
+            for (var i = 0; i < events.size(); i++) {
+                assertEquals(events.get(i).topic(), replayed.get(i).topic());
+                assertEquals(events.get(i).timestamp(), replayed.get(i).timestamp());
+            }
+        }
+    }
+
+    @Test
+    void shouldReplayOnlyOnce() {
+        final var engine = ReplayEngine.create(capture(1).iterator(), ReplayEngine.Options.realTime());
+        engine.paced(event -> event);
+        assertThrows(IllegalStateException.class, () -> engine.paced(event -> event));
+    }
+
+    @Test
+    void shouldRejectInvalidSpeed() {
+        assertThrows(IllegalArgumentException.class, () -> ReplayEngine.Options.speed(-1d));
+        assertThrows(IllegalArgumentException.class, () -> ReplayEngine.Options.speed(Double.NaN));
+    }
+}
@@ -28,12 +28,18 @@ import com.github.akarazhev.jcryptolib.stream.Payload;
 import com.github.akarazhev.jcryptolib.stream.Provider;
 import com.github.akarazhev.jcryptolib.stream.Source;
 import com.rabbitmq.stream.Environment;
+import com.rabbitmq.stream.compression.Compression;
 import io.activej.eventloop.Eventloop;
 import io.activej.promise.TestUtils;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -43,9 +49,19 @@ import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MQ_P
 import static com.github.akarazhev.cryptoscout.test.Constants.PodmanCompose.MQ_USER;
 import static com.github.akarazhev.cryptoscout.test.Constants.Stream.BYBIT_STREAM;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 final class StreamConsumerPublisherTest {
+    private static final String OFFSET_STREAM = "offset-test-stream";
+    private static final String SUPER_STREAM = "super-test-stream";
+    private static final String GROUP = "super-test-group";
+    private static final String COMPRESSION_STREAM = "compression-test-stream-";
+    private static final String CODEC_STREAM = "codec-test-stream";
+    private static final String JSON_PRODUCER_SUFFIX = "-json";
+    private static final String BINARY_PRODUCER_SUFFIX = "-binary";
     private static ExecutorService executor;
     private static Eventloop reactor;
     private static Environment environment;
@@ -80,6 +96,257 @@ final class StreamConsumerPublisherTest {
         assertEquals(data, result.getData());
     }
 
+    @Test
+    void testPublishAll() throws Exception {
+        final var data = MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.KLINE_1);
+        final var payloads = Collections.nCopies(1_000, Payload.of(Provider.BYBIT, Source.PM, data));
+        final var stats = TestUtils.await(publisher.publishAll(payloads));
+        assertEquals(1_000, stats.messages());
+        assertEquals(1_000, stats.confirmed());
+        assertEquals(0, stats.failed());
+        assertEquals(1_000, stats.confirmLatency().count());
+        assertTrue(stats.messagesPerSecond() > 0);
+    }
+
+    @Test
+    void testCollect() throws Exception {
+        final var data = MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.KLINE_1);
+        final var payloads = Collections.nCopies(1_000, Payload.of(Provider.BYBIT, Source.PM, data));
+        TestUtils.await(publisher.publishAll(payloads));
+        final var collecting = StreamTestConsumer.create(reactor, executor, environment, BYBIT_STREAM,
+                StreamTestConsumer.CollectOptions.of(1_000));
+        TestUtils.await(collecting.start());
+        try {
+            final var result = TestUtils.await(collecting.getCollected());
+            assertTrue(result.complete());
+            assertFalse(result.timedOut());
+            assertEquals(1_000, result.count());
+            assertEquals(1_000, result.payloads().size());
+            assertEquals(0, result.decodeErrors());
+            assertEquals(0, result.unstamped());
+            assertEquals(1_000, result.latency().count());
+            assertEquals(data, result.payloads().getLast().getData());
+        } finally {
+            TestUtils.await(collecting.stop());
+        }
+    }
+
+    @Test
+    void testStopReportsIncompleteCollection() throws Exception {
+        final var data = MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.KLINE_1);
+        TestUtils.await(publisher.publishAll(Collections.nCopies(10, Payload.of(Provider.BYBIT, Source.PM, data))));
+        final var collecting = StreamTestConsumer.create(reactor, executor, environment, BYBIT_STREAM,
+                StreamTestConsumer.CollectOptions.lean(Integer.MAX_VALUE));
+        TestUtils.await(collecting.start());
+        final var collected = collecting.getCollected();
+        TestUtils.await(collecting.stop());
+        final var result = TestUtils.await(collected);
+        assertFalse(result.complete());
+        assertFalse(result.timedOut());
+        assertTrue(result.count() < Integer.MAX_VALUE);
+    }
+
+    @Test
+    void testResumeFromCommittedOffset() throws Exception {
+        final var offsets = OffsetStore.create(DBUtils.getDataSource(),
+                new OffsetStore.Options(100, Duration.ofMillis(100)));
+        final var head = Payload.of(Provider.BYBIT, Source.PM,
+                MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.KLINE_1));
+        final var tail = Payload.of(Provider.BYBIT, Source.PM,
+                MockData.get(MockData.Source.BYBIT_SPOT, MockData.Type.KLINE_5));
+        environment.streamCreator().stream(OFFSET_STREAM).create();
+        final var streamPublisher = StreamTestPublisher.create(reactor, executor, environment, OFFSET_STREAM);
+        TestUtils.await(streamPublisher.start());
+        try {
+            offsets.remove(OFFSET_STREAM);
+            TestUtils.await(streamPublisher.publishAll(Collections.nCopies(5_000, head)));
+            assertEquals(5_000, collect(OFFSET_STREAM, 5_000, offsets).count());
+            assertEquals(4_999, offsets.load(OFFSET_STREAM).orElseThrow());
+            assertTrue(offsets.getStats().flushes() < 5_000);
+
+            // A restart reads only what was published since the last commit, however long the stream is
+            TestUtils.await(streamPublisher.publishAll(Collections.nCopies(100, tail)));
+            final var resumed = collect(OFFSET_STREAM, 100, offsets);
+            assertFalse(resumed.timedOut());
+            assertEquals(100, resumed.count());
+            assertTrue(resumed.payloads().stream().allMatch(payload -> tail.getData().equals(payload.getData())));
+            assertEquals(5_099, offsets.load(OFFSET_STREAM).orElseThrow());
+        } finally {
+            TestUtils.await(streamPublisher.stop());
+            offsets.close();
+            offsets.remove(OFFSET_STREAM);
+            environment.deleteStream(OFFSET_STREAM);
+        }
+    }
+
+    @Test
+    void testIdleOffsetsAreCommittedOnInterval() throws Exception {
+        try (final var offsets = OffsetStore.create(DBUtils.getDataSource(),
+                new OffsetStore.Options(1_000, Duration.ofMillis(100)))) {
+            offsets.remove(OFFSET_STREAM);
+            try {
+                // Far below a batch and no message follows, so only the interval can commit it
+                offsets.processed(OFFSET_STREAM, 41);
+                offsets.processed(OFFSET_STREAM, 42);
+                final var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+                while (offsets.load(OFFSET_STREAM).isEmpty() && System.nanoTime() < deadline) {
+                    Thread.sleep(50);
+                }
+
+                assertEquals(42, offsets.load(OFFSET_STREAM).orElseThrow());
+                assertEquals(1, offsets.getStats().flushes());
+            } finally {
+                offsets.remove(OFFSET_STREAM);
+            }
+        }
+    }
+
+    @Test
+    void testSuperStreamKeepsSymbolOrder() throws Exception {
+        final var generator = MockDataGenerator.create(MockData.Source.BYBIT_SPOT, MockData.Type.PUBLIC_TRADE, 6,
+                42L);
+        final var payloads = new ArrayList<Payload<Map<String, Object>>>();
+        for (var i = 0; i < 600; i++) {
+            payloads.add(Payload.of(Provider.BYBIT, Source.PM, generator.next()));
+        }
+
+        environment.streamCreator().name(SUPER_STREAM).superStream().partitions(3).creator().create();
+        final var superPublisher = StreamTestPublisher.createSuperStream(reactor, executor, environment,
+                SUPER_STREAM, StreamTestPublisher.Options.defaults());
+        final var superConsumer = StreamTestConsumer.createSuperStream(reactor, executor, environment,
+                SUPER_STREAM, GROUP, StreamTestConsumer.CollectOptions.of(600), null);
+        TestUtils.await(superPublisher.start(), superConsumer.start());
+        try {
+            final var stats = TestUtils.await(superPublisher.publishAll(payloads));
+            assertEquals(600, stats.confirmed());
+            final var result = TestUtils.await(superConsumer.getCollected());
+            assertFalse(result.timedOut());
+            assertEquals(600, result.count());
+            // Partitions interleave, but every symbol lives in one partition and keeps its order
+            final var last = new HashMap<String, Long>();
+            for (final var payload : result.payloads()) {
+                final var ts = ((Number) payload.getData().get("ts")).longValue();
+                final var previous = last.put(StreamTestPublisher.routingKey(payload), ts);
+                assertTrue(previous == null || previous <= ts);
+            }
+
+            assertEquals(6, last.size());
+        } finally {
+            TestUtils.await(superConsumer.stop(), superPublisher.stop());
+            environment.deleteSuperStream(SUPER_STREAM);
+        }
+    }
+
+    @Test
+    void testSuperStreamMembersSplitPartitions() throws Exception {
+        final var generator = MockDataGenerator.create(MockData.Source.BYBIT_SPOT, MockData.Type.PUBLIC_TRADE, 6,
+                42L);
+        final var payloads = new ArrayList<Payload<Map<String, Object>>>();
+        for (var i = 0; i < 600; i++) {
+            payloads.add(Payload.of(Provider.BYBIT, Source.PM, generator.next()));
+        }
+
+        environment.streamCreator().name(SUPER_STREAM).superStream().partitions(2).creator().create();
+        final var superPublisher = StreamTestPublisher.createSuperStream(reactor, executor, environment,
+                SUPER_STREAM, StreamTestPublisher.Options.defaults());
+        final var first = StreamTestConsumer.createSuperStream(reactor, executor, environment, SUPER_STREAM, GROUP,
+                new StreamTestConsumer.CollectOptions(0, Duration.ofSeconds(15), _ -> false, false, 1, 64), null);
+        final var second = StreamTestConsumer.createSuperStream(reactor, executor, environment, SUPER_STREAM, GROUP,
+                new StreamTestConsumer.CollectOptions(0, Duration.ofSeconds(15), _ -> false, false, 1, 64), null);
+        TestUtils.await(superPublisher.start(), first.start(), second.start());
+        try {
+            // Publish only once the group settled, so no partition is restarted by a rebalance
+            final var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while ((first.getActivePartitions().size() != 1 || second.getActivePartitions().size() != 1) &&
+                    System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertEquals(1, first.getActivePartitions().size());
+            assertEquals(1, second.getActivePartitions().size());
+            assertNotEquals(first.getActivePartitions(), second.getActivePartitions());
+            assertEquals(600, TestUtils.await(superPublisher.publishAll(payloads)).confirmed());
+            final var firstResult = TestUtils.await(first.getCollected());
+            final var secondResult = TestUtils.await(second.getCollected());
+            assertEquals(600, firstResult.count() + secondResult.count());
+            assertEquals(0, firstResult.redelivered() + secondResult.redelivered());
+        } finally {
+            TestUtils.await(superPublisher.stop(), first.stop(), second.stop());
+            environment.deleteSuperStream(SUPER_STREAM);
+        }
+    }
+
+    @Test
+    void testCompressedRoundTrip() throws Exception {
+        final var generator = MockDataGenerator.create(MockData.Source.BYBIT_SPOT, MockData.Type.PUBLIC_TRADE, 4,
+                7L);
+        final var payloads = new ArrayList<Payload<Map<String, Object>>>();
+        for (var i = 0; i < 500; i++) {
+            payloads.add(Payload.of(Provider.BYBIT, Source.PM, generator.next()));
+        }
+
+        for (final var compression : Compression.values()) {
+            final var stream = COMPRESSION_STREAM + compression.name().toLowerCase();
+            environment.streamCreator().stream(stream).create();
+            final var compressed = StreamTestPublisher.create(reactor, executor, environment, stream,
+                    new StreamTestPublisher.Options(100, 50, 10_000, compression));
+            TestUtils.await(compressed.start());
+            try {
+                assertEquals(500, TestUtils.await(compressed.publishAll(payloads)).confirmed());
+                final var result = collect(stream, 500, null);
+                assertFalse(result.timedOut());
+                assertEquals(500, result.count());
+                assertEquals(0, result.decodeErrors());
+                for (var i = 0; i < payloads.size(); i++) {
+                    assertEquals(payloads.get(i).getData(), result.payloads().get(i).getData());
+                }
+            } finally {
+                TestUtils.await(compressed.stop());
+                environment.deleteStream(stream);
+            }
+        }
+    }
+
+    @Test
+    void testMixedCodecsDecodeByContentType() throws Exception {
+        final var data = MockData.get(MockData.Source.BYBIT_LINEAR, MockData.Type.ORDER_BOOK_200);
+        final var payloads = Collections.nCopies(500, Payload.of(Provider.BYBIT, Source.PM, data));
+        environment.streamCreator().stream(CODEC_STREAM).create();
+        // Both publish to the stream at once, so their producers need names of their own
+        final var jsonPublisher = StreamTestPublisher.create(reactor, executor, environment, CODEC_STREAM,
+                StreamTestPublisher.Options.defaults(), PayloadCodec.json(), CODEC_STREAM + JSON_PRODUCER_SUFFIX);
+        final var binaryPublisher = StreamTestPublisher.create(reactor, executor, environment, CODEC_STREAM,
+                StreamTestPublisher.Options.defaults(), PayloadCodec.binary(), CODEC_STREAM + BINARY_PRODUCER_SUFFIX);
+        TestUtils.await(jsonPublisher.start(), binaryPublisher.start());
+        try {
+            final var json = TestUtils.await(jsonPublisher.publishAll(payloads));
+            final var binary = TestUtils.await(binaryPublisher.publishAll(payloads));
+            assertEquals(500, json.confirmed());
+            assertEquals(500, binary.confirmed());
+            assertTrue(binary.bytes() < json.bytes());
+            final var result = collect(CODEC_STREAM, 1_000, null);
+            assertFalse(result.timedOut());
+            assertEquals(1_000, result.count());
+            assertEquals(0, result.decodeErrors());
+            assertTrue(result.payloads().stream().allMatch(payload -> data.equals(payload.getData())));
+        } finally {
+            TestUtils.await(binaryPublisher.stop(), jsonPublisher.stop());
+            environment.deleteStream(CODEC_STREAM);
+        }
+    }
+
+    private static StreamTestConsumer.CollectResult collect(final String stream, final int expected,
+                                                            final OffsetStore offsets) {
+        final var collecting = StreamTestConsumer.create(reactor, executor, environment, stream,
+                StreamTestConsumer.CollectOptions.of(expected), offsets);
+        TestUtils.await(collecting.start());
+        try {
+            return TestUtils.await(collecting.getCollected());
+        } finally {
+            TestUtils.await(collecting.stop());
+        }
+    }
+
     @AfterAll
     static void cleanup() {
         try {